@@ -13,6 +13,7 @@ repositories {
 
 dependencies {
     implementation("cn.hutool:hutool-all:5.8.20")
+    testImplementation("junit:junit:4.13.2")
 }
 
 // Configure Gradle IntelliJ Plugin
@@ -0,0 +1,278 @@
+package com.rhw.weburlcopy.action;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.actionSystem.LangDataKeys;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiPackage;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.GlobalSearchScopesCore;
+import com.intellij.psi.search.PackageScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.rhw.weburlcopy.analysis.RequestSpec;
+import com.rhw.weburlcopy.analysis.SyntacticEndpointAnalyzer;
+import com.rhw.weburlcopy.export.EndpointExporter;
+import com.rhw.weburlcopy.index.EndpointInfo;
+import com.rhw.weburlcopy.render.RenderContext;
+import com.rhw.weburlcopy.render.RequestRenderer;
+import com.rhw.weburlcopy.util.RequestUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.datatransfer.StringSelection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 复制动作基类
+ * 对当前方法、类或者目录/包/模块下的所有控制器做一次分析，再交给指定ID的渲染器生成输出并复制到剪贴板。
+ * 索引期间方法和类改用 {@link SyntacticEndpointAnalyzer} 生成近似结果，批量范围需要等待索引完成
+ */
+public abstract class AbstractCopyAction extends AnAction implements DumbAware {
+
+    private final String rendererId;
+
+    protected AbstractCopyAction(String rendererId) {
+        this.rendererId = rendererId;
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+
+        // 获取当前选中的元素
+        PsiElement element = getTargetElement(e);
+        GlobalSearchScope bulkScope = getBulkScope(e, element);
+        if (element == null && bulkScope == null) {
+            return;
+        }
+
+        RequestRenderer renderer = RequestRenderer.findById(rendererId);
+        if (renderer == null) {
+            return;
+        }
+
+        RenderContext context = RenderContext.create(project);
+
+        if (DumbService.isDumb(project)) {
+            copyApproximate(project, renderer, context, element);
+            return;
+        }
+
+        if (element instanceof PsiMethod) {
+            // 处理方法：分析需要解析注解和参数类型，在后台可取消的读操作中完成，回到EDT后复制
+            PsiMethod method = (PsiMethod) element;
+            ReadAction.nonBlocking(() -> method.isValid() && RequestUtil.isRequestMethod(method)
+                            ? renderer.render(context, RequestUtil.getRequestSpec(method)) : null)
+                    .inSmartMode(project)
+                    .expireWith(project)
+                    .finishOnUiThread(ModalityState.NON_MODAL, AbstractCopyAction::copyToClipboard)
+                    .submit(AppExecutorUtil.getAppExecutorService());
+        } else if (element instanceof PsiClass) {
+            // 处理类：在后台可取消的读操作中生成，避免大控制器冻结界面
+            PsiClass psiClass = (PsiClass) element;
+            runInBackground(project, indicator -> ReadAction.nonBlocking(() -> renderClass(renderer, context, psiClass, indicator))
+                    .inSmartMode(project)
+                    .expireWith(project)
+                    .wrapProgress(indicator)
+                    .executeSynchronously());
+        } else if (bulkScope != null) {
+            // 处理目录、包、模块：并行分析范围内的所有控制器
+            runInBackground(project, indicator -> {
+                List<VirtualFile> files = ReadAction.nonBlocking(() -> EndpointExporter.findControllerFiles(project, bulkScope))
+                        .inSmartMode(project)
+                        .expireWith(project)
+                        .wrapProgress(indicator)
+                        .executeSynchronously();
+                return renderer.renderAll(context, EndpointExporter.streamSpecs(project, files, indicator));
+            });
+        }
+    }
+
+    /**
+     * 索引期间只做语法分析，复制近似结果并提示
+     */
+    private static void copyApproximate(Project project, RequestRenderer renderer, RenderContext context,
+                                        @Nullable PsiElement element) {
+        List<EndpointInfo> endpoints;
+        if (element instanceof PsiMethod) {
+            EndpointInfo endpoint = SyntacticEndpointAnalyzer.analyzeMethod((PsiMethod) element);
+            endpoints = endpoint != null ? List.of(endpoint) : List.of();
+        } else if (element instanceof PsiClass) {
+            endpoints = SyntacticEndpointAnalyzer.analyzeClass((PsiClass) element);
+        } else {
+            endpoints = List.of();
+        }
+        if (endpoints.isEmpty()) {
+            return;
+        }
+
+        List<RequestSpec> specs = new ArrayList<>(endpoints.size());
+        for (EndpointInfo endpoint : endpoints) {
+            specs.add(SyntacticEndpointAnalyzer.toApproximateSpec(endpoint));
+        }
+        copyToClipboard(renderer.renderAll(context, specs));
+        DumbService.getInstance(project).showDumbModeNotification(
+                "索引中，已复制根据注解文本生成的近似结果，参数和请求体可能不完整");
+    }
+
+    /**
+     * 获取动作的目标元素
+     * 编辑器中取光标所在的方法或类，不解析光标处的引用；项目视图中取选中的元素
+     * 
+     * @return 目标元素，可能为方法、类、目录、包或null
+     */
+    @Nullable
+    protected static PsiElement getTargetElement(AnActionEvent e) {
+        Editor editor = e.getData(CommonDataKeys.EDITOR);
+        PsiFile file = e.getData(CommonDataKeys.PSI_FILE);
+        if (editor != null && file != null) {
+            if (!(file instanceof PsiJavaFile)) {
+                return null;
+            }
+            PsiElement atCaret = file.findElementAt(editor.getCaretModel().getOffset());
+            return PsiTreeUtil.getParentOfType(atCaret, PsiMethod.class, PsiClass.class);
+        }
+        return e.getData(CommonDataKeys.PSI_ELEMENT);
+    }
+
+    /**
+     * 判断目标上是否有可以生成的接口
+     * 方法和类的判断来自缓存的请求处理方法列表，批量范围直接视为可用
+     */
+    protected static boolean isAvailable(@Nullable PsiElement element, @Nullable GlobalSearchScope bulkScope) {
+        if (element instanceof PsiMethod) {
+            return RequestUtil.isEndpoint((PsiMethod) element);
+        }
+        if (element instanceof PsiClass) {
+            return !RequestUtil.getRequestMethods((PsiClass) element).isEmpty();
+        }
+        return bulkScope != null;
+    }
+
+    /**
+     * 索引期间判断目标上是否有可以生成的接口，只做语法分析
+     */
+    private static boolean isApproximatelyAvailable(@Nullable PsiElement element) {
+        if (element instanceof PsiMethod) {
+            return SyntacticEndpointAnalyzer.analyzeMethod((PsiMethod) element) != null;
+        }
+        if (element instanceof PsiClass) {
+            return !SyntacticEndpointAnalyzer.analyzeClass((PsiClass) element).isEmpty();
+        }
+        return false;
+    }
+
+    /**
+     * 获取批量处理的范围
+     * 
+     * @return 选中模块、目录或包时返回对应范围，否则返回null
+     */
+    @Nullable
+    protected static GlobalSearchScope getBulkScope(AnActionEvent e, @Nullable PsiElement element) {
+        Module module = e.getData(LangDataKeys.MODULE_CONTEXT);
+        if (module != null) {
+            return GlobalSearchScope.moduleScope(module);
+        }
+        if (element instanceof PsiDirectory) {
+            return GlobalSearchScopesCore.directoryScope((PsiDirectory) element, true);
+        }
+        if (element instanceof PsiPackage) {
+            return PackageScope.packageScope((PsiPackage) element, true);
+        }
+        return null;
+    }
+
+    /**
+     * 在后台任务中生成结果，完成后在EDT上复制到剪贴板
+     */
+    private void runInBackground(Project project, Function<ProgressIndicator, String> generator) {
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, getTemplatePresentation().getText(), true) {
+            private String result = "";
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                result = generator.apply(indicator);
+            }
+
+            @Override
+            public void onSuccess() {
+                // 只在EDT上访问剪贴板
+                copyToClipboard(result);
+            }
+        });
+    }
+
+    /**
+     * 分析并渲染整个控制器类
+     */
+    private static String renderClass(RequestRenderer renderer, RenderContext context,
+                                      PsiClass psiClass, ProgressIndicator indicator) {
+        if (!psiClass.isValid()) {
+            return "";
+        }
+
+        List<PsiMethod> methods = RequestUtil.getRequestMethods(psiClass);
+        List<RequestSpec> specs = new ArrayList<>(methods.size());
+        indicator.setIndeterminate(false);
+        for (int i = 0; i < methods.size(); i++) {
+            indicator.checkCanceled();
+            PsiMethod method = methods.get(i);
+            indicator.setFraction((double) i / methods.size());
+            indicator.setText2(method.getName());
+            specs.add(RequestUtil.getRequestSpec(method));
+        }
+        return renderer.renderAll(context, specs);
+    }
+
+    /**
+     * 复制到剪贴板
+     */
+    private static void copyToClipboard(String result) {
+        if (result != null && !result.isEmpty()) {
+            CopyPasteManager.getInstance().setContents(new StringSelection(result.trim()));
+        }
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        // 只在光标处或选中的元素确实是接口时显示，在后台线程中基于缓存判断
+        Project project = e.getProject();
+        PsiElement element = getTargetElement(e);
+        if (project != null && DumbService.isDumb(project)) {
+            // 索引期间不使用依赖解析的缓存，只支持方法和类
+            e.getPresentation().setEnabledAndVisible(isApproximatelyAvailable(element));
+            return;
+        }
+        e.getPresentation().setEnabledAndVisible(project != null && isAvailable(element, getBulkScope(e, element)));
+    }
+}
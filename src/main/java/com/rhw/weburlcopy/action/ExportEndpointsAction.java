@@ -0,0 +1,141 @@
+package com.rhw.weburlcopy.action;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.fileChooser.FileSaverDialog;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectUtil;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.io.FileUtilRt;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.rhw.weburlcopy.analysis.RequestSpec;
+import com.rhw.weburlcopy.export.EndpointExporter;
+import com.rhw.weburlcopy.render.CurlRequestRenderer;
+import com.rhw.weburlcopy.render.FullUrlRenderer;
+import com.rhw.weburlcopy.render.PythonRequestRenderer;
+import com.rhw.weburlcopy.render.RenderContext;
+import com.rhw.weburlcopy.render.RequestRenderer;
+import com.rhw.weburlcopy.util.RequestUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 导出所有接口到文件
+ * 渲染结果直接流式写入文件，不在内存中拼接完整内容；文件扩展名决定输出格式
+ */
+public class ExportEndpointsAction extends AnAction {
+
+    // 扩展名到渲染器ID的映射
+    private static final Map<String, String> RENDERER_BY_EXTENSION = Map.of(
+            "sh", CurlRequestRenderer.ID,
+            "py", PythonRequestRenderer.ID,
+            "txt", FullUrlRenderer.ID);
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+
+        PsiElement element = AbstractCopyAction.getTargetElement(e);
+        GlobalSearchScope bulkScope = AbstractCopyAction.getBulkScope(e, element);
+        if (!(element instanceof PsiClass) && bulkScope == null) {
+            return;
+        }
+
+        // 选择导出文件
+        FileSaverDescriptor descriptor = new FileSaverDescriptor("导出接口",
+                "扩展名决定导出格式：.sh 为curl命令，.py 为Python脚本，.txt 为完整URL", "sh", "py", "txt");
+        FileSaverDialog dialog = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project);
+        VirtualFileWrapper wrapper = dialog.save(ProjectUtil.guessProjectDir(project), "endpoints.sh");
+        if (wrapper == null) {
+            return;
+        }
+
+        File file = wrapper.getFile();
+        String extension = FileUtilRt.getExtension(file.getName()).toLowerCase(Locale.ROOT);
+        RequestRenderer renderer = RequestRenderer.findById(RENDERER_BY_EXTENSION.getOrDefault(extension, FullUrlRenderer.ID));
+        if (renderer == null) {
+            return;
+        }
+
+        RenderContext context = RenderContext.create(project);
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "导出接口", true) {
+            private String error;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                Iterable<RequestSpec> specs;
+                if (element instanceof PsiClass) {
+                    PsiClass psiClass = (PsiClass) element;
+                    specs = ReadAction.nonBlocking(() -> psiClass.isValid() ? RequestUtil.getRequestSpecs(psiClass) : List.<RequestSpec>of())
+                            .expireWith(project)
+                            .wrapProgress(indicator)
+                            .executeSynchronously();
+                } else {
+                    List<VirtualFile> files = ReadAction.nonBlocking(() -> EndpointExporter.findControllerFiles(project, bulkScope))
+                            .inSmartMode(project)
+                            .expireWith(project)
+                            .wrapProgress(indicator)
+                            .executeSynchronously();
+                    specs = EndpointExporter.streamSpecs(project, files, indicator);
+                }
+
+                // 边分析边写入文件
+                try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                    renderer.renderAll(context, specs, writer);
+                } catch (IOException ex) {
+                    error = ex.getMessage();
+                }
+            }
+
+            @Override
+            public void onSuccess() {
+                if (error != null) {
+                    Messages.showErrorDialog(project, "导出失败: " + error, "导出接口");
+                    return;
+                }
+                LocalFileSystem.getInstance().refreshAndFindFileByIoFile(file);
+                Messages.showInfoMessage(project, "接口已导出到 " + file.getPath(), "导出成功");
+            }
+        });
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        // 只对控制器类和批量范围显示，单个方法没有导出的必要
+        PsiElement element = AbstractCopyAction.getTargetElement(e);
+        GlobalSearchScope bulkScope = AbstractCopyAction.getBulkScope(e, element);
+        boolean available = element instanceof PsiClass
+                ? AbstractCopyAction.isAvailable(element, null)
+                : !(element instanceof PsiMethod) && bulkScope != null;
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null && available);
+    }
+}
@@ -0,0 +1,97 @@
+package com.rhw.weburlcopy.action;
+
+import com.intellij.codeInsight.navigation.NavigationUtil;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.NonBlockingReadAction;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.psi.PsiMethod;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.rhw.weburlcopy.route.EndpointModel;
+import com.rhw.weburlcopy.route.RouteUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.datatransfer.DataFlavor;
+import java.util.List;
+
+/**
+ * 根据URL查找接口
+ * 粘贴访问日志或工单中的URL，去掉环境前缀后通过路由前缀树定位请求处理方法；索引期间使用磁盘缓存恢复的接口
+ */
+public class FindEndpointByUrlAction extends AnAction implements DumbAware {
+
+    private static final String TITLE = "根据URL查找接口";
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+
+        // 剪贴板中是路径或URL时作为默认值
+        String clipboard = CopyPasteManager.getInstance().getContents(DataFlavor.stringFlavor);
+        String initial = clipboard != null && clipboard.trim().indexOf('/') >= 0 && clipboard.indexOf('\n') < 0
+                ? clipboard.trim() : "";
+
+        String url = Messages.showInputDialog(project, "输入URL或请求路径：", TITLE, null, initial, null);
+        if (url == null || url.trim().isEmpty()) {
+            return;
+        }
+
+        EndpointModel model = EndpointModel.getInstance(project);
+        // 索引中使用磁盘缓存恢复的接口，两者都没有时提示等待索引完成
+        if (DumbService.isDumb(project) && !model.isAvailable()) {
+            DumbService.getInstance(project).showDumbModeNotification("索引完成后才能根据URL查找接口");
+            model.loadInBackground();
+            return;
+        }
+        // 查找时不会等待加载，尚未加载时提示稍后重试
+        if (!model.isAvailable()) {
+            model.loadInBackground();
+            Messages.showInfoMessage(project, "正在后台加载接口列表，请稍后重试", TITLE);
+            return;
+        }
+
+        NonBlockingReadAction<List<PsiMethod>> readAction = ReadAction.nonBlocking(() -> RouteUtil.findMethods(project, url));
+        // 索引中只在模型记录的文件里定位方法，不依赖索引；智能模式下按类名全局查找，进入索引时等待索引完成后重新执行
+        if (!DumbService.isDumb(project)) {
+            readAction = readAction.inSmartMode(project);
+        }
+        readAction.expireWith(project)
+                .finishOnUiThread(ModalityState.NON_MODAL, methods -> navigate(project, url, methods))
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * 跳转到匹配的方法，多个时弹出选择列表
+     */
+    public static void navigate(Project project, String url, List<PsiMethod> methods) {
+        if (methods.isEmpty()) {
+            Messages.showInfoMessage(project, "没有找到与 " + url.trim() + " 匹配的接口", TITLE);
+        } else if (methods.size() == 1) {
+            methods.get(0).navigate(true);
+        } else {
+            // 同一路径对应多个HTTP方法时让用户选择
+            NavigationUtil.getPsiElementPopup(methods.toArray(PsiMethod.EMPTY_ARRAY), "匹配的接口")
+                    .showCenteredInCurrentWindow(project);
+        }
+    }
+}
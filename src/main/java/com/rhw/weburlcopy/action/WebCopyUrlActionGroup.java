@@ -1,21 +1,15 @@
 package com.rhw.weburlcopy.action;
 
 import com.intellij.openapi.actionSystem.DefaultActionGroup;
-import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.ActionUpdateThread;
-import com.intellij.openapi.actionSystem.CommonDataKeys;
-import com.intellij.openapi.project.Project;
-import com.intellij.psi.PsiClass;
-import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiMethod;
-import com.rhw.weburlcopy.util.RequestUtil;
+import com.intellij.openapi.project.DumbAware;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Web URL Copy菜单组
- * 提供复制URL的子选项
+ * 提供复制URL的子选项，索引期间仍然可用
  */
-public class WebCopyUrlActionGroup extends DefaultActionGroup {
+public class WebCopyUrlActionGroup extends DefaultActionGroup implements DumbAware {
     
     public WebCopyUrlActionGroup() {
         // 使用默认构造函数
@@ -36,22 +30,19 @@ public class WebCopyUrlActionGroup extends DefaultActionGroup {
         add(new CopyUrlPathAction());
         // 5. 复制相对URL（路径+参数）
         add(new CopyRelationUrlAction());
+        // 6. 导出所有接口到文件
+        add(new ExportEndpointsAction());
 
     }
 
     @Override
     public @NotNull ActionUpdateThread getActionUpdateThread() {
-        return ActionUpdateThread.EDT;
+        return ActionUpdateThread.BGT;
     }
 
     @Override
-    public void update(@NotNull AnActionEvent e) {
-        // 菜单组始终可见和可用，不再依赖PSI元素判断
-        e.getPresentation().setEnabled(true);
-        e.getPresentation().setVisible(true);
-        
-        // 确保菜单显示
-        getTemplatePresentation().setEnabled(true);
-        getTemplatePresentation().setVisible(true);
+    public boolean hideIfNoVisibleChildren() {
+        // 子操作只在接口上可见，没有可用子操作时整个菜单组隐藏
+        return true;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,98 @@
+package com.rhw.weburlcopy.analysis;
+
+import com.intellij.psi.PsiType;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 对象结构描述
+ * 记录一个已代入泛型参数的类型中所有实例字段，嵌套对象不在此展开，
+ * 由调用方通过 {@link DtoSchemaCache} 按需获取并自行控制深度和循环。
+ * 字段结构不可变；生成过的示例JSON按剩余深度附在结构上复用，随结构缓存一起失效
+ */
+public final class DtoSchema {
+
+    /**
+     * 字段描述
+     */
+    public static final class Field {
+        private final String name;
+        private final PsiType type;
+        private final boolean simple;
+        private final String defaultValue;
+
+        public Field(String name, PsiType type, boolean simple, String defaultValue) {
+            this.name = name;
+            this.type = type;
+            this.simple = simple;
+            this.defaultValue = defaultValue;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * 获取已代入泛型参数的字段类型
+         */
+        public PsiType getType() {
+            return type;
+        }
+
+        /**
+         * 是否为基本类型或String
+         */
+        public boolean isSimple() {
+            return simple;
+        }
+
+        public String getDefaultValue() {
+            return defaultValue;
+        }
+    }
+
+    // 类型键（含泛型参数的规范文本）
+    private final String typeKey;
+
+    // 实例字段，按声明顺序排列
+    private final List<Field> fields;
+
+    // 剩余展开深度到示例JSON的映射
+    private final Map<Integer, String> sampleJson = new ConcurrentHashMap<>();
+
+    public DtoSchema(String typeKey, List<Field> fields) {
+        this.typeKey = typeKey;
+        this.fields = Collections.unmodifiableList(fields);
+    }
+
+    public String getTypeKey() {
+        return typeKey;
+    }
+
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * 获取已生成的示例JSON
+     *
+     * @param depth 剩余展开深度
+     * @return 示例JSON，尚未生成时返回null
+     */
+    public String getSampleJson(int depth) {
+        return sampleJson.get(depth);
+    }
+
+    /**
+     * 记录生成的示例JSON，只应记录不受外层循环截断影响的结果
+     *
+     * @param depth 剩余展开深度
+     * @param json 示例JSON
+     */
+    public void putSampleJson(int depth, String json) {
+        sampleJson.putIfAbsent(depth, json);
+    }
+}
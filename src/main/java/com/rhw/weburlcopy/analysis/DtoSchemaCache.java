@@ -0,0 +1,116 @@
+package com.rhw.weburlcopy.analysis;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiRecordComponent;
+import com.intellij.psi.PsiSubstitutor;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiTypeParameter;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.TypeConversionUtil;
+import com.rhw.weburlcopy.util.PsiCacheUtil;
+import com.rhw.weburlcopy.util.RequestUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 对象结构缓存
+ * 以类型（含泛型参数）为键缓存每个DTO的字段结构，项目内所有接口共享，
+ * Java结构发生变化时整体失效。同一个DTO被上百个接口引用时只分析一次。
+ */
+public class DtoSchemaCache {
+
+    private static final Key<CachedValue<Map<String, DtoSchema>>> SCHEMAS_KEY = Key.create("com.rhw.weburlcopy.DtoSchemas");
+
+    /**
+     * 获取类型的对象结构
+     *
+     * @param project 当前项目
+     * @param type 类型
+     * @return 对象结构，非类类型或无法解析时返回null
+     */
+    @Nullable
+    public static DtoSchema getSchema(Project project, PsiType type) {
+        if (!(type instanceof PsiClassType)) {
+            return null;
+        }
+
+        PsiClassType.ClassResolveResult resolveResult = ((PsiClassType) type).resolveGenerics();
+        PsiClass psiClass = resolveResult.getElement();
+        if (psiClass == null || psiClass instanceof PsiTypeParameter) {
+            return null;
+        }
+
+        Map<String, DtoSchema> schemas = getSchemas(project);
+        String typeKey = type.getCanonicalText();
+        DtoSchema schema = schemas.get(typeKey);
+        if (schema == null) {
+            // 不在computeIfAbsent中分析，避免分析期间长时间占用哈希桶锁
+            schema = buildSchema(typeKey, psiClass, resolveResult.getSubstitutor());
+            DtoSchema existing = schemas.putIfAbsent(typeKey, schema);
+            if (existing != null) {
+                schema = existing;
+            }
+        }
+        return schema;
+    }
+
+    private static Map<String, DtoSchema> getSchemas(Project project) {
+        return CachedValuesManager.getManager(project).getCachedValue(project, SCHEMAS_KEY,
+                () -> CachedValueProvider.Result.create(new ConcurrentHashMap<>(),
+                        PsiCacheUtil.getJavaStructureTracker(project)), false);
+    }
+
+    private static DtoSchema buildSchema(String typeKey, PsiClass psiClass, PsiSubstitutor substitutor) {
+        List<DtoSchema.Field> fields = new ArrayList<>();
+        if (psiClass.isRecord()) {
+            // 记录类按组件声明顺序序列化
+            for (PsiRecordComponent component : psiClass.getRecordComponents()) {
+                PsiType componentType = substitutor.substitute(component.getType());
+                if (componentType == null) {
+                    componentType = component.getType();
+                }
+                fields.add(createField(component.getName(), componentType));
+            }
+            return new DtoSchema(typeKey, fields);
+        }
+
+        for (PsiField field : psiClass.getAllFields()) {
+            // 支持在后台生成时取消
+            ProgressManager.checkCanceled();
+            if (field.hasModifierProperty(PsiModifier.STATIC) ||
+                field.hasModifierProperty(PsiModifier.TRANSIENT)) {
+                continue;
+            }
+
+            // 父类字段需要换算到父类的泛型代入
+            PsiClass containingClass = field.getContainingClass();
+            PsiSubstitutor fieldSubstitutor = containingClass == null || containingClass == psiClass
+                    ? substitutor
+                    : TypeConversionUtil.getSuperClassSubstitutor(containingClass, psiClass, substitutor);
+            PsiType fieldType = fieldSubstitutor.substitute(field.getType());
+            if (fieldType == null) {
+                fieldType = field.getType();
+            }
+
+            fields.add(createField(field.getName(), fieldType));
+        }
+        return new DtoSchema(typeKey, fields);
+    }
+
+    private static DtoSchema.Field createField(String name, PsiType type) {
+        boolean simple = RequestUtil.isPrimitiveOrString(type);
+        return new DtoSchema.Field(name, type, simple, simple ? RequestUtil.getDefaultValueForType(type) : null);
+    }
+}
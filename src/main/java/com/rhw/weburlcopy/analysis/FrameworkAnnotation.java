@@ -0,0 +1,128 @@
+package com.rhw.weburlcopy.analysis;
+
+import java.util.List;
+
+/**
+ * Web框架注解描述
+ * 描述一个注解在接口分析中的作用，以及从哪些属性读取路径和HTTP方法
+ */
+public final class FrameworkAnnotation {
+
+    /**
+     * 注解作用
+     */
+    public enum Kind {
+        /** 标记控制器类 */
+        CONTROLLER,
+        /** 请求映射，可带路径和HTTP方法 */
+        MAPPING,
+        /** 路径变量参数 */
+        PATH_VARIABLE,
+        /** 查询/表单参数 */
+        QUERY_PARAM,
+        /** 请求体参数 */
+        REQUEST_BODY
+    }
+
+    // 注解全限定名
+    private final String qualifiedName;
+
+    // 注解短名称，用于解析前的预筛选
+    private final String shortName;
+
+    // 注解作用
+    private final Kind kind;
+
+    // 固定的HTTP方法，为null时从methodAttribute读取或按参数推断
+    private final String httpMethod;
+
+    // 读取路径的属性，按优先级排列
+    private final List<String> pathAttributes;
+
+    // 读取HTTP方法的属性，如 @RequestMapping(method = ...)
+    private final String methodAttribute;
+
+    private FrameworkAnnotation(String qualifiedName, Kind kind, String httpMethod,
+                                List<String> pathAttributes, String methodAttribute) {
+        this.qualifiedName = qualifiedName;
+        this.shortName = qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+        this.kind = kind;
+        this.httpMethod = httpMethod;
+        this.pathAttributes = pathAttributes;
+        this.methodAttribute = methodAttribute;
+    }
+
+    /**
+     * 控制器注解
+     *
+     * @param qualifiedName 注解全限定名
+     * @param pathAttributes 读取类路径的属性，没有时为空
+     */
+    public static FrameworkAnnotation controller(String qualifiedName, String... pathAttributes) {
+        return new FrameworkAnnotation(qualifiedName, Kind.CONTROLLER, null, List.of(pathAttributes), null);
+    }
+
+    /**
+     * 请求映射注解
+     *
+     * @param qualifiedName 注解全限定名
+     * @param httpMethod 固定的HTTP方法，没有时为null
+     * @param pathAttributes 读取路径的属性，没有时为空
+     */
+    public static FrameworkAnnotation mapping(String qualifiedName, String httpMethod, String... pathAttributes) {
+        return new FrameworkAnnotation(qualifiedName, Kind.MAPPING, httpMethod, List.of(pathAttributes), null);
+    }
+
+    /**
+     * 通过属性声明HTTP方法的请求映射注解
+     *
+     * @param qualifiedName 注解全限定名
+     * @param methodAttribute 读取HTTP方法的属性
+     * @param pathAttributes 读取路径的属性
+     */
+    public static FrameworkAnnotation mappingWithMethodAttribute(String qualifiedName, String methodAttribute,
+                                                                 String... pathAttributes) {
+        return new FrameworkAnnotation(qualifiedName, Kind.MAPPING, null, List.of(pathAttributes), methodAttribute);
+    }
+
+    /**
+     * 参数注解，参数名从 value 或 name 属性读取
+     *
+     * @param qualifiedName 注解全限定名
+     * @param kind 参数作用
+     */
+    public static FrameworkAnnotation parameter(String qualifiedName, Kind kind) {
+        return new FrameworkAnnotation(qualifiedName, kind, null, List.of(), null);
+    }
+
+    public String getQualifiedName() {
+        return qualifiedName;
+    }
+
+    public String getShortName() {
+        return shortName;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public List<String> getPathAttributes() {
+        return pathAttributes;
+    }
+
+    public String getMethodAttribute() {
+        return methodAttribute;
+    }
+
+    /**
+     * 是否可以标记控制器类：控制器注解，或可以声明类路径的映射注解（如 @RequestMapping、@Path）
+     */
+    public boolean isClassMarker() {
+        return kind == Kind.CONTROLLER || (kind == Kind.MAPPING && !pathAttributes.isEmpty());
+    }
+}
@@ -0,0 +1,369 @@
+package com.rhw.weburlcopy.analysis;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationMemberValue;
+import com.intellij.psi.PsiArrayInitializerMemberValue;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiImportList;
+import com.intellij.psi.PsiImportStatement;
+import com.intellij.psi.PsiJavaCodeReferenceElement;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.rhw.weburlcopy.model.ConfigSettings;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Web框架注解表
+ * 内置 Spring MVC、JAX-RS（javax/jakarta，含Quarkus RESTEasy）、Micronaut 和 Quarkus Reactive Routes 的注解，
+ * 可通过配置追加自定义注解。查找时先按短名称预筛选，只有短名称命中时才解析注解，
+ * 因此 @PathMatcher 之类名称相近的注解不会被误判，也不会触发解析。
+ * 读取注解时只使用存根支持的接口：注解名称引用和属性值由存根中的文本创建游离元素，导入语句来自导入列表存根，
+ * 对未打开的文件批量读取路径和HTTP方法只占用存根内存，不加载语法树
+ */
+public final class FrameworkAnnotations {
+
+    /**
+     * 支持的HTTP方法
+     */
+    public static final Set<String> HTTP_METHODS = Set.of("GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS");
+
+    /**
+     * 自定义注解可用的作用类型，除此之外还可以直接填写HTTP方法
+     */
+    public static final List<String> CUSTOM_TYPES = List.of(
+            "CONTROLLER", "MAPPING", "PATH_VARIABLE", "QUERY_PARAM", "REQUEST_BODY");
+
+    private static final List<FrameworkAnnotation> BUILT_IN = createBuiltIn();
+
+    private static final FrameworkAnnotations DEFAULT = new FrameworkAnnotations(BUILT_IN, Set.of());
+
+    private static final Key<CachedValue<FrameworkAnnotations>> KEY = Key.create("com.rhw.weburlcopy.FrameworkAnnotations");
+
+    // 全限定名到注解描述
+    private final Map<String, FrameworkAnnotation> byQualifiedName = new HashMap<>();
+
+    // 短名称到注解描述，同名注解（如Spring与Micronaut的@Controller）放在同一列表
+    private final Map<String, List<FrameworkAnnotation>> byShortName = new HashMap<>();
+
+    // 自定义注解的短名称
+    private final Set<String> customShortNames;
+
+    private FrameworkAnnotations(List<FrameworkAnnotation> annotations, Set<String> customShortNames) {
+        this.customShortNames = customShortNames;
+        for (FrameworkAnnotation annotation : annotations) {
+            // 后加入的同名描述覆盖先前的描述，自定义注解可以覆盖内置注解
+            FrameworkAnnotation previous = byQualifiedName.put(annotation.getQualifiedName(), annotation);
+            List<FrameworkAnnotation> sameShortName = byShortName.computeIfAbsent(annotation.getShortName(), key -> new ArrayList<>());
+            if (previous != null) {
+                sameShortName.remove(previous);
+            }
+            sameShortName.add(annotation);
+        }
+    }
+
+    /**
+     * 获取只包含内置注解的注解表，与项目配置无关，构建索引时使用
+     *
+     * @return 内置注解表
+     */
+    public static FrameworkAnnotations getBuiltIn() {
+        return DEFAULT;
+    }
+
+    /**
+     * 获取项目的注解表，包含内置注解和项目配置的自定义注解
+     *
+     * @param project 当前项目，为null时只返回内置注解
+     * @return 注解表
+     */
+    public static FrameworkAnnotations getInstance(@Nullable Project project) {
+        if (project == null || project.isDefault()) {
+            return DEFAULT;
+        }
+        return CachedValuesManager.getManager(project).getCachedValue(project, KEY, () -> {
+            ConfigSettings settings = ConfigSettings.getInstance(project);
+            return CachedValueProvider.Result.create(compile(settings.getCustomAnnotations()), settings.getAnalysisTracker());
+        }, false);
+    }
+
+    private static FrameworkAnnotations compile(Map<String, String> customAnnotations) {
+        if (customAnnotations.isEmpty()) {
+            return DEFAULT;
+        }
+
+        List<FrameworkAnnotation> annotations = new ArrayList<>(BUILT_IN);
+        Set<String> customShortNames = new HashSet<>();
+        for (Map.Entry<String, String> entry : customAnnotations.entrySet()) {
+            FrameworkAnnotation custom = parseCustom(entry.getKey(), entry.getValue());
+            if (custom != null) {
+                annotations.add(custom);
+                customShortNames.add(custom.getShortName());
+            }
+        }
+        return customShortNames.isEmpty() ? DEFAULT : new FrameworkAnnotations(annotations, customShortNames);
+    }
+
+    /**
+     * 获取自定义注解的短名称
+     *
+     * @return 短名称集合，没有自定义注解时为空
+     */
+    public Set<String> getCustomShortNames() {
+        return customShortNames;
+    }
+
+    /**
+     * 解析一条自定义注解配置
+     *
+     * @param qualifiedName 注解全限定名
+     * @param type 作用类型（见 {@link #CUSTOM_TYPES}）或HTTP方法
+     * @return 注解描述，配置无效时返回null
+     */
+    @Nullable
+    public static FrameworkAnnotation parseCustom(String qualifiedName, String type) {
+        if (qualifiedName == null || type == null) {
+            return null;
+        }
+        qualifiedName = qualifiedName.trim();
+        type = type.trim().toUpperCase();
+        if (qualifiedName.isEmpty() || qualifiedName.endsWith(".")) {
+            return null;
+        }
+
+        if (HTTP_METHODS.contains(type)) {
+            return FrameworkAnnotation.mapping(qualifiedName, type, "value", "path");
+        }
+        switch (type) {
+            case "CONTROLLER":
+                return FrameworkAnnotation.controller(qualifiedName);
+            case "MAPPING":
+                return FrameworkAnnotation.mappingWithMethodAttribute(qualifiedName, "method", "value", "path");
+            case "PATH_VARIABLE":
+                return FrameworkAnnotation.parameter(qualifiedName, FrameworkAnnotation.Kind.PATH_VARIABLE);
+            case "QUERY_PARAM":
+                return FrameworkAnnotation.parameter(qualifiedName, FrameworkAnnotation.Kind.QUERY_PARAM);
+            case "REQUEST_BODY":
+                return FrameworkAnnotation.parameter(qualifiedName, FrameworkAnnotation.Kind.REQUEST_BODY);
+            default:
+                return null;
+        }
+    }
+
+    private static List<FrameworkAnnotation> createBuiltIn() {
+        List<FrameworkAnnotation> result = new ArrayList<>();
+
+        // Spring MVC
+        String spring = "org.springframework.web.bind.annotation.";
+        result.add(FrameworkAnnotation.controller("org.springframework.stereotype.Controller"));
+        result.add(FrameworkAnnotation.controller(spring + "RestController"));
+        result.add(FrameworkAnnotation.mappingWithMethodAttribute(spring + "RequestMapping", "method", "value", "path"));
+        result.add(FrameworkAnnotation.mapping(spring + "GetMapping", "GET", "value", "path"));
+        result.add(FrameworkAnnotation.mapping(spring + "PostMapping", "POST", "value", "path"));
+        result.add(FrameworkAnnotation.mapping(spring + "PutMapping", "PUT", "value", "path"));
+        result.add(FrameworkAnnotation.mapping(spring + "DeleteMapping", "DELETE", "value", "path"));
+        result.add(FrameworkAnnotation.mapping(spring + "PatchMapping", "PATCH", "value", "path"));
+        result.add(FrameworkAnnotation.parameter(spring + "PathVariable", FrameworkAnnotation.Kind.PATH_VARIABLE));
+        result.add(FrameworkAnnotation.parameter(spring + "RequestParam", FrameworkAnnotation.Kind.QUERY_PARAM));
+        result.add(FrameworkAnnotation.parameter(spring + "RequestBody", FrameworkAnnotation.Kind.REQUEST_BODY));
+
+        // JAX-RS，javax与jakarta两套包名
+        for (String jaxRs : new String[]{"javax.ws.rs.", "jakarta.ws.rs."}) {
+            result.add(FrameworkAnnotation.mapping(jaxRs + "Path", null, "value"));
+            for (String verb : new String[]{"GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS"}) {
+                result.add(FrameworkAnnotation.mapping(jaxRs + verb, verb));
+            }
+            result.add(FrameworkAnnotation.parameter(jaxRs + "PathParam", FrameworkAnnotation.Kind.PATH_VARIABLE));
+            result.add(FrameworkAnnotation.parameter(jaxRs + "QueryParam", FrameworkAnnotation.Kind.QUERY_PARAM));
+            result.add(FrameworkAnnotation.parameter(jaxRs + "FormParam", FrameworkAnnotation.Kind.QUERY_PARAM));
+        }
+
+        // Micronaut
+        String micronaut = "io.micronaut.http.annotation.";
+        result.add(FrameworkAnnotation.controller(micronaut + "Controller", "value"));
+        result.add(FrameworkAnnotation.mapping(micronaut + "Get", "GET", "value", "uri", "uris"));
+        result.add(FrameworkAnnotation.mapping(micronaut + "Post", "POST", "value", "uri", "uris"));
+        result.add(FrameworkAnnotation.mapping(micronaut + "Put", "PUT", "value", "uri", "uris"));
+        result.add(FrameworkAnnotation.mapping(micronaut + "Delete", "DELETE", "value", "uri", "uris"));
+        result.add(FrameworkAnnotation.mapping(micronaut + "Patch", "PATCH", "value", "uri", "uris"));
+        result.add(FrameworkAnnotation.parameter(micronaut + "PathVariable", FrameworkAnnotation.Kind.PATH_VARIABLE));
+        result.add(FrameworkAnnotation.parameter(micronaut + "QueryValue", FrameworkAnnotation.Kind.QUERY_PARAM));
+        result.add(FrameworkAnnotation.parameter(micronaut + "Body", FrameworkAnnotation.Kind.REQUEST_BODY));
+
+        // Quarkus Reactive Routes
+        String quarkus = "io.quarkus.vertx.web.";
+        result.add(FrameworkAnnotation.controller(quarkus + "RouteBase", "path"));
+        result.add(FrameworkAnnotation.mappingWithMethodAttribute(quarkus + "Route", "methods", "path"));
+        result.add(FrameworkAnnotation.parameter(quarkus + "Param", FrameworkAnnotation.Kind.QUERY_PARAM));
+        result.add(FrameworkAnnotation.parameter(quarkus + "Body", FrameworkAnnotation.Kind.REQUEST_BODY));
+
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * 查找注解描述
+     * 短名称不在表中时直接返回null，不解析注解；注解无法解析时按导入语句判断
+     *
+     * @param annotation 注解
+     * @return 注解描述，不是已知的框架注解时返回null
+     */
+    @Nullable
+    public FrameworkAnnotation find(PsiAnnotation annotation) {
+        String shortName = getShortName(annotation);
+        if (shortName == null || !byShortName.containsKey(shortName)) {
+            return null;
+        }
+
+        String qualifiedName = annotation.getQualifiedName();
+        if (qualifiedName != null && qualifiedName.indexOf('.') >= 0) {
+            return byQualifiedName.get(qualifiedName);
+        }
+        return findSyntactic(annotation);
+    }
+
+    /**
+     * 按语法查找注解描述，不解析任何引用，可以在构建索引时调用
+     * 同名注解按全限定写法和导入语句区分，都无法确定时取第一个候选
+     *
+     * @param annotation 注解
+     * @return 注解描述，不是已知的框架注解时返回null
+     */
+    @Nullable
+    public FrameworkAnnotation findSyntactic(PsiAnnotation annotation) {
+        PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+        String shortName = reference != null ? reference.getReferenceName() : null;
+        List<FrameworkAnnotation> candidates = shortName != null ? byShortName.get(shortName) : null;
+        if (candidates == null || candidates.isEmpty()) {
+            return null;
+        }
+
+        // 全限定写法
+        if (reference.isQualified()) {
+            return byQualifiedName.get(reference.getText());
+        }
+
+        // 按导入语句区分
+        PsiFile file = annotation.getContainingFile();
+        PsiImportList importList = file instanceof PsiJavaFile ? ((PsiJavaFile) file).getImportList() : null;
+        if (importList != null) {
+            String suffix = "." + shortName;
+            for (PsiImportStatement importStatement : importList.getImportStatements()) {
+                String imported = importStatement.getQualifiedName();
+                if (imported == null) continue;
+
+                if (importStatement.isOnDemand()) {
+                    FrameworkAnnotation candidate = byQualifiedName.get(imported + suffix);
+                    if (candidate != null) {
+                        return candidate;
+                    }
+                } else if (imported.endsWith(suffix)) {
+                    // 明确导入了同名的其他注解
+                    return byQualifiedName.get(imported);
+                }
+            }
+        }
+        return candidates.get(0);
+    }
+
+    /**
+     * 从注解中读取所有路径，只接受字面量，数组形式按声明顺序读取每个值
+     *
+     * @param annotation 注解
+     * @param descriptor 注解描述
+     * @return 路径列表，没有声明时为空
+     */
+    public static List<String> readPaths(PsiAnnotation annotation, FrameworkAnnotation descriptor) {
+        List<String> paths = new ArrayList<>();
+        for (String attribute : descriptor.getPathAttributes()) {
+            PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue(attribute);
+            PsiAnnotationMemberValue[] values = value instanceof PsiArrayInitializerMemberValue
+                    ? ((PsiArrayInitializerMemberValue) value).getInitializers()
+                    : new PsiAnnotationMemberValue[]{value};
+            for (PsiAnnotationMemberValue element : values) {
+                String path = getLiteralText(element);
+                if (path != null) {
+                    paths.add(path);
+                }
+            }
+            if (!paths.isEmpty()) {
+                return paths;
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * 从注解中读取所有HTTP方法
+     *
+     * @param annotation 注解
+     * @param descriptor 注解描述
+     * @return HTTP方法列表，按声明顺序排列且不重复，没有声明时为空
+     */
+    public static List<String> readHttpMethods(PsiAnnotation annotation, FrameworkAnnotation descriptor) {
+        if (descriptor.getHttpMethod() != null) {
+            return List.of(descriptor.getHttpMethod());
+        }
+        if (descriptor.getMethodAttribute() == null) {
+            return List.of();
+        }
+
+        PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue(descriptor.getMethodAttribute());
+        if (value == null) {
+            return List.of();
+        }
+        // 取 RequestMethod.GET、{RequestMethod.GET, RequestMethod.POST} 等写法中的所有HTTP方法
+        List<String> httpMethods = new ArrayList<>();
+        for (String token : value.getText().split("[^A-Za-z]+")) {
+            if (HTTP_METHODS.contains(token) && !httpMethods.contains(token)) {
+                httpMethods.add(token);
+            }
+        }
+        return httpMethods;
+    }
+
+    /**
+     * 从参数注解中读取参数名（value或name属性）
+     *
+     * @param annotation 参数注解
+     * @return 参数名，没有声明时返回null
+     */
+    @Nullable
+    public static String readName(PsiAnnotation annotation) {
+        for (String attribute : new String[]{"value", "name"}) {
+            String name = getLiteralText(annotation.findDeclaredAttributeValue(attribute));
+            if (name != null && !name.isEmpty()) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取注解的短名称，不做解析
+     */
+    @Nullable
+    public static String getShortName(PsiAnnotation annotation) {
+        PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+        return reference != null ? reference.getReferenceName() : null;
+    }
+
+    private static String getLiteralText(PsiAnnotationMemberValue value) {
+        if (value instanceof PsiLiteralExpression) {
+            Object literal = ((PsiLiteralExpression) value).getValue();
+            return literal instanceof String ? (String) literal : null;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,264 @@
+package com.rhw.weburlcopy.analysis;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.CommonClassNames;
+import com.intellij.psi.PsiArrayType;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiEnumConstant;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiPrimitiveType;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiTypeParameter;
+import com.intellij.psi.PsiWildcardType;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiUtil;
+import com.intellij.psi.util.TypeConversionUtil;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 示例JSON生成器
+ * 基于已代入泛型参数的类型生成请求体示例，支持集合、数组、Map、枚举、记录类、Optional和java.time类型。
+ * 整棵树写入同一个缓冲区，对象子树按剩余深度缓存在 {@link DtoSchema} 上，预热后大型聚合DTO直接拼接缓存结果。
+ * 生成需要读取PSI，只在分析阶段进行一次，结果作为字符串保存在缓存的 {@link RequestSpec} 中，
+ * 渲染器不再访问PSI，多次复制和多种输出格式直接把同一个字符串写入各自的输出
+ */
+public class JsonSampleGenerator {
+
+    // 按擦除后的类型名给出的示例值（已是JSON字面量）
+    private static final Map<String, String> LITERALS = Map.ofEntries(
+            Map.entry("java.lang.String", "\"x\""),
+            Map.entry("java.lang.CharSequence", "\"x\""),
+            Map.entry("java.lang.Character", "\"x\""),
+            Map.entry("java.lang.Boolean", "false"),
+            Map.entry("java.lang.Byte", "1"),
+            Map.entry("java.lang.Short", "1"),
+            Map.entry("java.lang.Integer", "1"),
+            Map.entry("java.lang.Long", "1"),
+            Map.entry("java.math.BigInteger", "1"),
+            Map.entry("java.util.concurrent.atomic.AtomicInteger", "1"),
+            Map.entry("java.util.concurrent.atomic.AtomicLong", "1"),
+            Map.entry("java.lang.Float", "1.0"),
+            Map.entry("java.lang.Double", "1.0"),
+            Map.entry("java.lang.Number", "1.0"),
+            Map.entry("java.math.BigDecimal", "1.0"),
+            Map.entry("java.lang.Void", "null"),
+            Map.entry("java.lang.Object", "{}"),
+            Map.entry("java.util.UUID", "\"00000000-0000-0000-0000-000000000000\""),
+            Map.entry("java.net.URI", "\"http://localhost\""),
+            Map.entry("java.net.URL", "\"http://localhost\""),
+            Map.entry("java.time.LocalDate", "\"2024-01-01\""),
+            Map.entry("java.time.LocalDateTime", "\"2024-01-01T00:00:00\""),
+            Map.entry("java.time.LocalTime", "\"00:00:00\""),
+            Map.entry("java.time.Instant", "\"2024-01-01T00:00:00Z\""),
+            Map.entry("java.time.OffsetDateTime", "\"2024-01-01T00:00:00+08:00\""),
+            Map.entry("java.time.ZonedDateTime", "\"2024-01-01T00:00:00+08:00\""),
+            Map.entry("java.time.OffsetTime", "\"00:00:00+08:00\""),
+            Map.entry("java.time.YearMonth", "\"2024-01\""),
+            Map.entry("java.time.Year", "2024"),
+            Map.entry("java.time.Duration", "\"PT1S\""),
+            Map.entry("java.time.Period", "\"P1D\""),
+            Map.entry("java.time.ZoneId", "\"Asia/Shanghai\""),
+            Map.entry("java.util.Date", "\"2024-01-01T00:00:00.000+00:00\""),
+            Map.entry("java.util.Calendar", "\"2024-01-01T00:00:00.000+00:00\""),
+            Map.entry("java.sql.Date", "\"2024-01-01\""),
+            Map.entry("java.sql.Time", "\"00:00:00\""),
+            Map.entry("java.sql.Timestamp", "\"2024-01-01T00:00:00.000+00:00\""));
+
+    // Optional系列类型及其对应的值类型
+    private static final Map<String, String> OPTIONAL_LITERALS = Map.of(
+            "java.util.OptionalInt", "1",
+            "java.util.OptionalLong", "1",
+            "java.util.OptionalDouble", "1.0");
+
+    /**
+     * 生成类型的示例JSON
+     *
+     * @param project 当前项目
+     * @param type 类型
+     * @param maxDepth 嵌套对象最大展开深度
+     * @return 示例JSON，保存在 {@link RequestSpec} 中供所有渲染器共享
+     */
+    public static String generate(Project project, PsiType type, int maxDepth) {
+        StringBuilder out = new StringBuilder();
+        appendValue(project, out, type, maxDepth, new HashSet<>());
+        return out.toString();
+    }
+
+    /**
+     * 写入一个值
+     *
+     * @return 结果是否可以缓存（没有因外层循环被截断）
+     */
+    private static boolean appendValue(Project project, StringBuilder out, PsiType type, int depth, Set<String> visiting) {
+        if (type instanceof PsiWildcardType) {
+            PsiType bound = ((PsiWildcardType) type).getBound();
+            type = bound != null && ((PsiWildcardType) type).isExtends() ? bound : null;
+        }
+        if (type == null) {
+            out.append("{}");
+            return true;
+        }
+
+        if (type instanceof PsiPrimitiveType) {
+            String boxed = ((PsiPrimitiveType) type).getBoxedTypeName();
+            out.append(boxed != null ? LITERALS.getOrDefault(boxed, "null") : "null");
+            return true;
+        }
+
+        if (type instanceof PsiArrayType) {
+            PsiType componentType = ((PsiArrayType) type).getComponentType();
+            if (PsiType.BYTE.equals(componentType)) {
+                // byte[] 按Base64字符串序列化
+                out.append("\"\"");
+                return true;
+            }
+            out.append('[');
+            boolean cacheable = appendValue(project, out, componentType, depth, visiting);
+            out.append(']');
+            return cacheable;
+        }
+
+        if (!(type instanceof PsiClassType)) {
+            out.append("{}");
+            return true;
+        }
+
+        String erasedName = TypeConversionUtil.erasure(type).getCanonicalText();
+        String literal = LITERALS.get(erasedName);
+        if (literal != null) {
+            out.append(literal);
+            return true;
+        }
+
+        PsiClass psiClass = ((PsiClassType) type).resolve();
+        if (psiClass == null || psiClass instanceof PsiTypeParameter) {
+            out.append("{}");
+            return true;
+        }
+
+        if (psiClass.isEnum()) {
+            String constant = getFirstEnumConstant(psiClass);
+            out.append(constant != null ? "\"" + constant + "\"" : "null");
+            return true;
+        }
+
+        String optionalLiteral = OPTIONAL_LITERALS.get(erasedName);
+        if (optionalLiteral != null) {
+            out.append(optionalLiteral);
+            return true;
+        }
+        if ("java.util.Optional".equals(erasedName)) {
+            return appendValue(project, out, PsiUtil.substituteTypeParameter(type, "java.util.Optional", 0, false),
+                    depth, visiting);
+        }
+
+        if (InheritanceUtil.isInheritor(psiClass, CommonClassNames.JAVA_UTIL_MAP)) {
+            PsiType keyType = PsiUtil.substituteTypeParameter(type, CommonClassNames.JAVA_UTIL_MAP, 0, false);
+            PsiType valueType = PsiUtil.substituteTypeParameter(type, CommonClassNames.JAVA_UTIL_MAP, 1, false);
+            out.append('{');
+            appendKey(out, keyType);
+            out.append(": ");
+            boolean cacheable = appendValue(project, out, valueType, depth, visiting);
+            out.append('}');
+            return cacheable;
+        }
+
+        if (InheritanceUtil.isInheritor(psiClass, CommonClassNames.JAVA_LANG_ITERABLE)) {
+            PsiType elementType = PsiUtil.substituteTypeParameter(type, CommonClassNames.JAVA_LANG_ITERABLE, 0, false);
+            if (elementType == null) {
+                out.append("[]");
+                return true;
+            }
+            out.append('[');
+            boolean cacheable = appendValue(project, out, elementType, depth, visiting);
+            out.append(']');
+            return cacheable;
+        }
+
+        if (erasedName.startsWith("java.")) {
+            out.append("{}");
+            return true;
+        }
+
+        return appendObject(project, out, DtoSchemaCache.getSchema(project, type), depth, visiting);
+    }
+
+    private static boolean appendObject(Project project, StringBuilder out, DtoSchema schema, int depth,
+                                        Set<String> visiting) {
+        if (schema == null || depth <= 0) {
+            out.append("{}");
+            return true;
+        }
+
+        String cached = schema.getSampleJson(depth);
+        if (cached != null) {
+            out.append(cached);
+            return true;
+        }
+
+        if (!visiting.add(schema.getTypeKey())) {
+            // 自引用（如 Category parent）输出null，结果依赖外层路径，不可缓存
+            out.append("null");
+            return false;
+        }
+
+        int start = out.length();
+        boolean cacheable = true;
+        out.append('{');
+        boolean first = true;
+        for (DtoSchema.Field field : schema.getFields()) {
+            // 支持在后台生成时取消
+            ProgressManager.checkCanceled();
+            if (!first) {
+                out.append(", ");
+            }
+            out.append('"').append(field.getName()).append("\": ");
+            cacheable &= appendValue(project, out, field.getType(), depth - 1, visiting);
+            first = false;
+        }
+        out.append('}');
+        visiting.remove(schema.getTypeKey());
+
+        if (cacheable) {
+            schema.putSampleJson(depth, out.substring(start));
+        }
+        return cacheable;
+    }
+
+    /**
+     * 写入Map的示例键，JSON对象的键只能是字符串
+     */
+    private static void appendKey(StringBuilder out, PsiType keyType) {
+        if (keyType instanceof PsiClassType) {
+            PsiClass keyClass = ((PsiClassType) keyType).resolve();
+            if (keyClass != null && keyClass.isEnum()) {
+                String constant = getFirstEnumConstant(keyClass);
+                if (constant != null) {
+                    out.append('"').append(constant).append('"');
+                    return;
+                }
+            }
+
+            String literal = LITERALS.get(TypeConversionUtil.erasure(keyType).getCanonicalText());
+            if (literal != null && !literal.startsWith("\"") && !literal.startsWith("{")) {
+                out.append('"').append(literal).append('"');
+                return;
+            }
+        }
+        out.append("\"key\"");
+    }
+
+    private static String getFirstEnumConstant(PsiClass enumClass) {
+        for (PsiField field : enumClass.getFields()) {
+            if (field instanceof PsiEnumConstant) {
+                return field.getName();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,109 @@
+package com.rhw.weburlcopy.analysis;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.rhw.weburlcopy.model.ConfigSettings;
+import com.rhw.weburlcopy.util.PsiCacheUtil;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 映射继承查找
+ * 映射注解可以声明在接口或抽象父类上（如同时供Feign客户端使用的接口），实现类中的方法不带注解。
+ * 沿父方法和父类查找实际声明映射的方法和类，结果缓存在方法和类上，Java结构变化后失效，
+ * 复制时不会每次重新搜索父方法
+ */
+public class MappingHierarchy {
+
+    private static final Key<CachedValue<PsiMethod>> MAPPING_METHOD_KEY = Key.create("com.rhw.weburlcopy.MappingMethod");
+
+    private static final Key<CachedValue<PsiClass>> MAPPING_CLASS_KEY = Key.create("com.rhw.weburlcopy.MappingClass");
+
+    /**
+     * 获取声明方法映射的方法
+     * 方法自身有映射注解时返回自身，否则按层次从近到远返回第一个有映射注解的父方法
+     *
+     * @param method 方法
+     * @return 声明映射的方法，整个层次中都没有映射注解时返回方法自身
+     */
+    public static PsiMethod getMappingMethod(PsiMethod method) {
+        Project project = method.getProject();
+        return CachedValuesManager.getCachedValue(method, MAPPING_METHOD_KEY, () -> CachedValueProvider.Result.create(
+                findMappingMethod(method, FrameworkAnnotations.getInstance(project)),
+                PsiCacheUtil.getJavaStructureTracker(project),
+                ConfigSettings.getInstance(project).getAnalysisTracker()));
+    }
+
+    /**
+     * 获取声明类路径的类
+     * 类自身声明了类路径时返回自身，否则按层次从近到远返回第一个声明了类路径的父类或接口
+     *
+     * @param psiClass 控制器类
+     * @return 声明类路径的类，整个层次中都没有时返回类自身
+     */
+    public static PsiClass getMappingClass(PsiClass psiClass) {
+        Project project = psiClass.getProject();
+        return CachedValuesManager.getCachedValue(psiClass, MAPPING_CLASS_KEY, () -> CachedValueProvider.Result.create(
+                findMappingClass(psiClass, FrameworkAnnotations.getInstance(project)),
+                PsiCacheUtil.getJavaStructureTracker(project),
+                ConfigSettings.getInstance(project).getAnalysisTracker()));
+    }
+
+    private static PsiMethod findMappingMethod(PsiMethod method, FrameworkAnnotations frameworkAnnotations) {
+        // 按层次广度优先，离实现最近的声明优先
+        Deque<PsiMethod> queue = new ArrayDeque<>();
+        Set<PsiMethod> visited = new HashSet<>();
+        queue.add(method);
+        while (!queue.isEmpty()) {
+            PsiMethod current = queue.poll();
+            if (!visited.add(current)) {
+                continue;
+            }
+            if (hasMapping(current.getAnnotations(), frameworkAnnotations)) {
+                return current;
+            }
+            Collections.addAll(queue, current.findSuperMethods());
+        }
+        return method;
+    }
+
+    private static PsiClass findMappingClass(PsiClass psiClass, FrameworkAnnotations frameworkAnnotations) {
+        Deque<PsiClass> queue = new ArrayDeque<>();
+        Set<PsiClass> visited = new HashSet<>();
+        queue.add(psiClass);
+        while (!queue.isEmpty()) {
+            PsiClass current = queue.poll();
+            String qualifiedName = current.getQualifiedName();
+            if (!visited.add(current) || (current != psiClass && qualifiedName != null && qualifiedName.startsWith("java."))) {
+                continue;
+            }
+            for (PsiAnnotation annotation : current.getAnnotations()) {
+                if (MappingResolver.resolvePath(annotation, frameworkAnnotations) != null) {
+                    return current;
+                }
+            }
+            Collections.addAll(queue, current.getSupers());
+        }
+        return psiClass;
+    }
+
+    private static boolean hasMapping(PsiAnnotation[] annotations, FrameworkAnnotations frameworkAnnotations) {
+        for (PsiAnnotation annotation : annotations) {
+            FrameworkAnnotation descriptor = MappingResolver.findDescriptor(annotation, frameworkAnnotations);
+            if (descriptor != null && descriptor.getKind() == FrameworkAnnotation.Kind.MAPPING) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,288 @@
+package com.rhw.weburlcopy.analysis;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.RecursionManager;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.JavaTokenType;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationMemberValue;
+import com.intellij.psi.PsiArrayInitializerMemberValue;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiExpression;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiParenthesizedExpression;
+import com.intellij.psi.PsiPolyadicExpression;
+import com.intellij.psi.PsiReferenceExpression;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.rhw.weburlcopy.model.ConfigSettings;
+import com.rhw.weburlcopy.util.PsiCacheUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 映射注解解析器
+ * 在可以解析引用时读取映射注解：路径属性支持常量表达式（如 ApiPaths.V2 + "/orders"），
+ * 未知注解沿元注解查找框架映射（如标注了 @GetMapping 的组合注解 @AdminGet）。
+ * 常量字段的值缓存在字段上，组合注解的映射缓存在注解类上，大量控制器共用的常量和组合注解只计算一次
+ */
+public class MappingResolver {
+
+    private static final Key<CachedValue<MetaMapping>> META_MAPPING_KEY = Key.create("com.rhw.weburlcopy.MetaMapping");
+
+    /**
+     * 组合注解上找到的框架映射
+     */
+    public static final class MetaMapping {
+
+        // 框架映射注解的描述
+        private final FrameworkAnnotation descriptor;
+
+        // 元注解上声明的路径，没有时为空
+        private final List<String> paths;
+
+        // 元注解上声明的HTTP方法，没有时为空
+        private final List<String> httpMethods;
+
+        private MetaMapping(FrameworkAnnotation descriptor, List<String> paths, List<String> httpMethods) {
+            this.descriptor = descriptor;
+            this.paths = paths;
+            this.httpMethods = httpMethods;
+        }
+
+        public FrameworkAnnotation getDescriptor() {
+            return descriptor;
+        }
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public List<String> getHttpMethods() {
+            return httpMethods;
+        }
+    }
+
+    /**
+     * 查找注解对应的框架注解描述，未知注解沿元注解查找
+     *
+     * @param annotation 注解
+     * @param frameworkAnnotations 注解表
+     * @return 注解描述，不是框架注解也没有框架元注解时返回null
+     */
+    @Nullable
+    public static FrameworkAnnotation findDescriptor(PsiAnnotation annotation, FrameworkAnnotations frameworkAnnotations) {
+        FrameworkAnnotation descriptor = frameworkAnnotations.find(annotation);
+        if (descriptor != null) {
+            return descriptor;
+        }
+        MetaMapping meta = findMetaMapping(annotation);
+        return meta != null ? meta.getDescriptor() : null;
+    }
+
+    /**
+     * 读取映射注解的第一个路径
+     *
+     * @param annotation 注解
+     * @param frameworkAnnotations 注解表
+     * @return 路径，不是映射注解或没有声明路径时返回null
+     */
+    @Nullable
+    public static String resolvePath(PsiAnnotation annotation, FrameworkAnnotations frameworkAnnotations) {
+        List<String> paths = resolvePaths(annotation, frameworkAnnotations);
+        return paths.isEmpty() ? null : paths.get(0);
+    }
+
+    /**
+     * 读取映射注解的所有路径
+     * 组合注解优先使用自身声明的路径属性（对应 @AliasFor），没有声明时使用元注解上的路径
+     *
+     * @param annotation 注解
+     * @param frameworkAnnotations 注解表
+     * @return 路径列表，不是映射注解或没有声明路径时为空
+     */
+    public static List<String> resolvePaths(PsiAnnotation annotation, FrameworkAnnotations frameworkAnnotations) {
+        FrameworkAnnotation descriptor = frameworkAnnotations.find(annotation);
+        if (descriptor != null) {
+            return readPaths(annotation, descriptor);
+        }
+
+        MetaMapping meta = findMetaMapping(annotation);
+        if (meta == null) {
+            return List.of();
+        }
+        List<String> paths = readPaths(annotation, meta.getDescriptor());
+        return !paths.isEmpty() ? paths : meta.getPaths();
+    }
+
+    /**
+     * 读取映射注解的所有HTTP方法
+     *
+     * @param annotation 注解
+     * @param frameworkAnnotations 注解表
+     * @return HTTP方法列表，不是映射注解或无法确定时为空
+     */
+    public static List<String> resolveHttpMethods(PsiAnnotation annotation, FrameworkAnnotations frameworkAnnotations) {
+        FrameworkAnnotation descriptor = frameworkAnnotations.find(annotation);
+        if (descriptor != null) {
+            return descriptor.getKind() == FrameworkAnnotation.Kind.MAPPING
+                    ? FrameworkAnnotations.readHttpMethods(annotation, descriptor) : List.of();
+        }
+
+        MetaMapping meta = findMetaMapping(annotation);
+        if (meta == null || meta.getDescriptor().getKind() != FrameworkAnnotation.Kind.MAPPING) {
+            return List.of();
+        }
+        List<String> httpMethods = FrameworkAnnotations.readHttpMethods(annotation, meta.getDescriptor());
+        return !httpMethods.isEmpty() ? httpMethods : meta.getHttpMethods();
+    }
+
+    /**
+     * 从注解中读取所有路径，字面量之外计算常量表达式，数组形式按声明顺序读取每个值
+     */
+    private static List<String> readPaths(PsiAnnotation annotation, FrameworkAnnotation descriptor) {
+        List<String> paths = new ArrayList<>();
+        for (String attribute : descriptor.getPathAttributes()) {
+            PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue(attribute);
+            PsiAnnotationMemberValue[] values = value instanceof PsiArrayInitializerMemberValue
+                    ? ((PsiArrayInitializerMemberValue) value).getInitializers()
+                    : new PsiAnnotationMemberValue[]{value};
+            for (PsiAnnotationMemberValue element : values) {
+                if (element instanceof PsiExpression) {
+                    Object constant = evaluate((PsiExpression) element);
+                    if (constant instanceof String) {
+                        paths.add((String) constant);
+                    }
+                }
+            }
+            if (!paths.isEmpty()) {
+                return paths;
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * 获取组合注解的框架映射，结果缓存在注解类上
+     */
+    @Nullable
+    private static MetaMapping findMetaMapping(PsiAnnotation annotation) {
+        PsiClass annotationClass = annotation.resolveAnnotationType();
+        return annotationClass != null ? getMetaMapping(annotationClass) : null;
+    }
+
+    @Nullable
+    private static MetaMapping getMetaMapping(PsiClass annotationClass) {
+        Project project = annotationClass.getProject();
+        return CachedValuesManager.getCachedValue(annotationClass, META_MAPPING_KEY, () -> CachedValueProvider.Result.create(
+                computeMetaMapping(annotationClass, FrameworkAnnotations.getInstance(project), new HashSet<>()),
+                PsiCacheUtil.getJavaStructureTracker(project),
+                ConfigSettings.getInstance(project).getAnalysisTracker()));
+    }
+
+    /**
+     * 在注解类的元注解中查找框架映射，支持多层组合
+     */
+    @Nullable
+    private static MetaMapping computeMetaMapping(PsiClass annotationClass, FrameworkAnnotations frameworkAnnotations,
+                                                  Set<String> visiting) {
+        String qualifiedName = annotationClass.getQualifiedName();
+        if (qualifiedName == null || qualifiedName.startsWith("java.") || !visiting.add(qualifiedName)) {
+            return null;
+        }
+
+        // 映射注解优先，如 @RestController + @RequestMapping("/admin") 组合时取 @RequestMapping
+        MetaMapping marker = null;
+        for (PsiAnnotation meta : annotationClass.getAnnotations()) {
+            FrameworkAnnotation descriptor = frameworkAnnotations.find(meta);
+            MetaMapping candidate = null;
+            if (descriptor != null) {
+                if (descriptor.getKind() == FrameworkAnnotation.Kind.MAPPING || descriptor.isClassMarker()) {
+                    candidate = new MetaMapping(descriptor, readPaths(meta, descriptor),
+                            FrameworkAnnotations.readHttpMethods(meta, descriptor));
+                }
+            } else {
+                PsiClass metaClass = meta.resolveAnnotationType();
+                candidate = metaClass != null ? computeMetaMapping(metaClass, frameworkAnnotations, visiting) : null;
+            }
+
+            if (candidate != null && candidate.getDescriptor().getKind() == FrameworkAnnotation.Kind.MAPPING) {
+                return candidate;
+            }
+            if (marker == null) {
+                marker = candidate;
+            }
+        }
+        return marker;
+    }
+
+    /**
+     * 计算常量表达式
+     * 字符串拼接逐项计算，引用的常量字段取缓存值，其他表达式交给常量计算工具
+     *
+     * @param expression 表达式
+     * @return 常量值，不是常量时返回null
+     */
+    @Nullable
+    public static Object evaluate(PsiExpression expression) {
+        if (expression instanceof PsiLiteralExpression) {
+            return ((PsiLiteralExpression) expression).getValue();
+        }
+        if (expression instanceof PsiParenthesizedExpression) {
+            PsiExpression inner = ((PsiParenthesizedExpression) expression).getExpression();
+            return inner != null ? evaluate(inner) : null;
+        }
+        if (expression instanceof PsiReferenceExpression) {
+            PsiElement target = ((PsiReferenceExpression) expression).resolve();
+            if (target instanceof PsiField) {
+                return getConstantValue((PsiField) target);
+            }
+            return null;
+        }
+        if (expression instanceof PsiPolyadicExpression
+                && ((PsiPolyadicExpression) expression).getOperationTokenType() == JavaTokenType.PLUS) {
+            StringBuilder result = new StringBuilder();
+            boolean concatenation = false;
+            for (PsiExpression operand : ((PsiPolyadicExpression) expression).getOperands()) {
+                Object value = evaluate(operand);
+                if (value == null) {
+                    return null;
+                }
+                concatenation |= value instanceof String;
+                result.append(value);
+            }
+            if (concatenation) {
+                return result.toString();
+            }
+        }
+        return JavaPsiFacade.getInstance(expression.getProject()).getConstantEvaluationHelper()
+                .computeConstantExpression(expression);
+    }
+
+    /**
+     * 获取常量字段的值，结果缓存在字段上
+     */
+    @Nullable
+    private static Object getConstantValue(PsiField field) {
+        if (!field.hasModifierProperty(PsiModifier.FINAL)) {
+            return null;
+        }
+        Project project = field.getProject();
+        return CachedValuesManager.getCachedValue(field, () -> CachedValueProvider.Result.create(
+                RecursionManager.doPreventingRecursion(field, false, () -> {
+                    // 源码字段逐项计算初始化表达式，以便复用其他常量的缓存；编译后的字段直接读取常量值
+                    PsiExpression initializer = field.getInitializer();
+                    return initializer != null ? evaluate(initializer) : field.computeConstantValue();
+                }),
+                PsiCacheUtil.getJavaStructureTracker(project)));
+    }
+}
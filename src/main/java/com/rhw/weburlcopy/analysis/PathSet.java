@@ -0,0 +1,122 @@
+package com.rhw.weburlcopy.analysis;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 请求路径集合
+ * 类级别和方法级别的映射都可以声明多个路径（如 value = {"/a", "/b"}），完整路径是两者的笛卡尔积。
+ * 只保存两侧的路径列表，完整路径在访问时拼接，占用的内存与两侧路径数之和成正比，而不是乘积
+ */
+public final class PathSet implements Iterable<String> {
+
+    private static final List<String> EMPTY = List.of("");
+
+    // 类级别路径，没有声明时为一个空路径
+    private final List<String> classPaths;
+
+    // 方法级别路径，没有声明时为一个空路径
+    private final List<String> methodPaths;
+
+    private PathSet(List<String> classPaths, List<String> methodPaths) {
+        this.classPaths = classPaths;
+        this.methodPaths = methodPaths;
+    }
+
+    /**
+     * 创建只包含一个完整路径的集合
+     *
+     * @param path 完整路径
+     * @return 路径集合
+     */
+    public static PathSet of(String path) {
+        return new PathSet(EMPTY, List.of(path));
+    }
+
+    /**
+     * 创建类路径和方法路径的笛卡尔积，重复的路径只保留一次
+     *
+     * @param classPaths 类级别路径，为空时视为没有类路径
+     * @param methodPaths 方法级别路径，为空时视为没有方法路径
+     * @return 路径集合
+     */
+    public static PathSet of(Collection<String> classPaths, Collection<String> methodPaths) {
+        return new PathSet(distinct(classPaths), distinct(methodPaths));
+    }
+
+    private static List<String> distinct(Collection<String> paths) {
+        return paths.isEmpty() ? EMPTY : List.copyOf(new LinkedHashSet<>(paths));
+    }
+
+    /**
+     * 完整路径的数量
+     *
+     * @return 路径数量
+     */
+    public int size() {
+        return classPaths.size() * methodPaths.size();
+    }
+
+    /**
+     * 获取指定位置的完整路径，按类路径优先的顺序排列
+     *
+     * @param index 位置
+     * @return 规范化后的完整路径
+     */
+    public String get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return PathTemplate.normalizePath(classPaths.get(index / methodPaths.size()),
+                methodPaths.get(index % methodPaths.size()));
+    }
+
+    /**
+     * 获取第一个完整路径，单个复制时使用
+     *
+     * @return 第一个完整路径
+     */
+    public String first() {
+        return get(0);
+    }
+
+    /**
+     * 获取所有路径模板中的路径变量名，不展开笛卡尔积
+     *
+     * @return 路径变量名，按出现顺序排列且不重复
+     */
+    public List<String> getPathVariableNames() {
+        LinkedHashSet<String> names = new LinkedHashSet<>();
+        for (String path : classPaths) {
+            names.addAll(PathTemplate.extractVariableNames(path));
+        }
+        for (String path : methodPaths) {
+            names.addAll(PathTemplate.extractVariableNames(path));
+        }
+        return new ArrayList<>(names);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size();
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(next++);
+            }
+        };
+    }
+}
@@ -0,0 +1,264 @@
+package com.rhw.weburlcopy.analysis;
+
+import com.intellij.util.containers.ContainerUtil;
+import com.rhw.weburlcopy.util.UrlEncodeUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 路径模板
+ * 将 /orders/{id:\d+}/items/{name} 这样的映射路径解析为字面量片段和带约束的变量，解析结果按模板文本缓存。
+ * 字面量片段在解析时完成编码，展开时只需依次写入片段和编码后的变量值，一次遍历完成
+ */
+public final class PathTemplate {
+
+    // 模板文本到解析结果的缓存，内存紧张时可回收
+    private static final Map<String, PathTemplate> CACHE = ContainerUtil.createConcurrentSoftValueMap();
+
+    /**
+     * 路径变量
+     */
+    public static final class Variable {
+
+        // 变量名
+        private final String name;
+
+        // 约束正则，没有声明时为null
+        private final String constraint;
+
+        // 编译后的约束，首次使用时编译
+        private volatile Pattern pattern;
+
+        private Variable(String name, @Nullable String constraint) {
+            this.name = name;
+            this.constraint = constraint;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Nullable
+        public String getConstraint() {
+            return constraint;
+        }
+
+        /**
+         * 判断值是否满足约束，没有约束或约束无法编译时总是满足
+         *
+         * @param value 变量值
+         * @return 满足约束时返回true
+         */
+        public boolean matches(String value) {
+            if (constraint == null) {
+                return true;
+            }
+            Pattern compiled = pattern;
+            if (compiled == null) {
+                try {
+                    compiled = Pattern.compile(constraint);
+                } catch (PatternSyntaxException e) {
+                    compiled = Pattern.compile(".*", Pattern.DOTALL);
+                }
+                pattern = compiled;
+            }
+            return compiled.matcher(value).matches();
+        }
+    }
+
+    // 模板文本
+    private final String template;
+
+    // 编码后的字面量片段，比变量多一个，第i个片段位于第i个变量之前
+    private final String[] literals;
+
+    // 路径变量，按出现顺序排列
+    private final Variable[] variables;
+
+    // 变量名，按出现顺序排列且不重复
+    private final List<String> variableNames;
+
+    private PathTemplate(String template) {
+        this.template = template;
+
+        List<String> literalList = new ArrayList<>();
+        List<Variable> variableList = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < template.length()) {
+            char c = template.charAt(i);
+            int end = c == '{' ? findClosingBrace(template, i) : -1;
+            if (end < 0) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+
+            // {name} 或 {name:regex}，正则中可以包含成对的花括号
+            String body = template.substring(i + 1, end);
+            int colon = body.indexOf(':');
+            String name = (colon >= 0 ? body.substring(0, colon) : body).trim();
+            if (name.isEmpty()) {
+                literal.append(template, i, end + 1);
+            } else {
+                literalList.add(UrlEncodeUtil.encodePath(literal.toString()));
+                literal.setLength(0);
+                variableList.add(new Variable(name, colon >= 0 ? body.substring(colon + 1) : null));
+                if (!names.contains(name)) {
+                    names.add(name);
+                }
+            }
+            i = end + 1;
+        }
+        literalList.add(UrlEncodeUtil.encodePath(literal.toString()));
+
+        this.literals = literalList.toArray(new String[0]);
+        this.variables = variableList.toArray(new Variable[0]);
+        this.variableNames = Collections.unmodifiableList(names);
+    }
+
+    /**
+     * 解析路径模板，相同文本只解析一次
+     *
+     * @param template 模板文本
+     * @return 路径模板
+     */
+    public static PathTemplate parse(String template) {
+        PathTemplate result = CACHE.get(template);
+        if (result == null) {
+            result = new PathTemplate(template);
+            CACHE.put(template, result);
+        }
+        return result;
+    }
+
+    /**
+     * 拼接并规范化类路径和方法路径
+     *
+     * @param classPath 类级别路径
+     * @param methodPath 方法级别路径
+     * @return 以斜杠开头的完整路径
+     */
+    public static String normalizePath(String classPath, String methodPath) {
+        // 一次遍历完成拼接、补全开头的斜杠和合并连续的斜杠
+        StringBuilder path = new StringBuilder(classPath.length() + methodPath.length() + 1);
+        path.append('/');
+        appendWithoutDuplicateSlashes(path, classPath);
+        appendWithoutDuplicateSlashes(path, methodPath);
+        return path.toString();
+    }
+
+    /**
+     * 从请求路径中提取所有的路径变量名
+     * {id:\d+} 这样带约束的变量只取变量名
+     *
+     * @param path 请求路径
+     * @return 只读的路径变量名列表
+     */
+    public static List<String> extractVariableNames(String path) {
+        if (path == null || path.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return parse(path).getVariableNames();
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public List<Variable> getVariables() {
+        return List.of(variables);
+    }
+
+    /**
+     * 获取变量名，不包含约束
+     *
+     * @return 按出现顺序排列且不重复的变量名
+     */
+    public List<String> getVariableNames() {
+        return variableNames;
+    }
+
+    public boolean hasVariables() {
+        return variables.length > 0;
+    }
+
+    public boolean startsWithSlash() {
+        return template.startsWith("/");
+    }
+
+    /**
+     * 展开模板，变量值按路径段编码，没有值的变量保留为 {name}
+     *
+     * @param values 变量名到值的映射
+     * @param out 输出
+     * @throws IOException 写入失败
+     */
+    public void expand(Map<String, String> values, Appendable out) throws IOException {
+        expand(values, out, false);
+    }
+
+    /**
+     * 展开模板，省略开头的斜杠，用于拼接在以斜杠结尾的前缀之后
+     *
+     * @param values 变量名到值的映射
+     * @param out 输出
+     * @throws IOException 写入失败
+     */
+    public void expandRelative(Map<String, String> values, Appendable out) throws IOException {
+        expand(values, out, true);
+    }
+
+    private void expand(Map<String, String> values, Appendable out, boolean relative) throws IOException {
+        String first = literals[0];
+        if (relative && first.startsWith("/")) {
+            out.append(first, 1, first.length());
+        } else {
+            out.append(first);
+        }
+        for (int i = 0; i < variables.length; i++) {
+            String value = values.get(variables[i].getName());
+            if (value != null) {
+                UrlEncodeUtil.appendPathSegment(out, value);
+            } else {
+                out.append('{').append(variables[i].getName()).append('}');
+            }
+            out.append(literals[i + 1]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    private static void appendWithoutDuplicateSlashes(StringBuilder path, String part) {
+        for (int i = 0; i < part.length(); i++) {
+            char c = part.charAt(i);
+            if (c != '/' || path.charAt(path.length() - 1) != '/') {
+                path.append(c);
+            }
+        }
+    }
+
+    private static int findClosingBrace(String template, int start) {
+        int depth = 0;
+        for (int i = start; i < template.length(); i++) {
+            char c = template.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
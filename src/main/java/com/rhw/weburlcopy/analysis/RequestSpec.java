@@ -0,0 +1,264 @@
+package com.rhw.weburlcopy.analysis;
+
+import com.rhw.weburlcopy.index.EndpointInfo;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * 请求描述
+ * 单个请求处理方法的分析结果，不可变，可在多种输出格式之间共享。
+ * 索引期间由语法分析生成的结果标记为近似，参数和请求体可能不完整。
+ * 声明了多个路径或HTTP方法的映射保存所有组合，单个复制使用第一个组合，批量导出展开为每个变体
+ */
+public final class RequestSpec {
+
+    /**
+     * 请求参数
+     */
+    public static final class Param {
+        private final String name;
+        private final EndpointInfo.ParamKind kind;
+        private final String defaultValue;
+
+        public Param(String name, EndpointInfo.ParamKind kind, String defaultValue) {
+            this.name = name;
+            this.kind = kind;
+            this.defaultValue = defaultValue;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public EndpointInfo.ParamKind getKind() {
+            return kind;
+        }
+
+        public String getDefaultValue() {
+            return defaultValue;
+        }
+    }
+
+    // 控制器全限定名，未知时为null
+    private final String className;
+
+    // 方法名
+    private final String methodName;
+
+    // HTTP方法
+    private final String httpMethod;
+
+    // 请求路径模板
+    private final String path;
+
+    // 映射声明的所有HTTP方法，第一个与httpMethod相同
+    private final List<String> httpMethods;
+
+    // 映射声明的所有路径，第一个与path相同
+    private final PathSet paths;
+
+    // 请求参数（不包含请求体）
+    private final List<Param> params;
+
+    // 参数名到默认值的映射，按参数顺序排列
+    private final Map<String, String> parameterValues;
+
+    // 请求体JSON，没有@RequestBody参数时为null
+    private final String body;
+
+    // 是否包含JSON请求体参数
+    private final boolean hasJsonParam;
+
+    // 是否包含被拆解的复杂对象参数
+    private final boolean hasComplexObjectParam;
+
+    // 是否为未解析引用的近似结果
+    private final boolean approximate;
+
+    public RequestSpec(@Nullable String className, String methodName, List<String> httpMethods, PathSet paths,
+                       List<Param> params, String body, boolean hasJsonParam, boolean hasComplexObjectParam,
+                       boolean approximate) {
+        this.className = className;
+        this.methodName = methodName;
+        this.httpMethods = List.copyOf(httpMethods);
+        this.paths = paths;
+        this.httpMethod = this.httpMethods.get(0);
+        this.path = paths.first();
+        this.params = Collections.unmodifiableList(params);
+        this.body = body;
+        this.hasJsonParam = hasJsonParam;
+        this.hasComplexObjectParam = hasComplexObjectParam;
+        this.approximate = approximate;
+
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Param param : params) {
+            values.put(param.getName(), param.getDefaultValue());
+        }
+        this.parameterValues = Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * 创建单个变体，共享参数和请求体
+     */
+    private RequestSpec(RequestSpec source, String methodName, String httpMethod, String path) {
+        this.className = source.className;
+        this.methodName = methodName;
+        this.httpMethod = httpMethod;
+        this.path = path;
+        this.httpMethods = List.of(httpMethod);
+        this.paths = PathSet.of(path);
+        this.params = source.params;
+        this.parameterValues = source.parameterValues;
+        this.body = source.body;
+        this.hasJsonParam = source.hasJsonParam;
+        this.hasComplexObjectParam = source.hasComplexObjectParam;
+        this.approximate = source.approximate;
+    }
+
+    /**
+     * 获取声明接口的控制器全限定名，用于按包匹配默认参数规则
+     *
+     * @return 控制器全限定名，未知时为null
+     */
+    @Nullable
+    public String getClassName() {
+        return className;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * 获取解析后的路径模板
+     *
+     * @return 路径模板
+     */
+    public PathTemplate getPathTemplate() {
+        return PathTemplate.parse(path);
+    }
+
+    public List<String> getHttpMethods() {
+        return httpMethods;
+    }
+
+    public PathSet getPaths() {
+        return paths;
+    }
+
+    /**
+     * 路径和HTTP方法组合的数量
+     *
+     * @return 变体数量
+     */
+    public int getVariantCount() {
+        return paths.size() * httpMethods.size();
+    }
+
+    /**
+     * 按需展开所有路径和HTTP方法的组合，每个变体只有一个路径和HTTP方法
+     * 第一个变体沿用方法名，其余变体在方法名后追加序号，以便生成的函数名不重复
+     *
+     * @return 变体，只有一个组合时只包含自身
+     */
+    public Iterable<RequestSpec> getVariants() {
+        if (getVariantCount() == 1) {
+            return List.of(this);
+        }
+        return () -> new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < getVariantCount();
+            }
+
+            @Override
+            public RequestSpec next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int index = next++;
+                String name = index == 0 ? methodName : methodName + "_" + (index + 1);
+                return new RequestSpec(RequestSpec.this, name, httpMethods.get(index % httpMethods.size()),
+                        paths.get(index / httpMethods.size()));
+            }
+        };
+    }
+
+    /**
+     * 按需展开多个请求描述的所有变体，不缓存展开结果
+     *
+     * @param specs 请求描述
+     * @return 所有变体
+     */
+    public static Iterable<RequestSpec> expand(Iterable<RequestSpec> specs) {
+        return () -> new Iterator<>() {
+            private final Iterator<RequestSpec> source = specs.iterator();
+            private Iterator<RequestSpec> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && source.hasNext()) {
+                    current = source.next().getVariants().iterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public RequestSpec next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    public List<Param> getParams() {
+        return params;
+    }
+
+    /**
+     * 获取参数名到默认值的只读映射
+     *
+     * @return 参数映射
+     */
+    public Map<String, String> getParameterValues() {
+        return parameterValues;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public boolean hasBody() {
+        return body != null;
+    }
+
+    public boolean hasJsonParam() {
+        return hasJsonParam;
+    }
+
+    public boolean hasComplexObjectParam() {
+        return hasComplexObjectParam;
+    }
+
+    public boolean isApproximate() {
+        return approximate;
+    }
+}
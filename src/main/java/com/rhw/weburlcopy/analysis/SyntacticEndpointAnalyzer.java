@@ -0,0 +1,456 @@
+package com.rhw.weburlcopy.analysis;
+
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationMemberValue;
+import com.intellij.psi.PsiArrayInitializerMemberValue;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiReferenceList;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.impl.source.PsiClassReferenceType;
+import com.rhw.weburlcopy.index.EndpointInfo;
+import com.rhw.weburlcopy.util.RequestUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 语法级接口分析器
+ * 只读取注解短名称、导入语句和字面量，不解析任何引用，传入内置注解表时可以在构建索引时安全调用。
+ * 用到的注解、导入、参数和类型信息都可以从存根读取，分析未打开的文件时不会加载语法树。
+ * 注解通过 {@link FrameworkAnnotations} 识别，判断规则与 {@link RequestUtil} 保持一致。
+ * 同样不依赖索引，IDE索引期间复制动作用它生成近似结果。
+ */
+public class SyntacticEndpointAnalyzer {
+
+    // 视为简单参数的类型文本
+    private static final Set<String> SIMPLE_TYPES = Set.of(
+            "boolean", "byte", "char", "double", "float", "int", "long", "short",
+            "String", "Boolean", "Integer", "Long", "Double", "Float",
+            "java.lang.String", "java.lang.Boolean", "java.lang.Integer",
+            "java.lang.Long", "java.lang.Double", "java.lang.Float");
+
+    // 未知注解中可能声明路径的属性，用于发现组合注解
+    private static final List<String> POSSIBLE_PATH_ATTRIBUTES = List.of("value", "path");
+
+    /**
+     * 按项目的注解表分析Java文件中的所有接口方法，结果与项目配置有关，不能用于构建索引
+     *
+     * @param file Java文件
+     * @return 接口列表
+     */
+    public static List<EndpointInfo> analyze(PsiJavaFile file) {
+        return analyze(file, FrameworkAnnotations.getInstance(file.getProject()));
+    }
+
+    /**
+     * 按指定的注解表分析Java文件中的所有接口方法
+     *
+     * @param file Java文件
+     * @param frameworkAnnotations 注解表，构建索引时只能使用 {@link FrameworkAnnotations#getBuiltIn()}
+     * @return 接口列表
+     */
+    public static List<EndpointInfo> analyze(PsiJavaFile file, FrameworkAnnotations frameworkAnnotations) {
+        List<EndpointInfo> result = new ArrayList<>();
+        for (PsiClass psiClass : file.getClasses()) {
+            collect(psiClass, frameworkAnnotations, result);
+        }
+        return result;
+    }
+
+    /**
+     * 分析单个方法，不解析任何引用
+     *
+     * @param method 方法
+     * @return 接口，方法不是接口时返回null
+     */
+    @Nullable
+    public static EndpointInfo analyzeMethod(PsiMethod method) {
+        PsiClass psiClass = method.getContainingClass();
+        String qualifiedName = psiClass != null ? psiClass.getQualifiedName() : null;
+        FrameworkAnnotations frameworkAnnotations = FrameworkAnnotations.getInstance(method.getProject());
+        if (qualifiedName == null || method.isConstructor()
+                || !isControllerClass(psiClass, frameworkAnnotations)
+                || !isRequestMethod(method, frameworkAnnotations)) {
+            return null;
+        }
+        List<String> classPaths = getPathsFromAnnotations(psiClass.getAnnotations(), frameworkAnnotations);
+        // 多路径或多HTTP方法的映射取第一个组合
+        return createEndpoints(qualifiedName, classPaths, method, frameworkAnnotations).get(0);
+    }
+
+    /**
+     * 分析单个类（不包含内部类），不解析任何引用
+     * 与 {@link #analyzeMethod} 一致，多路径或多HTTP方法的映射每个方法只取第一个组合
+     *
+     * @param psiClass 类
+     * @return 接口列表，不是控制器时为空
+     */
+    public static List<EndpointInfo> analyzeClass(PsiClass psiClass) {
+        String qualifiedName = psiClass.getQualifiedName();
+        FrameworkAnnotations frameworkAnnotations = FrameworkAnnotations.getInstance(psiClass.getProject());
+        if (qualifiedName == null || !isControllerClass(psiClass, frameworkAnnotations)) {
+            return List.of();
+        }
+
+        List<String> classPaths = getPathsFromAnnotations(psiClass.getAnnotations(), frameworkAnnotations);
+        List<EndpointInfo> result = new ArrayList<>();
+        for (PsiMethod method : psiClass.getMethods()) {
+            if (!method.isConstructor() && isRequestMethod(method, frameworkAnnotations)) {
+                result.add(createEndpoints(qualifiedName, classPaths, method, frameworkAnnotations).get(0));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 将语法分析结果转换为近似的请求描述
+     * 参数默认值按类型文本推断；请求体和复杂对象无法解析字段，请求体输出空对象，复杂对象不展开
+     *
+     * @param endpoint 接口
+     * @return 标记为近似的请求描述
+     */
+    public static RequestSpec toApproximateSpec(EndpointInfo endpoint) {
+        List<RequestSpec.Param> params = new ArrayList<>();
+        String body = null;
+        boolean hasComplexObjectParam = false;
+        for (EndpointInfo.ParamInfo param : endpoint.getParams()) {
+            switch (param.getKind()) {
+                case BODY:
+                    body = "{}";
+                    break;
+                case OBJECT:
+                    hasComplexObjectParam = true;
+                    break;
+                default:
+                    params.add(new RequestSpec.Param(param.getName(), param.getKind(),
+                            getDefaultValueForTypeText(param.getTypeText())));
+                    break;
+            }
+        }
+        return new RequestSpec(endpoint.getClassQualifiedName(), endpoint.getMethodName(),
+                List.of(endpoint.getHttpMethod()), PathSet.of(endpoint.getPath()), params, body,
+                body != null, hasComplexObjectParam && body == null, true);
+    }
+
+    /**
+     * 按类型文本推断参数默认值，与 {@link RequestUtil#getDefaultValueForType} 保持一致
+     */
+    private static String getDefaultValueForTypeText(String typeText) {
+        String simpleName = typeText.substring(typeText.lastIndexOf('.') + 1);
+        switch (simpleName) {
+            case "boolean":
+            case "Boolean":
+                return "false";
+            case "int":
+            case "Integer":
+            case "long":
+            case "Long":
+            case "short":
+            case "byte":
+                return "1";
+            case "double":
+            case "Double":
+            case "float":
+            case "Float":
+                return "1.0";
+            case "String":
+                return "x";
+            default:
+                return "";
+        }
+    }
+
+    private static void collect(PsiClass psiClass, FrameworkAnnotations frameworkAnnotations, List<EndpointInfo> result) {
+        String qualifiedName = psiClass.getQualifiedName();
+        if (qualifiedName != null && isControllerClass(psiClass, frameworkAnnotations)) {
+            List<String> classPaths = getPathsFromAnnotations(psiClass.getAnnotations(), frameworkAnnotations);
+            for (PsiMethod method : psiClass.getMethods()) {
+                if (!method.isConstructor() && isRequestMethod(method, frameworkAnnotations)) {
+                    result.addAll(createEndpoints(qualifiedName, classPaths, method, frameworkAnnotations));
+                }
+            }
+        }
+
+        for (PsiClass innerClass : psiClass.getInnerClasses()) {
+            collect(innerClass, frameworkAnnotations, result);
+        }
+    }
+
+    /**
+     * 判断是否为控制器类
+     */
+    public static boolean isControllerClass(PsiClass psiClass, FrameworkAnnotations frameworkAnnotations) {
+        for (PsiAnnotation annotation : psiClass.getAnnotations()) {
+            FrameworkAnnotation descriptor = frameworkAnnotations.findSyntactic(annotation);
+            if (descriptor != null && descriptor.isClassMarker()) {
+                return true;
+            }
+        }
+
+        String className = psiClass.getName();
+        if (className != null && (
+                className.contains("Controller") ||
+                className.contains("Resource") ||
+                className.contains("Api") ||
+                className.contains("Endpoint")
+        )) {
+            return true;
+        }
+
+        PsiReferenceList implementsList = psiClass.getImplementsList();
+        if (implementsList != null) {
+            // 引用类型来自存根，只取类名不做解析
+            for (PsiClassType type : implementsList.getReferencedTypes()) {
+                String name = type.getClassName();
+                if (name != null && (
+                        name.contains("Controller") ||
+                        name.contains("Resource") ||
+                        name.contains("Api")
+                )) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判断是否为请求处理方法（所在类已确认是控制器）
+     */
+    public static boolean isRequestMethod(PsiMethod method, FrameworkAnnotations frameworkAnnotations) {
+        PsiAnnotation[] annotations = method.getAnnotations();
+        if (annotations.length == 0) {
+            return true;
+        }
+
+        for (PsiAnnotation annotation : annotations) {
+            FrameworkAnnotation descriptor = frameworkAnnotations.findSyntactic(annotation);
+            if (descriptor != null && descriptor.getKind() == FrameworkAnnotation.Kind.MAPPING) {
+                return true;
+            }
+        }
+
+        return method.hasModifierProperty(PsiModifier.PUBLIC);
+    }
+
+    /**
+     * 生成方法的接口条目，多路径和多HTTP方法的映射为每个组合生成一条，以便按任意路径查找
+     */
+    private static List<EndpointInfo> createEndpoints(String classQualifiedName, List<String> classPaths, PsiMethod method,
+                                                      FrameworkAnnotations frameworkAnnotations) {
+        PathSet paths = PathSet.of(classPaths, getPathsFromAnnotations(method.getAnnotations(), frameworkAnnotations));
+        List<String> pathVars = paths.getPathVariableNames();
+
+        List<EndpointInfo.ParamInfo> params = new ArrayList<>();
+        boolean hasJsonParam = false;
+        boolean hasComplexObjectParam = false;
+
+        PsiParameter[] parameters = method.getParameterList().getParameters();
+        List<String> parameterTypes = new ArrayList<>(parameters.length);
+        for (PsiParameter param : parameters) {
+            String typeText = getTypeText(param);
+            parameterTypes.add(eraseTypeText(typeText));
+            PsiAnnotation pathVariable = findAnnotation(param, FrameworkAnnotation.Kind.PATH_VARIABLE, frameworkAnnotations);
+            if (pathVariable != null) {
+                String name = FrameworkAnnotations.readName(pathVariable);
+                params.add(new EndpointInfo.ParamInfo(name != null ? name : param.getName(),
+                        EndpointInfo.ParamKind.PATH, typeText));
+            } else if (pathVars.contains(param.getName())) {
+                params.add(new EndpointInfo.ParamInfo(param.getName(), EndpointInfo.ParamKind.PATH, typeText));
+            } else if (!SIMPLE_TYPES.contains(typeText)) {
+                if (findAnnotation(param, FrameworkAnnotation.Kind.REQUEST_BODY, frameworkAnnotations) != null) {
+                    params.add(new EndpointInfo.ParamInfo(param.getName(), EndpointInfo.ParamKind.BODY, typeText));
+                    hasJsonParam = true;
+                } else if (!typeText.startsWith("java.") && !"void".equals(typeText)) {
+                    params.add(new EndpointInfo.ParamInfo(param.getName(), EndpointInfo.ParamKind.OBJECT, typeText));
+                    hasComplexObjectParam = true;
+                }
+            } else {
+                PsiAnnotation requestParam = findAnnotation(param, FrameworkAnnotation.Kind.QUERY_PARAM, frameworkAnnotations);
+                String name = requestParam != null ? FrameworkAnnotations.readName(requestParam) : null;
+                params.add(new EndpointInfo.ParamInfo(name != null ? name : param.getName(),
+                        EndpointInfo.ParamKind.QUERY, typeText));
+            }
+        }
+
+        List<String> httpMethods = getHttpMethods(method, frameworkAnnotations);
+        if (httpMethods.isEmpty()) {
+            httpMethods = List.of(hasJsonParam || hasComplexObjectParam ? "POST" : "GET");
+        }
+
+        PsiClass containingClass = method.getContainingClass();
+        boolean exact = isExact(method.getAnnotations(), frameworkAnnotations)
+                && (containingClass == null || isExact(containingClass.getAnnotations(), frameworkAnnotations))
+                && !mayInheritMapping(method, containingClass, classPaths, frameworkAnnotations);
+
+        List<EndpointInfo> result = new ArrayList<>(paths.size() * httpMethods.size());
+        for (String path : paths) {
+            for (String httpMethod : httpMethods) {
+                result.add(new EndpointInfo(classQualifiedName, method.getName(), parameterTypes, httpMethod, path,
+                        params, exact));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 注解中的路径和HTTP方法能否只凭字面量确定
+     * 框架注解的路径属性不是字面量（常量表达式），或未知注解声明了像路径的 value/path（可能是组合注解）时返回false，
+     * 这些接口在可以解析引用时由 {@link MappingResolver} 重新计算。不带属性的组合注解无法从语法上发现
+     */
+    private static boolean isExact(PsiAnnotation[] annotations, FrameworkAnnotations frameworkAnnotations) {
+        for (PsiAnnotation annotation : annotations) {
+            FrameworkAnnotation descriptor = frameworkAnnotations.findSyntactic(annotation);
+            List<String> attributes = descriptor != null ? descriptor.getPathAttributes() : POSSIBLE_PATH_ATTRIBUTES;
+            for (String attribute : attributes) {
+                PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue(attribute);
+                if (value instanceof PsiArrayInitializerMemberValue) {
+                    PsiAnnotationMemberValue[] initializers = ((PsiArrayInitializerMemberValue) value).getInitializers();
+                    value = initializers.length > 0 ? initializers[0] : null;
+                }
+                if (value == null) {
+                    continue;
+                }
+                if (!(value instanceof PsiLiteralExpression)) {
+                    return false;
+                }
+                Object literal = ((PsiLiteralExpression) value).getValue();
+                if (descriptor == null && literal instanceof String && ((String) literal).startsWith("/")) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 映射是否可能继承自接口或父类
+     * 方法没有映射注解或类没有声明类路径，而类有父类或接口时，映射可能声明在父类型上，
+     * 这些接口在可以解析引用时由 {@link MappingHierarchy} 查找
+     */
+    private static boolean mayInheritMapping(PsiMethod method, PsiClass containingClass, List<String> classPaths,
+                                             FrameworkAnnotations frameworkAnnotations) {
+        if (containingClass == null || !hasSupertypes(containingClass)) {
+            return false;
+        }
+        if (classPaths.isEmpty()) {
+            return true;
+        }
+        for (PsiAnnotation annotation : method.getAnnotations()) {
+            FrameworkAnnotation descriptor = frameworkAnnotations.findSyntactic(annotation);
+            if (descriptor != null && descriptor.getKind() == FrameworkAnnotation.Kind.MAPPING) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 类是否声明了父类或接口，引用类型来自存根
+     */
+    private static boolean hasSupertypes(PsiClass psiClass) {
+        return psiClass.getExtendsListTypes().length > 0 || psiClass.getImplementsListTypes().length > 0;
+    }
+
+    /**
+     * 从映射注解推断所有HTTP方法，无法推断时为空
+     */
+    private static List<String> getHttpMethods(PsiMethod method, FrameworkAnnotations frameworkAnnotations) {
+        for (PsiAnnotation annotation : method.getAnnotations()) {
+            FrameworkAnnotation descriptor = frameworkAnnotations.findSyntactic(annotation);
+            if (descriptor != null && descriptor.getKind() == FrameworkAnnotation.Kind.MAPPING) {
+                List<String> httpMethods = FrameworkAnnotations.readHttpMethods(annotation, descriptor);
+                if (!httpMethods.isEmpty()) {
+                    return httpMethods;
+                }
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * 从注解中读取所有路径，只接受字面量，没有声明时为空
+     */
+    private static List<String> getPathsFromAnnotations(PsiAnnotation[] annotations, FrameworkAnnotations frameworkAnnotations) {
+        for (PsiAnnotation annotation : annotations) {
+            FrameworkAnnotation descriptor = frameworkAnnotations.findSyntactic(annotation);
+            if (descriptor != null) {
+                List<String> paths = FrameworkAnnotations.readPaths(annotation, descriptor);
+                if (!paths.isEmpty()) {
+                    return paths;
+                }
+            }
+        }
+        return List.of();
+    }
+
+    private static PsiAnnotation findAnnotation(PsiParameter param, FrameworkAnnotation.Kind kind,
+                                                FrameworkAnnotations frameworkAnnotations) {
+        for (PsiAnnotation annotation : param.getAnnotations()) {
+            FrameworkAnnotation descriptor = frameworkAnnotations.findSyntactic(annotation);
+            if (descriptor != null && descriptor.getKind() == kind) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取方法参数擦除后的类型写法，与索引中记录的一致，不解析任何引用
+     *
+     * @param method 方法
+     * @return 参数类型列表，如 [List, String[]]
+     */
+    public static List<String> getParameterTypes(PsiMethod method) {
+        PsiParameter[] parameters = method.getParameterList().getParameters();
+        List<String> result = new ArrayList<>(parameters.length);
+        for (PsiParameter param : parameters) {
+            result.add(eraseTypeText(getTypeText(param)));
+        }
+        return result;
+    }
+
+    /**
+     * 去掉类型写法中的泛型参数、包名和空白，保留数组维度
+     * 全限定写法和短名称写法得到相同的结果，同一方法在源码和索引中总能对上
+     */
+    private static String eraseTypeText(String typeText) {
+        StringBuilder erased = new StringBuilder(typeText.length());
+        int depth = 0;
+        for (int i = 0; i < typeText.length(); i++) {
+            char c = typeText.charAt(i);
+            if (c == '<') {
+                depth++;
+            } else if (c == '>') {
+                depth--;
+            } else if (depth == 0 && !Character.isWhitespace(c)) {
+                erased.append(c);
+            }
+        }
+        int dimensions = erased.indexOf("[");
+        String name = dimensions >= 0 ? erased.substring(0, dimensions) : erased.toString();
+        String suffix = dimensions >= 0 ? erased.substring(dimensions) : "";
+        return name.substring(name.lastIndexOf('.') + 1) + suffix;
+    }
+
+    /**
+     * 获取参数类型的源码写法
+     * 类型由存根中的类型文本创建，引用文本来自游离的引用元素，未打开的文件不会因此加载语法树，也不解析引用
+     */
+    private static String getTypeText(PsiParameter param) {
+        PsiType type = param.getType();
+        PsiType componentType = type.getDeepComponentType();
+        String text = componentType instanceof PsiClassReferenceType
+                ? ((PsiClassReferenceType) componentType).getReference().getText()
+                : componentType.getPresentableText();
+        return type.getArrayDimensions() > 0 ? text + "[]".repeat(type.getArrayDimensions()) : text;
+    }
+}
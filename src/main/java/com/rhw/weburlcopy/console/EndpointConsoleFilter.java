@@ -0,0 +1,166 @@
+package com.rhw.weburlcopy.console;
+
+import com.intellij.execution.filters.Filter;
+import com.intellij.execution.filters.HyperlinkInfo;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiMethod;
+import com.rhw.weburlcopy.action.FindEndpointByUrlAction;
+import com.rhw.weburlcopy.index.EndpointInfo;
+import com.rhw.weburlcopy.model.ConfigSettings;
+import com.rhw.weburlcopy.model.SettingsSnapshot;
+import com.rhw.weburlcopy.route.EndpointModel;
+import com.rhw.weburlcopy.route.PrefixAutomaton;
+import com.rhw.weburlcopy.route.RouteUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 接口URL控制台过滤器
+ * 用一个多前缀自动机一遍扫描每行输出，只在出现已配置环境的URL前缀或上下文路径时才截取路径并查询接口模型，
+ * 没有命中的行不分配任何对象，可以跟上高频的请求日志输出
+ */
+public class EndpointConsoleFilter implements Filter {
+
+    private final Project project;
+
+    private final PrefixAutomaton automaton;
+
+    private EndpointConsoleFilter(Project project, PrefixAutomaton automaton) {
+        this.project = project;
+        this.automaton = automaton;
+    }
+
+    /**
+     * 根据当前环境配置创建过滤器
+     *
+     * @param project 当前项目
+     * @return 过滤器，没有可识别的前缀时返回null
+     */
+    @Nullable
+    public static EndpointConsoleFilter create(Project project) {
+        List<String> prefixes = new ArrayList<>();
+        for (SettingsSnapshot.Environment config : ConfigSettings.getInstance(project).getSnapshot().getEnvironments()) {
+            // 完整前缀（协议+主机+上下文路径）
+            prefixes.add(trimTrailingSlash(config.getFullUrlPrefix()));
+            // 不带主机的上下文路径，如Spring请求日志中的 "/app/users"
+            String contextPath = trimTrailingSlash(config.getContextPath());
+            if (contextPath.length() > 1) {
+                prefixes.add(contextPath.startsWith("/") ? contextPath : "/" + contextPath);
+            }
+        }
+
+        PrefixAutomaton automaton = new PrefixAutomaton(prefixes);
+        return automaton.isEmpty() ? null : new EndpointConsoleFilter(project, automaton);
+    }
+
+    @Override
+    public @Nullable Result applyFilter(@NotNull String line, int entireLength) {
+        if (project.isDisposed()) {
+            return null;
+        }
+
+        int lineStart = entireLength - line.length();
+        List<ResultItem> items = null;
+        EndpointModel model = null;
+
+        int state = automaton.initialState();
+        int length = line.length();
+        for (int i = 0; i < length; i++) {
+            state = automaton.step(state, line.charAt(i));
+            int pattern = automaton.getMatch(state);
+            if (pattern < 0) {
+                continue;
+            }
+
+            // 前缀前后都必须是URL边界
+            int start = i + 1 - automaton.getPatternLength(pattern);
+            int pathStart = i + 1;
+            if ((start > 0 && !isDelimiter(line.charAt(start - 1)))
+                    || (pathStart < length && !isPathStart(line.charAt(pathStart)))) {
+                continue;
+            }
+
+            int urlEnd = pathStart;
+            int pathEnd = -1;
+            while (urlEnd < length && !isDelimiter(line.charAt(urlEnd))) {
+                char c = line.charAt(urlEnd);
+                if (pathEnd < 0 && (c == '?' || c == '#')) {
+                    pathEnd = urlEnd;
+                }
+                urlEnd++;
+            }
+            if (pathEnd < 0) {
+                pathEnd = urlEnd;
+            }
+
+            if (model == null) {
+                model = EndpointModel.getInstance(project);
+                if (!model.isAvailable()) {
+                    // 不在输出线程中加载，加载完成后的输出才会带链接
+                    model.loadInBackground();
+                    return null;
+                }
+            }
+            List<EndpointInfo> endpoints = model.matchLoaded(pathStart < pathEnd ? line.substring(pathStart, pathEnd) : "/");
+            if (endpoints.isEmpty()) {
+                continue;
+            }
+
+            if (items == null) {
+                items = new ArrayList<>(1);
+            }
+            items.add(new ResultItem(lineStart + start, lineStart + urlEnd, new EndpointHyperlinkInfo(endpoints)));
+            i = urlEnd - 1;
+            state = automaton.initialState();
+        }
+        return items != null ? new Result(items) : null;
+    }
+
+    /**
+     * URL前后的分隔字符
+     */
+    private static boolean isDelimiter(char c) {
+        return Character.isWhitespace(c) || c == '"' || c == '\'' || c == '`' || c == '<' || c == '>'
+                || c == '(' || c == ')' || c == '[' || c == ']' || c == ',' || c == ';' || c == '=';
+    }
+
+    /**
+     * 前缀之后紧跟的字符是否表示路径开始
+     */
+    private static boolean isPathStart(char c) {
+        return c == '/' || c == '?' || c == '#' || isDelimiter(c);
+    }
+
+    private static String trimTrailingSlash(String path) {
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    /**
+     * 跳转到接口方法的链接
+     */
+    private static final class EndpointHyperlinkInfo implements HyperlinkInfo {
+
+        private final List<EndpointInfo> endpoints;
+
+        private EndpointHyperlinkInfo(List<EndpointInfo> endpoints) {
+            this.endpoints = endpoints;
+        }
+
+        @Override
+        public void navigate(@NotNull Project project) {
+            Set<PsiMethod> methods = new LinkedHashSet<>();
+            for (EndpointInfo endpoint : endpoints) {
+                PsiMethod method = RouteUtil.findMethod(project, endpoint);
+                if (method != null) {
+                    methods.add(method);
+                }
+            }
+            FindEndpointByUrlAction.navigate(project, endpoints.get(0).getPath(), new ArrayList<>(methods));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.rhw.weburlcopy.console;
+
+import com.intellij.execution.filters.ConsoleFilterProvider;
+import com.intellij.execution.filters.Filter;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 控制台过滤器提供者
+ * 为运行输出中的请求URL添加跳转到请求处理方法的链接
+ */
+public class EndpointConsoleFilterProvider implements ConsoleFilterProvider {
+
+    @Override
+    public Filter @NotNull [] getDefaultFilters(@NotNull Project project) {
+        EndpointConsoleFilter filter = EndpointConsoleFilter.create(project);
+        return filter != null ? new Filter[]{filter} : Filter.EMPTY_ARRAY;
+    }
+}
@@ -0,0 +1,164 @@
+package com.rhw.weburlcopy.export;
+
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.FileTypeIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.rhw.weburlcopy.analysis.FrameworkAnnotations;
+import com.rhw.weburlcopy.analysis.RequestSpec;
+import com.rhw.weburlcopy.index.EndpointIndex;
+import com.rhw.weburlcopy.index.EndpointIndexUtil;
+import com.rhw.weburlcopy.util.RequestUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 批量导出工具类
+ * 通过接口索引找到范围内的控制器文件，并行分析后按文件路径顺序合并结果
+ */
+public class EndpointExporter {
+
+    // 每批并行分析的文件数
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * 查找范围内包含接口的文件，按路径排序
+     * 只遍历一次范围内的Java文件，逐个读取文件在接口索引中的数据，查询次数与文件数有关，与路由数量无关。
+     * 需要在智能模式的读操作中调用
+     *
+     * @param project 当前项目
+     * @param scope 搜索范围
+     * @return 控制器文件列表
+     */
+    public static List<VirtualFile> findControllerFiles(Project project, GlobalSearchScope scope) {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        // 只用自定义注解声明接口的文件不在接口索引中
+        Set<VirtualFile> customAnnotationFiles = EndpointIndexUtil.findCustomAnnotationFiles(project, scope,
+                FrameworkAnnotations.getInstance(project));
+        List<VirtualFile> result = new ArrayList<>();
+        FileTypeIndex.processFiles(JavaFileType.INSTANCE, file -> {
+            ProgressManager.checkCanceled();
+            if (customAnnotationFiles.contains(file) || !index.getFileData(EndpointIndex.NAME, file, project).isEmpty()) {
+                result.add(file);
+            }
+            return true;
+        }, scope);
+
+        result.sort(Comparator.comparing(VirtualFile::getPath));
+        return result;
+    }
+
+    /**
+     * 按需分析文件中的所有接口
+     * 每次取一批文件并行分析，每个文件在独立的可中断读操作中完成，写操作到来时让出读锁并在之后重新分析该文件，
+     * 取消导出时立即结束。批内结果按文件顺序合并，保证输出稳定。
+     * 任意时刻只持有当前一批的结果，导出大量接口时内存占用保持恒定。
+     *
+     * @param project 当前项目
+     * @param files 控制器文件
+     * @param indicator 进度指示器
+     * @return 请求描述，只能在后台线程中迭代
+     */
+    public static Iterable<RequestSpec> streamSpecs(Project project, List<VirtualFile> files, ProgressIndicator indicator) {
+        indicator.setIndeterminate(false);
+        return () -> new Iterator<>() {
+            private int nextFile = 0;
+            private Iterator<RequestSpec> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && nextFile < files.size()) {
+                    int end = Math.min(nextFile + BATCH_SIZE, files.size());
+                    current = analyzeFiles(project, files.subList(nextFile, end), indicator).iterator();
+                    nextFile = end;
+                    indicator.setFraction((double) nextFile / files.size());
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public RequestSpec next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    /**
+     * 并行分析一批文件
+     */
+    private static List<RequestSpec> analyzeFiles(Project project, List<VirtualFile> files, ProgressIndicator indicator) {
+        AtomicReferenceArray<List<RequestSpec>> results = new AtomicReferenceArray<>(files.size());
+        List<Integer> positions = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            positions.add(i);
+        }
+
+        boolean completed = JobLauncher.getInstance().invokeConcurrentlyUnderProgress(positions, indicator, position -> {
+            VirtualFile file = files.get(position);
+            indicator.setText2(file.getName());
+            results.set(position, ReadAction.nonBlocking(() -> analyzeFile(project, file))
+                    .inSmartMode(project)
+                    .expireWith(project)
+                    .executeSynchronously());
+            return true;
+        });
+        if (!completed) {
+            indicator.checkCanceled();
+        }
+
+        List<RequestSpec> specs = new ArrayList<>();
+        for (int i = 0; i < results.length(); i++) {
+            List<RequestSpec> fileSpecs = results.get(i);
+            if (fileSpecs != null) {
+                specs.addAll(fileSpecs);
+            }
+        }
+        return specs;
+    }
+
+    /**
+     * 分析单个文件中所有控制器类的接口
+     */
+    private static List<RequestSpec> analyzeFile(Project project, VirtualFile file) {
+        List<RequestSpec> specs = new ArrayList<>();
+        if (!file.isValid()) {
+            return specs;
+        }
+
+        PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        if (psiFile instanceof PsiJavaFile) {
+            for (PsiClass psiClass : ((PsiJavaFile) psiFile).getClasses()) {
+                collectClass(psiClass, specs);
+            }
+        }
+        return specs;
+    }
+
+    private static void collectClass(PsiClass psiClass, List<RequestSpec> specs) {
+        ProgressManager.checkCanceled();
+        specs.addAll(RequestUtil.getRequestSpecs(psiClass));
+        for (PsiClass innerClass : psiClass.getInnerClasses()) {
+            collectClass(innerClass, specs);
+        }
+    }
+}
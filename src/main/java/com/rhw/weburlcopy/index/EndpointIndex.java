@@ -0,0 +1,138 @@
+package com.rhw.weburlcopy.index;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import com.rhw.weburlcopy.analysis.FrameworkAnnotations;
+import com.rhw.weburlcopy.analysis.SyntacticEndpointAnalyzer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 接口索引
+ * 以请求路径为键，记录每个Java文件中的接口方法，避免每次右键都重新遍历PSI。
+ * 索引在项目间共享，只能依赖文件内容：接口只按内置注解分析，用到项目自定义注解的文件在查询时由
+ * {@link EndpointIndexUtil} 通过平台的注解存根索引找到并重新分析，这里不为其他注解单独记录键
+ */
+public class EndpointIndex extends FileBasedIndexExtension<String, List<EndpointInfo>> {
+
+    public static final ID<String, List<EndpointInfo>> NAME = ID.create("com.rhw.weburlcopy.EndpointIndex");
+
+    private static final EndpointInfo.ParamKind[] PARAM_KINDS = EndpointInfo.ParamKind.values();
+
+    @Override
+    public @NotNull ID<String, List<EndpointInfo>> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, List<EndpointInfo>, FileContent> getIndexer() {
+        return inputData -> {
+            PsiFile psiFile = inputData.getPsiFile();
+            if (!(psiFile instanceof PsiJavaFile)) {
+                return Collections.emptyMap();
+            }
+
+            PsiJavaFile javaFile = (PsiJavaFile) psiFile;
+            Map<String, List<EndpointInfo>> result = new HashMap<>();
+            for (EndpointInfo endpoint : SyntacticEndpointAnalyzer.analyze(javaFile, FrameworkAnnotations.getBuiltIn())) {
+                result.computeIfAbsent(endpoint.getPath(), key -> new ArrayList<>()).add(endpoint);
+            }
+            return result;
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<List<EndpointInfo>> getValueExternalizer() {
+        return new DataExternalizer<>() {
+            @Override
+            public void save(@NotNull DataOutput out, List<EndpointInfo> value) throws IOException {
+                DataInputOutputUtil.writeINT(out, value.size());
+                for (EndpointInfo endpoint : value) {
+                    IOUtil.writeUTF(out, endpoint.getClassQualifiedName());
+                    IOUtil.writeUTF(out, endpoint.getMethodName());
+                    DataInputOutputUtil.writeINT(out, endpoint.getParameterCount());
+                    for (String parameterType : endpoint.getParameterTypes()) {
+                        IOUtil.writeUTF(out, parameterType);
+                    }
+                    IOUtil.writeUTF(out, endpoint.getHttpMethod());
+                    IOUtil.writeUTF(out, endpoint.getPath());
+                    DataInputOutputUtil.writeINT(out, endpoint.getParams().size());
+                    for (EndpointInfo.ParamInfo param : endpoint.getParams()) {
+                        IOUtil.writeUTF(out, param.getName());
+                        DataInputOutputUtil.writeINT(out, param.getKind().ordinal());
+                        IOUtil.writeUTF(out, param.getTypeText());
+                    }
+                    out.writeBoolean(endpoint.isExact());
+                }
+            }
+
+            @Override
+            public List<EndpointInfo> read(@NotNull DataInput in) throws IOException {
+                int size = DataInputOutputUtil.readINT(in);
+                List<EndpointInfo> result = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    String classQualifiedName = IOUtil.readUTF(in);
+                    String methodName = IOUtil.readUTF(in);
+                    int parameterCount = DataInputOutputUtil.readINT(in);
+                    List<String> parameterTypes = new ArrayList<>(parameterCount);
+                    for (int j = 0; j < parameterCount; j++) {
+                        parameterTypes.add(IOUtil.readUTF(in));
+                    }
+                    String httpMethod = IOUtil.readUTF(in);
+                    String path = IOUtil.readUTF(in);
+                    int paramSize = DataInputOutputUtil.readINT(in);
+                    List<EndpointInfo.ParamInfo> params = new ArrayList<>(paramSize);
+                    for (int j = 0; j < paramSize; j++) {
+                        String name = IOUtil.readUTF(in);
+                        EndpointInfo.ParamKind kind = PARAM_KINDS[DataInputOutputUtil.readINT(in)];
+                        params.add(new EndpointInfo.ParamInfo(name, kind, IOUtil.readUTF(in)));
+                    }
+                    boolean exact = in.readBoolean();
+                    result.add(new EndpointInfo(classQualifiedName, methodName, parameterTypes, httpMethod, path,
+                            params, exact));
+                }
+                return result;
+            }
+        };
+    }
+
+    @Override
+    public int getVersion() {
+        return 9;
+    }
+
+    @Override
+    public @NotNull FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+}
@@ -0,0 +1,169 @@
+package com.rhw.weburlcopy.index;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.impl.java.stubs.index.JavaStubIndexKeys;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.rhw.weburlcopy.analysis.FrameworkAnnotations;
+import com.rhw.weburlcopy.analysis.SyntacticEndpointAnalyzer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 接口索引查询工具类
+ * 索引不可用（索引中、文件不在项目内容中）时返回null，由调用方回退到PSI分析。
+ * 索引只按内置注解分析，项目配置了自定义注解时，用到这些注解的文件在查询时按项目的注解表重新分析
+ */
+public class EndpointIndexUtil {
+
+    /**
+     * 获取文件中的所有接口
+     *
+     * @param project 当前项目
+     * @param file 文件
+     * @return 接口列表，索引不可用时返回null
+     */
+    @Nullable
+    public static List<EndpointInfo> getFileEndpoints(Project project, VirtualFile file) {
+        if (file == null || DumbService.isDumb(project)
+                || !ProjectFileIndex.getInstance(project).isInContent(file)) {
+            return null;
+        }
+
+        // 只用自定义注解声明的接口不在索引中，先检查自定义注解
+        FrameworkAnnotations frameworkAnnotations = FrameworkAnnotations.getInstance(project);
+        if (usesCustomAnnotations(project, file, frameworkAnnotations)) {
+            PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+            return psiFile instanceof PsiJavaFile
+                    ? SyntacticEndpointAnalyzer.analyze((PsiJavaFile) psiFile, frameworkAnnotations)
+                    : Collections.emptyList();
+        }
+
+        Map<String, List<EndpointInfo>> data = FileBasedIndex.getInstance().getFileData(EndpointIndex.NAME, file, project);
+        List<EndpointInfo> result = new ArrayList<>();
+        for (List<EndpointInfo> endpoints : data.values()) {
+            result.addAll(endpoints);
+        }
+        return result;
+    }
+
+    /**
+     * 文件中是否用到了项目的自定义注解
+     *
+     * @param project 当前项目
+     * @param file 文件
+     * @param frameworkAnnotations 项目的注解表
+     * @return 用到自定义注解时返回true
+     */
+    public static boolean usesCustomAnnotations(Project project, VirtualFile file, FrameworkAnnotations frameworkAnnotations) {
+        return !frameworkAnnotations.getCustomShortNames().isEmpty()
+                && !findCustomAnnotationFiles(project, GlobalSearchScope.fileScope(project, file), frameworkAnnotations).isEmpty();
+    }
+
+    /**
+     * 查找范围内用到项目自定义注解的文件
+     * 按短名称查询平台的注解存根索引，查询次数只与自定义注解的数量有关，需要在智能模式的读操作中调用
+     *
+     * @param project 当前项目
+     * @param scope 搜索范围
+     * @param frameworkAnnotations 项目的注解表
+     * @return 文件集合，没有自定义注解时为空
+     */
+    public static Set<VirtualFile> findCustomAnnotationFiles(Project project, GlobalSearchScope scope,
+                                                             FrameworkAnnotations frameworkAnnotations) {
+        Set<VirtualFile> result = new HashSet<>();
+        for (String shortName : frameworkAnnotations.getCustomShortNames()) {
+            StubIndex.getInstance().processElements(JavaStubIndexKeys.ANNOTATIONS, shortName, project, scope,
+                    PsiAnnotation.class, annotation -> {
+                        VirtualFile file = annotation.getContainingFile().getVirtualFile();
+                        if (file != null) {
+                            result.add(file);
+                        }
+                        return true;
+                    });
+        }
+        return result;
+    }
+
+    /**
+     * 获取类中的所有接口
+     *
+     * @param psiClass 类
+     * @return 接口列表，索引不可用时返回null
+     */
+    @Nullable
+    public static List<EndpointInfo> getClassEndpoints(PsiClass psiClass) {
+        String qualifiedName = psiClass.getQualifiedName();
+        PsiFile psiFile = psiClass.getContainingFile();
+        if (qualifiedName == null || psiFile == null) {
+            return null;
+        }
+
+        List<EndpointInfo> fileEndpoints = getFileEndpoints(psiClass.getProject(), psiFile.getVirtualFile());
+        if (fileEndpoints == null) {
+            return null;
+        }
+
+        List<EndpointInfo> result = new ArrayList<>();
+        for (EndpointInfo endpoint : fileEndpoints) {
+            if (qualifiedName.equals(endpoint.getClassQualifiedName())) {
+                result.add(endpoint);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 在接口列表中查找与方法对应的条目
+     *
+     * @param endpoints 所在类的接口列表
+     * @param method 方法
+     * @return 对应的接口，不存在时返回null
+     */
+    @Nullable
+    public static EndpointInfo findEndpoint(List<EndpointInfo> endpoints, PsiMethod method) {
+        String name = method.getName();
+        List<String> parameterTypes = null;
+        for (EndpointInfo endpoint : endpoints) {
+            if (!name.equals(endpoint.getMethodName())) {
+                continue;
+            }
+            if (parameterTypes == null) {
+                parameterTypes = SyntacticEndpointAnalyzer.getParameterTypes(method);
+            }
+            if (parameterTypes.equals(endpoint.getParameterTypes())) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 判断方法是否为接口对应的方法，按方法名和擦除后的参数类型比较，重载方法不会混淆
+     *
+     * @param endpoint 接口
+     * @param method 方法
+     * @return 对应时返回true
+     */
+    public static boolean matches(EndpointInfo endpoint, PsiMethod method) {
+        return endpoint.getMethodName().equals(method.getName())
+                && endpoint.getParameterCount() == method.getParameterList().getParametersCount()
+                && endpoint.getParameterTypes().equals(SyntacticEndpointAnalyzer.getParameterTypes(method));
+    }
+}
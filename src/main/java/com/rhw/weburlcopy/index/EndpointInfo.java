@@ -0,0 +1,159 @@
+package com.rhw.weburlcopy.index;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 接口索引条目
+ * 记录单个请求处理方法的控制器类、HTTP方法、完整路径以及参数形态
+ */
+public final class EndpointInfo {
+
+    /**
+     * 参数种类
+     */
+    public enum ParamKind {
+        /** 路径变量 */
+        PATH,
+        /** 查询/表单参数 */
+        QUERY,
+        /** 请求体（@RequestBody） */
+        BODY,
+        /** 拆解为多个参数的复杂对象 */
+        OBJECT
+    }
+
+    /**
+     * 参数形态
+     */
+    public static final class ParamInfo {
+        private final String name;
+        private final ParamKind kind;
+        private final String typeText;
+
+        public ParamInfo(String name, ParamKind kind, String typeText) {
+            this.name = name;
+            this.kind = kind;
+            this.typeText = typeText;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public ParamKind getKind() {
+            return kind;
+        }
+
+        public String getTypeText() {
+            return typeText;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ParamInfo)) return false;
+            ParamInfo that = (ParamInfo) o;
+            return name.equals(that.name) && kind == that.kind && typeText.equals(that.typeText);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, kind, typeText);
+        }
+    }
+
+    // 控制器类的全限定名
+    private final String classQualifiedName;
+
+    // 方法名
+    private final String methodName;
+
+    // 擦除泛型和包名后的参数类型写法，如 List、String[]，用于区分重载方法
+    private final List<String> parameterTypes;
+
+    // HTTP方法
+    private final String httpMethod;
+
+    // 类路径与方法路径拼接后的完整路径
+    private final String path;
+
+    // 参数形态
+    private final List<ParamInfo> params;
+
+    // 路径和HTTP方法是否确定；为false时注解中有常量表达式或组合注解，需要解析引用才能得到准确值
+    private final boolean exact;
+
+    public EndpointInfo(String classQualifiedName, String methodName, List<String> parameterTypes,
+                        String httpMethod, String path, List<ParamInfo> params) {
+        this(classQualifiedName, methodName, parameterTypes, httpMethod, path, params, true);
+    }
+
+    public EndpointInfo(String classQualifiedName, String methodName, List<String> parameterTypes,
+                        String httpMethod, String path, List<ParamInfo> params, boolean exact) {
+        this.classQualifiedName = classQualifiedName;
+        this.methodName = methodName;
+        this.parameterTypes = Collections.unmodifiableList(parameterTypes);
+        this.httpMethod = httpMethod;
+        this.path = path;
+        this.params = Collections.unmodifiableList(params);
+        this.exact = exact;
+    }
+
+    public String getClassQualifiedName() {
+        return classQualifiedName;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public List<String> getParameterTypes() {
+        return parameterTypes;
+    }
+
+    public int getParameterCount() {
+        return parameterTypes.size();
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public List<ParamInfo> getParams() {
+        return params;
+    }
+
+    public boolean isExact() {
+        return exact;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EndpointInfo)) return false;
+        EndpointInfo that = (EndpointInfo) o;
+        return exact == that.exact
+                && classQualifiedName.equals(that.classQualifiedName)
+                && methodName.equals(that.methodName)
+                && parameterTypes.equals(that.parameterTypes)
+                && httpMethod.equals(that.httpMethod)
+                && path.equals(that.path)
+                && params.equals(that.params);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(classQualifiedName, methodName, parameterTypes, httpMethod, path, params, exact);
+    }
+
+    @Override
+    public String toString() {
+        return httpMethod + " " + path + " -> " + classQualifiedName + "#" + methodName;
+    }
+}
@@ -4,18 +4,24 @@ import com.intellij.openapi.components.PersistentStateComponent;
 import com.intellij.openapi.components.State;
 import com.intellij.openapi.components.Storage;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
+import com.intellij.util.xmlb.annotations.Transient;
 import com.intellij.util.xmlb.XmlSerializerUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * 配置持久化类
- * 管理URL配置、请求头和默认参数设置
+ * 管理URL配置、请求头、默认参数和默认参数规则设置。
+ * 每次修改后发布新的只读 {@link SettingsSnapshot}，后台读取配置时使用快照，不直接访问这里的可变集合。
+ * 标记为密文的请求头只持久化名称，值保存在IDE凭据存储中，由 {@link SecretHeaderStore} 读取后填入快照
  * 
  * @author renhao.wang
  * @since 2023-03-22
@@ -32,21 +38,56 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
     // 当前选中配置的ID
     private String activeConfigId;
     
-    // 请求头映射
+    // 请求头映射，密文请求头的值为空字符串
     private Map<String, String> headers = new HashMap<>();
     
+    // 密文请求头名称
+    private List<String> secretHeaders = new ArrayList<>();
+    
+    // 已从凭据存储读取的密文请求头的值，键见 SecretHeaderStore#secretKey，不持久化
+    private volatile Map<String, String> secretValues = Map.of();
+    
     // 默认参数映射
     private Map<String, String> defaultParameters = new HashMap<>();
     
+    // 按路径、HTTP方法和控制器包生效的默认参数规则
+    private List<DefaultParameterRule> defaultParameterRules = new ArrayList<>();
+    
+    // 嵌套对象展开的最大深度
+    private int maxSchemaDepth = 5;
+    
+    // 自定义框架注解，注解全限定名到作用类型的映射
+    private Map<String, String> customAnnotations = new LinkedHashMap<>();
+    
+    // 影响接口分析结果的配置修改追踪器，不持久化
+    private final SimpleModificationTracker analysisTracker = new SimpleModificationTracker();
+    
+    // 当前发布的配置快照，不持久化
+    private volatile SettingsSnapshot snapshot;
+    
+    // 所属项目，反序列化时创建的临时实例为null，不持久化
+    private final Project project;
+    
     /**
      * 默认构造函数
      * 初始化默认配置
      */
     public ConfigSettings() {
+        this(null);
+    }
+
+    /**
+     * 作为项目服务创建时使用的构造函数
+     * 
+     * @param project 当前项目
+     */
+    public ConfigSettings(@Nullable Project project) {
+        this.project = project;
         // 创建默认本地主机配置
         UrlConfig defaultConfig = new UrlConfig("本地环境", "localhost", "", "http");
         urlConfigs.add(defaultConfig);
         activeConfigId = defaultConfig.getId();
+        publish();
     }
 
     /**
@@ -68,6 +109,7 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
     @Override
     public void loadState(@NotNull ConfigSettings state) {
         XmlSerializerUtil.copyBean(state, this);
+        analysisTracker.incModificationCount();
         
         // 确保至少有一个配置
         if (urlConfigs.isEmpty()) {
@@ -77,9 +119,69 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
         }
         
         // 确保有选中的配置
-        if (activeConfigId == null || getActiveConfig() == null) {
+        if (activeConfigId == null || findUrlConfig(activeConfigId) == null) {
             activeConfigId = urlConfigs.get(0).getId();
         }
+        publish();
+        prefetchSecretValues();
+    }
+    
+    /**
+     * 获取当前配置快照，可以在任意线程中读取
+     * 
+     * @return 配置快照
+     */
+    @Transient
+    public SettingsSnapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    /**
+     * 根据当前配置重建并发布快照
+     */
+    private void publish() {
+        Map<String, Map<String, String>> environmentHeaders = new HashMap<>();
+        for (UrlConfig config : urlConfigs) {
+            if (!config.getSecretHeaders().isEmpty()) {
+                environmentHeaders.put(config.getId(),
+                        resolveSecretHeaders(config.getId(), config.getHeaders(), config.getSecretHeaders()));
+            }
+        }
+        snapshot = new SettingsSnapshot(urlConfigs, activeConfigId, resolveSecretHeaders(null, headers, secretHeaders),
+                environmentHeaders, defaultParameters, defaultParameterRules, maxSchemaDepth);
+    }
+    
+    /**
+     * 用凭据存储中的值替换密文请求头
+     * 尚未读取到值的密文请求头映射为null，合并时连同被覆盖的同名全局请求头一起不输出
+     * 
+     * @param environmentId 环境ID，全局请求头为null
+     */
+    private Map<String, String> resolveSecretHeaders(@Nullable String environmentId, Map<String, String> headers,
+                                                     List<String> secretNames) {
+        if (secretNames.isEmpty()) {
+            return headers;
+        }
+        Map<String, String> result = new LinkedHashMap<>(headers);
+        Map<String, String> values = secretValues;
+        for (String name : secretNames) {
+            if (result.containsKey(name)) {
+                result.put(name, values.get(SecretHeaderStore.secretKey(environmentId, name)));
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 按ID查找URL配置
+     */
+    UrlConfig findUrlConfig(String configId) {
+        for (UrlConfig config : urlConfigs) {
+            if (config.getId().equals(configId)) {
+                return config;
+            }
+        }
+        return null;
     }
     
     /**
@@ -98,6 +200,7 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
      */
     public void setUrlConfigs(List<UrlConfig> urlConfigs) {
         this.urlConfigs = urlConfigs;
+        publish();
     }
     
     /**
@@ -116,32 +219,21 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
      */
     public void setActiveConfigId(String activeConfigId) {
         this.activeConfigId = activeConfigId;
+        publish();
     }
     
     /**
-     * 获取当前活动配置
+     * 获取当前活动配置，用于在配置界面中编辑
+     * 只读取配置，不修改选中状态；后台读取请使用 {@link #getSnapshot()}
      * 
-     * @return 当前活动配置，如果不存在则返回第一个配置
+     * @return 当前活动配置，如果不存在则返回第一个配置，没有任何配置时返回null
      */
     public UrlConfig getActiveConfig() {
-        // 查找当前活动配置
-        for (UrlConfig config : urlConfigs) {
-            if (config.getId().equals(activeConfigId)) {
-                return config;
-            }
-        }
-        
-        // 如果找不到活动配置，使用第一个配置
-        if (!urlConfigs.isEmpty()) {
-            activeConfigId = urlConfigs.get(0).getId();
-            return urlConfigs.get(0);
+        UrlConfig config = findUrlConfig(snapshot.getActiveEnvironment().getId());
+        if (config != null) {
+            return config;
         }
-        
-        // 如果没有配置，创建一个默认配置
-        UrlConfig defaultConfig = new UrlConfig("本地环境", "localhost", "", "http");
-        urlConfigs.add(defaultConfig);
-        activeConfigId = defaultConfig.getId();
-        return defaultConfig;
+        return urlConfigs.isEmpty() ? null : urlConfigs.get(0);
     }
     
     /**
@@ -156,6 +248,7 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
         if (urlConfigs.size() == 1) {
             activeConfigId = config.getId();
         }
+        publish();
     }
     
     /**
@@ -171,14 +264,7 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
         }
         
         // 查找并删除配置
-        UrlConfig toRemove = null;
-        for (UrlConfig config : urlConfigs) {
-            if (config.getId().equals(configId)) {
-                toRemove = config;
-                break;
-            }
-        }
-        
+        UrlConfig toRemove = findUrlConfig(configId);
         if (toRemove != null) {
             urlConfigs.remove(toRemove);
             
@@ -186,6 +272,7 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
             if (configId.equals(activeConfigId)) {
                 activeConfigId = urlConfigs.get(0).getId();
             }
+            publish();
             
             return true;
         }
@@ -203,6 +290,7 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
         for (int i = 0; i < urlConfigs.size(); i++) {
             if (urlConfigs.get(i).getId().equals(updatedConfig.getId())) {
                 urlConfigs.set(i, updatedConfig);
+                publish();
                 return true;
             }
         }
@@ -216,7 +304,7 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
      * @return 当前活动配置的主机地址
      */
     public String getHost() {
-        return getActiveConfig().getHost();
+        return snapshot.getActiveEnvironment().getHost();
     }
 
     /**
@@ -226,7 +314,11 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
      * @param host 主机地址
      */
     public void setHost(String host) {
-        getActiveConfig().setHost(host);
+        UrlConfig config = getActiveConfig();
+        if (config != null) {
+            config.setHost(host);
+            publish();
+        }
     }
 
     /**
@@ -236,7 +328,7 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
      * @return 当前活动配置的上下文路径
      */
     public String getContextPath() {
-        return getActiveConfig().getContextPath();
+        return snapshot.getActiveEnvironment().getContextPath();
     }
 
     /**
@@ -246,7 +338,11 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
      * @param contextPath 上下文路径
      */
     public void setContextPath(String contextPath) {
-        getActiveConfig().setContextPath(contextPath);
+        UrlConfig config = getActiveConfig();
+        if (config != null) {
+            config.setContextPath(contextPath);
+            publish();
+        }
     }
     
     /**
@@ -256,7 +352,7 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
      * @return 当前活动配置的协议
      */
     public String getProtocol() {
-        return getActiveConfig().getProtocol();
+        return snapshot.getActiveEnvironment().getProtocol();
     }
     
     /**
@@ -266,7 +362,11 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
      * @param protocol 协议
      */
     public void setProtocol(String protocol) {
-        getActiveConfig().setProtocol(protocol);
+        UrlConfig config = getActiveConfig();
+        if (config != null) {
+            config.setProtocol(protocol);
+            publish();
+        }
     }
     
     /**
@@ -275,11 +375,11 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
      * @return 完整URL前缀
      */
     public String getFullUrlPrefix() {
-        return getActiveConfig().getFullUrlPrefix();
+        return snapshot.getActiveEnvironment().getFullUrlPrefix();
     }
 
     /**
-     * 获取请求头
+     * 获取请求头，用于持久化；读取请使用 {@link #getSnapshot()}
      * 
      * @return 请求头映射
      */
@@ -288,14 +388,113 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
     }
 
     /**
-     * 设置请求头
+     * 设置请求头，替换整个映射并发布新快照
      * 
      * @param headers 请求头映射
      */
     public void setHeaders(Map<String, String> headers) {
         this.headers = headers;
+        publish();
     }
 
+    /**
+     * 获取密文请求头名称
+     * 
+     * @return 密文请求头名称列表
+     */
+    public List<String> getSecretHeaders() {
+        return secretHeaders;
+    }
+    
+    /**
+     * 设置密文请求头名称，请通过 {@link SecretHeaderStore#saveHeaders} 修改，以便同时更新凭据存储
+     * 
+     * @param secretHeaders 密文请求头名称列表
+     */
+    public void setSecretHeaders(List<String> secretHeaders) {
+        this.secretHeaders = secretHeaders != null ? secretHeaders : new ArrayList<>();
+        publish();
+        prefetchSecretValues();
+    }
+    
+    /**
+     * 在后台读取还没有读取过的密文请求头的值，例如配置文件被外部修改后重新加载时新出现的密文请求头
+     */
+    private void prefetchSecretValues() {
+        if (project != null && !project.isDefault()) {
+            SecretHeaderStore.getInstance(project).prefetch(this);
+        }
+    }
+    
+    /**
+     * 同时替换请求头和密文请求头名称，只发布一次快照
+     * 
+     * @param headers 请求头映射，密文请求头的值应为空字符串
+     * @param secretHeaders 密文请求头名称列表
+     * @param secretValues 密文请求头的值
+     */
+    void replaceHeaders(Map<String, String> headers, List<String> secretHeaders, Map<String, String> secretValues) {
+        this.headers = headers;
+        this.secretHeaders = secretHeaders;
+        this.secretValues = Map.copyOf(secretValues);
+        publish();
+    }
+    
+    /**
+     * 同时替换环境的请求头和密文请求头名称，只发布一次快照
+     * 
+     * @param environmentId 环境ID
+     * @param headers 环境请求头映射，密文请求头的值应为空字符串
+     * @param secretHeaders 密文请求头名称列表
+     * @param secretValues 密文请求头的值
+     */
+    void replaceEnvironmentHeaders(String environmentId, Map<String, String> headers, List<String> secretHeaders,
+                                   Map<String, String> secretValues) {
+        UrlConfig config = findUrlConfig(environmentId);
+        if (config != null) {
+            config.setHeaders(headers);
+            config.setSecretHeaders(secretHeaders);
+        }
+        this.secretValues = Map.copyOf(secretValues);
+        publish();
+    }
+    
+    /**
+     * 把取消密文时从凭据存储读取的原值填入仍为空的明文请求头
+     * 
+     * @param environmentId 环境ID，全局请求头为null
+     * @param values 请求头名称到原值的映射
+     */
+    void restorePlainHeaders(@Nullable String environmentId, Map<String, String> values) {
+        UrlConfig config = environmentId != null ? findUrlConfig(environmentId) : null;
+        if (environmentId != null && config == null) {
+            return;
+        }
+        List<String> secrets = config != null ? config.getSecretHeaders() : secretHeaders;
+        Map<String, String> copy = new LinkedHashMap<>(config != null ? config.getHeaders() : headers);
+        values.forEach((name, value) -> {
+            if ("".equals(copy.get(name)) && !secrets.contains(name)) {
+                copy.put(name, value);
+            }
+        });
+        if (config != null) {
+            config.setHeaders(copy);
+        } else {
+            this.headers = copy;
+        }
+        publish();
+    }
+    
+    /**
+     * 更新从凭据存储读取的密文请求头的值并发布新快照
+     * 
+     * @param secretValues 请求头名称到值的映射
+     */
+    void applySecretValues(Map<String, String> secretValues) {
+        this.secretValues = Map.copyOf(secretValues);
+        publish();
+    }
+    
     /**
      * 添加请求头
      * 
@@ -303,7 +502,9 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
      * @param value 请求头值
      */
     public void addHeader(String key, String value) {
-        this.headers.put(key, value);
+        Map<String, String> copy = new LinkedHashMap<>(headers);
+        copy.put(key, value);
+        setHeaders(copy);
     }
 
     /**
@@ -312,11 +513,13 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
      * @param key 请求头名称
      */
     public void removeHeader(String key) {
-        this.headers.remove(key);
+        Map<String, String> copy = new LinkedHashMap<>(headers);
+        copy.remove(key);
+        setHeaders(copy);
     }
     
     /**
-     * 获取默认参数
+     * 获取默认参数，用于持久化；读取请使用 {@link #getSnapshot()}
      * 
      * @return 默认参数映射
      */
@@ -325,12 +528,13 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
     }
     
     /**
-     * 设置默认参数
+     * 设置默认参数，替换整个映射并发布新快照
      * 
      * @param defaultParameters 默认参数映射
      */
     public void setDefaultParameters(Map<String, String> defaultParameters) {
         this.defaultParameters = defaultParameters;
+        publish();
     }
     
     /**
@@ -340,7 +544,9 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
      * @param value 参数值
      */
     public void addDefaultParameter(String key, String value) {
-        this.defaultParameters.put(key, value);
+        Map<String, String> copy = new LinkedHashMap<>(defaultParameters);
+        copy.put(key, value);
+        setDefaultParameters(copy);
     }
     
     /**
@@ -349,7 +555,28 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
      * @param key 参数名
      */
     public void removeDefaultParameter(String key) {
-        this.defaultParameters.remove(key);
+        Map<String, String> copy = new LinkedHashMap<>(defaultParameters);
+        copy.remove(key);
+        setDefaultParameters(copy);
+    }
+    
+    /**
+     * 获取默认参数规则，用于持久化；读取请使用 {@link SettingsSnapshot#getParameterRules()}
+     * 
+     * @return 默认参数规则列表
+     */
+    public List<DefaultParameterRule> getDefaultParameterRules() {
+        return defaultParameterRules;
+    }
+    
+    /**
+     * 设置默认参数规则，替换整个列表并发布新快照，规则在发布时重新编译
+     * 
+     * @param defaultParameterRules 默认参数规则列表
+     */
+    public void setDefaultParameterRules(List<DefaultParameterRule> defaultParameterRules) {
+        this.defaultParameterRules = defaultParameterRules != null ? defaultParameterRules : new ArrayList<>();
+        publish();
     }
     
     /**
@@ -359,17 +586,21 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
      * @return 默认值，如果没有配置则返回null
      */
     public String getDefaultParameterValue(String paramName) {
-        return defaultParameters.get(paramName);
+        return snapshot.getDefaultParameters().get(paramName);
     }
     
     /**
      * 应用默认参数值到参数映射
+     * 只使用当前环境合并后的默认参数，不包含按作用范围生效的规则，值中的 {{name}} 等占位符也不计算；
+     * 生成请求时请使用 {@link com.rhw.weburlcopy.render.RenderContext#applyDefaultParameters}
      * 
      * @param parameters 原始参数映射
      * @return 应用默认值后的参数映射
      */
     public Map<String, String> applyDefaultParameters(Map<String, String> parameters) {
-        Map<String, String> result = new HashMap<>(parameters);
+        // 保持参数原有顺序
+        Map<String, String> result = new LinkedHashMap<>(parameters);
+        Map<String, String> defaultParameters = snapshot.getDefaultParameters();
         
         // 对每个参数，检查是否有默认值并应用
         for (String paramName : parameters.keySet()) {
@@ -381,4 +612,55 @@ public class ConfigSettings implements PersistentStateComponent<ConfigSettings>
         
         return result;
     }
+    
+    /**
+     * 获取嵌套对象展开的最大深度
+     * 
+     * @return 最大深度，1表示只展开顶层字段
+     */
+    public int getMaxSchemaDepth() {
+        return maxSchemaDepth;
+    }
+    
+    /**
+     * 设置嵌套对象展开的最大深度
+     * 
+     * @param maxSchemaDepth 最大深度
+     */
+    public void setMaxSchemaDepth(int maxSchemaDepth) {
+        if (this.maxSchemaDepth != maxSchemaDepth) {
+            this.maxSchemaDepth = maxSchemaDepth;
+            publish();
+            analysisTracker.incModificationCount();
+        }
+    }
+    
+    /**
+     * 获取自定义框架注解
+     * 
+     * @return 注解全限定名到作用类型（CONTROLLER、MAPPING、PATH_VARIABLE、QUERY_PARAM、REQUEST_BODY或HTTP方法）的映射
+     */
+    public Map<String, String> getCustomAnnotations() {
+        return customAnnotations;
+    }
+    
+    /**
+     * 设置自定义框架注解
+     * 
+     * @param customAnnotations 注解全限定名到作用类型的映射
+     */
+    public void setCustomAnnotations(Map<String, String> customAnnotations) {
+        this.customAnnotations = customAnnotations;
+        analysisTracker.incModificationCount();
+    }
+    
+    /**
+     * 获取影响接口分析结果的配置修改追踪器
+     * 
+     * @return 修改追踪器
+     */
+    @Transient
+    public ModificationTracker getAnalysisTracker() {
+        return analysisTracker;
+    }
 }
@@ -0,0 +1,88 @@
+package com.rhw.weburlcopy.model;
+
+/**
+ * 按作用范围生效的默认参数规则
+ * 只对路径、HTTP方法和控制器包都匹配的接口生效，同名时覆盖全局和环境默认参数。
+ * 路径模式为接口路径（不含上下文路径），支持 *、** 和 {var}；HTTP方法和控制器包为空时不限制
+ */
+public class DefaultParameterRule {
+
+    // 路径模式，如 /admin/**
+    private String pathPattern;
+
+    // HTTP方法，多个用逗号分隔
+    private String httpMethod;
+
+    // 控制器所在的包，包含子包
+    private String packageName;
+
+    // 参数名
+    private String name;
+
+    // 默认值
+    private String value;
+
+    /**
+     * 默认构造函数，用于持久化
+     */
+    public DefaultParameterRule() {
+        this("", "", "", "", "");
+    }
+
+    /**
+     * 带参数的构造函数
+     *
+     * @param pathPattern 路径模式
+     * @param httpMethod HTTP方法
+     * @param packageName 控制器包
+     * @param name 参数名
+     * @param value 默认值
+     */
+    public DefaultParameterRule(String pathPattern, String httpMethod, String packageName, String name, String value) {
+        this.pathPattern = pathPattern;
+        this.httpMethod = httpMethod;
+        this.packageName = packageName;
+        this.name = name;
+        this.value = value;
+    }
+
+    public String getPathPattern() {
+        return pathPattern;
+    }
+
+    public void setPathPattern(String pathPattern) {
+        this.pathPattern = pathPattern;
+    }
+
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    public void setHttpMethod(String httpMethod) {
+        this.httpMethod = httpMethod;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public void setPackageName(String packageName) {
+        this.packageName = packageName;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,295 @@
+package com.rhw.weburlcopy.model;
+
+import com.intellij.openapi.util.text.StringUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 默认参数规则匹配器
+ * 保存配置时把所有 {@link DefaultParameterRule} 的路径模式编译成一棵按路径段组织的前缀树，规则的值解析为 {@link ValueTemplate}，
+ * 查找某个接口的默认参数时只需按路径段下行一遍，耗时与路径长度有关，与规则数量无关。
+ * 规则按具体程度排好序，越具体的规则越晚应用，同名参数以最具体的规则为准。
+ * 编译后不再修改，可以在任意线程中使用
+ */
+public final class ParameterRuleMatcher {
+
+    public static final ParameterRuleMatcher EMPTY = new ParameterRuleMatcher(List.of());
+
+    private static final int[] NONE = new int[0];
+
+    /**
+     * 编译后的规则
+     */
+    private static final class CompiledRule {
+        // 大写的HTTP方法，不限制时为null
+        final List<String> httpMethods;
+        // 控制器包，不限制时为null
+        final String packageName;
+        final String name;
+        final ValueTemplate value;
+        // 路径模式的段，** 之后的段已去掉
+        final List<String> segments;
+        // 字面量段数量，用于排序
+        final int literalCount;
+        // 是否以 ** 结尾
+        final boolean openEnded;
+
+        CompiledRule(DefaultParameterRule rule, List<String> segments) {
+            List<String> methods = new ArrayList<>();
+            for (String method : StringUtil.split(StringUtil.notNullize(rule.getHttpMethod()), ",")) {
+                if (!method.isBlank()) {
+                    methods.add(method.trim().toUpperCase(Locale.ROOT));
+                }
+            }
+            this.httpMethods = methods.isEmpty() ? null : methods;
+            String pkg = StringUtil.notNullize(rule.getPackageName()).trim();
+            pkg = StringUtil.trimEnd(StringUtil.trimEnd(pkg, ".**"), ".*");
+            this.packageName = pkg.isEmpty() ? null : pkg;
+            this.name = rule.getName().trim();
+            this.value = ValueTemplate.parse(rule.getValue());
+            this.segments = segments;
+
+            int literals = 0;
+            for (String segment : segments) {
+                if (segmentKind(segment) == SegmentKind.LITERAL) {
+                    literals++;
+                }
+            }
+            this.literalCount = literals;
+            this.openEnded = !segments.isEmpty() && "**".equals(segments.get(segments.size() - 1));
+        }
+
+        boolean appliesTo(@Nullable String httpMethod, @Nullable String className) {
+            if (httpMethods != null && (httpMethod == null || !httpMethods.contains(httpMethod.toUpperCase(Locale.ROOT)))) {
+                return false;
+            }
+            if (packageName != null) {
+                return className != null && className.startsWith(packageName)
+                        && (className.length() == packageName.length() || className.charAt(packageName.length()) == '.');
+            }
+            return true;
+        }
+    }
+
+    private enum SegmentKind { LITERAL, WILDCARD, DOUBLE_WILDCARD, GLOB }
+
+    private static final class Node {
+        // 字面量子节点
+        Map<String, Node> literals;
+        // 带 * 或 ? 的段
+        List<GlobChild> globs;
+        // *、{var} 子节点
+        Node wildcard;
+        // 在此结束的规则下标
+        int[] terminal = NONE;
+        // 以 ** 在此结束的规则下标，匹配剩余的任意段（包括没有剩余段）
+        int[] rest = NONE;
+    }
+
+    private static final class GlobChild {
+        final String glob;
+        final Pattern pattern;
+        final Node node = new Node();
+
+        GlobChild(String glob) {
+            this.glob = glob;
+            this.pattern = Pattern.compile(globToRegex(glob));
+        }
+    }
+
+    // 按具体程度从低到高排列的规则
+    private final CompiledRule[] rules;
+
+    private final Node root = new Node();
+
+    /**
+     * 编译规则，忽略参数名为空的规则
+     *
+     * @param rules 规则，按声明顺序排列；具体程度相同时后声明的优先
+     */
+    public ParameterRuleMatcher(List<DefaultParameterRule> rules) {
+        List<CompiledRule> compiled = new ArrayList<>();
+        for (DefaultParameterRule rule : rules) {
+            if (rule == null || StringUtil.isEmptyOrSpaces(rule.getName())) {
+                continue;
+            }
+            String pattern = StringUtil.notNullize(rule.getPathPattern()).trim();
+            List<String> segments = new ArrayList<>(StringUtil.split(pattern.isEmpty() ? "/**" : pattern, "/"));
+            // ** 之后的段不再参与匹配
+            int doubleWildcard = segments.indexOf("**");
+            if (doubleWildcard >= 0) {
+                segments.subList(doubleWildcard + 1, segments.size()).clear();
+            }
+            compiled.add(new CompiledRule(rule, segments));
+        }
+
+        // 稳定排序，具体程度相同的规则保持声明顺序
+        compiled.sort(Comparator.<CompiledRule>comparingInt(rule -> rule.literalCount)
+                .thenComparing(rule -> !rule.openEnded)
+                .thenComparing(rule -> rule.httpMethods != null)
+                .thenComparingInt(rule -> rule.packageName != null ? rule.packageName.length() : -1));
+        this.rules = compiled.toArray(new CompiledRule[0]);
+
+        for (int i = 0; i < this.rules.length; i++) {
+            insert(this.rules[i].segments, i);
+        }
+    }
+
+    private void insert(List<String> segments, int ruleIndex) {
+        Node node = root;
+        for (String segment : segments) {
+            switch (segmentKind(segment)) {
+                case DOUBLE_WILDCARD:
+                    node.rest = append(node.rest, ruleIndex);
+                    return;
+                case WILDCARD:
+                    if (node.wildcard == null) {
+                        node.wildcard = new Node();
+                    }
+                    node = node.wildcard;
+                    break;
+                case GLOB:
+                    node = globChild(node, segment);
+                    break;
+                default:
+                    if (node.literals == null) {
+                        node.literals = new HashMap<>();
+                    }
+                    node = node.literals.computeIfAbsent(segment, key -> new Node());
+                    break;
+            }
+        }
+        node.terminal = append(node.terminal, ruleIndex);
+    }
+
+    private static Node globChild(Node node, String glob) {
+        if (node.globs == null) {
+            node.globs = new ArrayList<>(1);
+        }
+        for (GlobChild existing : node.globs) {
+            if (existing.glob.equals(glob)) {
+                return existing.node;
+            }
+        }
+        GlobChild child = new GlobChild(glob);
+        node.globs.add(child);
+        return child.node;
+    }
+
+    /**
+     * 是否没有任何规则
+     */
+    public boolean isEmpty() {
+        return rules.length == 0;
+    }
+
+    /**
+     * 查找对接口生效的默认参数
+     *
+     * @param path 接口路径模板，不含上下文路径
+     * @param httpMethod HTTP方法
+     * @param className 控制器全限定名，未知时为null
+     * @return 参数名到默认值模板的只读映射，同名时取最具体的规则；没有匹配的规则时为空映射
+     */
+    public Map<String, ValueTemplate> resolve(String path, @Nullable String httpMethod, @Nullable String className) {
+        if (rules.length == 0) {
+            return Collections.emptyMap();
+        }
+        BitSet matched = new BitSet(rules.length);
+        collect(root, StringUtil.split(path, "/"), 0, matched);
+
+        Map<String, ValueTemplate> result = null;
+        for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+            CompiledRule rule = rules[i];
+            if (rule.appliesTo(httpMethod, className)) {
+                if (result == null) {
+                    result = new LinkedHashMap<>();
+                }
+                result.put(rule.name, rule.value);
+            }
+        }
+        return result != null ? Collections.unmodifiableMap(result) : Collections.emptyMap();
+    }
+
+    private static void collect(Node node, List<String> segments, int index, BitSet matched) {
+        mark(node.rest, matched);
+        if (index == segments.size()) {
+            mark(node.terminal, matched);
+            return;
+        }
+
+        String segment = segments.get(index);
+        Node literal = node.literals != null ? node.literals.get(segment) : null;
+        if (literal != null) {
+            collect(literal, segments, index + 1, matched);
+        }
+        if (node.globs != null) {
+            for (GlobChild glob : node.globs) {
+                if (glob.pattern.matcher(segment).matches()) {
+                    collect(glob.node, segments, index + 1, matched);
+                }
+            }
+        }
+        if (node.wildcard != null) {
+            collect(node.wildcard, segments, index + 1, matched);
+        }
+    }
+
+    private static void mark(int[] ruleIndexes, BitSet matched) {
+        for (int ruleIndex : ruleIndexes) {
+            matched.set(ruleIndex);
+        }
+    }
+
+    private static int[] append(int[] array, int value) {
+        int[] result = new int[array.length + 1];
+        System.arraycopy(array, 0, result, 0, array.length);
+        result[array.length] = value;
+        return result;
+    }
+
+    private static SegmentKind segmentKind(String segment) {
+        if ("**".equals(segment)) {
+            return SegmentKind.DOUBLE_WILDCARD;
+        }
+        if ("*".equals(segment) || (segment.startsWith("{") && segment.endsWith("}"))) {
+            return SegmentKind.WILDCARD;
+        }
+        if (segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0) {
+            return SegmentKind.GLOB;
+        }
+        return SegmentKind.LITERAL;
+    }
+
+    /**
+     * 段内通配符转换为正则，* 匹配任意字符，? 匹配单个字符
+     */
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int start = 0;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                if (i > start) {
+                    regex.append(Pattern.quote(glob.substring(start, i)));
+                }
+                regex.append(c == '*' ? ".*" : ".");
+                start = i + 1;
+            }
+        }
+        if (start < glob.length()) {
+            regex.append(Pattern.quote(glob.substring(start)));
+        }
+        return regex.toString();
+    }
+}
@@ -0,0 +1,16 @@
+package com.rhw.weburlcopy.model;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.startup.StartupActivity;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 项目打开后在后台预读取密文请求头，首次复制请求时不需要等待凭据存储
+ */
+public class SecretHeaderStartupActivity implements StartupActivity.Background {
+
+    @Override
+    public void runActivity(@NotNull Project project) {
+        SecretHeaderStore.getInstance(project).prefetch();
+    }
+}
@@ -0,0 +1,299 @@
+package com.rhw.weburlcopy.model;
+
+import com.intellij.credentialStore.CredentialAttributes;
+import com.intellij.credentialStore.CredentialAttributesKt;
+import com.intellij.ide.passwordSafe.PasswordSafe;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.Alarm;
+import com.rhw.weburlcopy.util.DisposerUtil;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 密文请求头存储
+ * 全局和环境的密文请求头的值保存在IDE凭据存储（系统钥匙串、KeePass等）中，配置文件里只有请求头名称。
+ * 环境请求头的凭据以环境ID区分，不同环境的同名请求头互不影响。
+ * 凭据存储的读写可能很慢，全部在后台线程中串行执行：项目打开后预先读取，读取的值缓存在内存中并填入配置快照，
+ * 复制请求时只读取快照，不会在EDT上访问凭据存储；尚未读取完成时暂不输出密文请求头
+ */
+public final class SecretHeaderStore implements Disposable {
+
+    private static final Logger LOG = Logger.getInstance(SecretHeaderStore.class);
+
+    // 凭据存储中的服务名前缀
+    private static final String SUBSYSTEM = "Web Url Copy";
+
+    private final Project project;
+
+    // 串行化凭据存储的读写
+    private final Alarm alarm;
+
+    // 已读取或刚保存的密文请求头的值，键见 secretKey
+    private final Map<String, String> cache = new ConcurrentHashMap<>();
+
+    public SecretHeaderStore(Project project) {
+        this.project = project;
+        this.alarm = DisposerUtil.createAlarm(this, Alarm.ThreadToUse.POOLED_THREAD);
+    }
+
+    /**
+     * 获取密文请求头存储实例
+     *
+     * @param project 当前项目
+     * @return 存储实例
+     */
+    public static SecretHeaderStore getInstance(Project project) {
+        return project.getService(SecretHeaderStore.class);
+    }
+
+    /**
+     * 在后台读取缓存中还没有的密文请求头的值，都已读取时不做任何事
+     */
+    public void prefetch() {
+        prefetch(ConfigSettings.getInstance(project));
+    }
+
+    /**
+     * 配置加载或密文请求头名称变化时调用，在后台读取新出现的密文请求头的值
+     *
+     * @param settings 当前配置，配置服务初始化时不能再通过项目获取
+     */
+    void prefetch(ConfigSettings settings) {
+        List<String> missing = new ArrayList<>();
+        for (String key : collectSecretKeys(settings)) {
+            if (!cache.containsKey(key)) {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            alarm.addRequest(() -> load(missing), 0);
+        }
+    }
+
+    /**
+     * 获取密文请求头在凭据存储和缓存中的键
+     * 全局请求头直接使用名称，环境请求头在名称前加环境ID；请求头名称中不会出现 '/'
+     *
+     * @param environmentId 环境ID，全局请求头为null
+     * @param headerName 请求头名称
+     * @return 键
+     */
+    public static String secretKey(@Nullable String environmentId, String headerName) {
+        return environmentId != null ? environmentId + "/" + headerName : headerName;
+    }
+
+    /**
+     * 收集全局和所有环境的密文请求头的键
+     */
+    private static List<String> collectSecretKeys(ConfigSettings settings) {
+        List<String> keys = new ArrayList<>(settings.getSecretHeaders());
+        for (UrlConfig config : settings.getUrlConfigs()) {
+            for (String name : config.getSecretHeaders()) {
+                keys.add(secretKey(config.getId(), name));
+            }
+        }
+        return keys;
+    }
+
+    private void load(List<String> keys) {
+        for (String key : keys) {
+            if (!cache.containsKey(key)) {
+                String value = read(key);
+                if (value != null) {
+                    cache.putIfAbsent(key, value);
+                }
+            }
+        }
+        publish();
+    }
+
+    /**
+     * 保存请求头，需要在EDT中调用
+     * 密文请求头的值写入凭据存储，配置文件中只保留名称；密文请求头的值为空时保持原值，重命名后沿用原名称的值。
+     * 不再是密文的请求头从凭据存储中删除，值为空时改为明文保存原值
+     *
+     * @param environmentId 环境ID，保存全局请求头时为null
+     * @param headers 请求头映射
+     * @param secretNames 密文请求头名称
+     * @param originalNames 请求头名称到编辑前名称的映射，不包含新添加的请求头
+     * @return 保存的明文请求头，密文请求头的值为空字符串
+     */
+    public Map<String, String> saveHeaders(@Nullable String environmentId, Map<String, String> headers,
+                                           Collection<String> secretNames, Map<String, String> originalNames) {
+        ConfigSettings settings = ConfigSettings.getInstance(project);
+        UrlConfig config = null;
+        if (environmentId != null) {
+            config = settings.findUrlConfig(environmentId);
+            if (config == null) {
+                return Map.of();
+            }
+        }
+        List<String> previousSecrets = config != null ? config.getSecretHeaders() : settings.getSecretHeaders();
+        Set<String> removed = new HashSet<>();
+        for (String name : previousSecrets) {
+            removed.add(secretKey(environmentId, name));
+        }
+        // 保存前的值，请求头互换名称时不会读到刚写入的值
+        Map<String, String> previousValues = new HashMap<>(cache);
+
+        Map<String, String> plainHeaders = new LinkedHashMap<>();
+        List<String> secrets = new ArrayList<>();
+        Map<String, String> toStore = new HashMap<>();
+        // 原值尚未读取、需要在后台从凭据存储读取的请求头：新的键到原来的键，请求头名称到原来的键
+        Map<String, String> pendingSecrets = new HashMap<>();
+        Map<String, String> pendingPlain = new HashMap<>();
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            String name = entry.getKey();
+            String value = entry.getValue() != null ? entry.getValue() : "";
+            String originalName = originalNames.getOrDefault(name, name);
+            String oldKey = previousSecrets.contains(originalName) ? secretKey(environmentId, originalName) : null;
+            if (!secretNames.contains(name)) {
+                if (value.isEmpty() && oldKey != null) {
+                    // 取消密文时改为明文保存原值
+                    String oldValue = previousValues.get(oldKey);
+                    if (oldValue != null) {
+                        value = oldValue;
+                    } else {
+                        pendingPlain.put(name, oldKey);
+                    }
+                }
+                plainHeaders.put(name, value);
+                continue;
+            }
+            String key = secretKey(environmentId, name);
+            plainHeaders.put(name, "");
+            secrets.add(name);
+            removed.remove(key);
+            if (!value.isEmpty()) {
+                cache.put(key, value);
+                toStore.put(key, value);
+            } else if (oldKey != null && !oldKey.equals(key)) {
+                // 重命名的密文请求头沿用原名称的值
+                String oldValue = previousValues.get(oldKey);
+                if (oldValue != null) {
+                    cache.put(key, oldValue);
+                    toStore.put(key, oldValue);
+                } else {
+                    pendingSecrets.put(key, oldKey);
+                }
+            }
+        }
+        for (String key : removed) {
+            cache.remove(key);
+        }
+
+        if (environmentId != null) {
+            settings.replaceEnvironmentHeaders(environmentId, plainHeaders, secrets, cache);
+        } else {
+            settings.replaceHeaders(plainHeaders, secrets, cache);
+        }
+        if (!pendingSecrets.isEmpty() || !pendingPlain.isEmpty()) {
+            alarm.addRequest(() -> {
+                // 先读取全部原值再写入和删除
+                Map<String, String> restored = new HashMap<>();
+                pendingSecrets.forEach((key, oldKey) -> {
+                    String oldValue = read(oldKey);
+                    if (oldValue != null) {
+                        cache.put(key, oldValue);
+                        toStore.put(key, oldValue);
+                    }
+                });
+                pendingPlain.forEach((name, oldKey) -> {
+                    String oldValue = read(oldKey);
+                    if (oldValue != null) {
+                        restored.put(name, oldValue);
+                    }
+                });
+                write(toStore, removed);
+                ApplicationManager.getApplication().invokeLater(() -> {
+                    if (!restored.isEmpty()) {
+                        settings.restorePlainHeaders(environmentId, restored);
+                    }
+                    settings.applySecretValues(cache);
+                }, project.getDisposed());
+            }, 0);
+        } else if (!toStore.isEmpty() || !removed.isEmpty()) {
+            alarm.addRequest(() -> write(toStore, removed), 0);
+        }
+        return plainHeaders;
+    }
+
+    /**
+     * 删除环境时从凭据存储中删除它的密文请求头，需要在EDT中调用
+     *
+     * @param config 被删除的环境
+     */
+    public void removeEnvironment(UrlConfig config) {
+        Set<String> removed = new HashSet<>();
+        for (String name : config.getSecretHeaders()) {
+            String key = secretKey(config.getId(), name);
+            cache.remove(key);
+            removed.add(key);
+        }
+        if (!removed.isEmpty()) {
+            alarm.addRequest(() -> write(Map.of(), removed), 0);
+        }
+    }
+
+    @Nullable
+    private String read(String key) {
+        try {
+            return PasswordSafe.getInstance().getPassword(createAttributes(key));
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to read secret header " + key, e);
+            return null;
+        }
+    }
+
+    private void write(Map<String, String> toStore, Set<String> removed) {
+        // 凭据存储中的用户名是secretKey，全局请求头与旧版本保存的凭据兼容
+        PasswordSafe passwordSafe = PasswordSafe.getInstance();
+        for (Map.Entry<String, String> entry : toStore.entrySet()) {
+            try {
+                passwordSafe.setPassword(createAttributes(entry.getKey()), entry.getValue());
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to store secret header " + entry.getKey(), e);
+            }
+        }
+        for (String name : removed) {
+            try {
+                passwordSafe.set(createAttributes(name), null);
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to remove secret header " + name, e);
+            }
+        }
+    }
+
+    /**
+     * 在EDT中把缓存的值填入配置快照
+     */
+    private void publish() {
+        ApplicationManager.getApplication().invokeLater(
+                () -> ConfigSettings.getInstance(project).applySecretValues(cache), project.getDisposed());
+    }
+
+    /**
+     * 凭据按项目区分，同名请求头在不同项目中互不影响
+     */
+    private CredentialAttributes createAttributes(String key) {
+        String serviceName = CredentialAttributesKt.generateServiceName(SUBSYSTEM, project.getLocationHash());
+        return new CredentialAttributes(serviceName, key);
+    }
+
+    @Override
+    public void dispose() {
+        cache.clear();
+    }
+}
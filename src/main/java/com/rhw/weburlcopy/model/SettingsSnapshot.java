@@ -0,0 +1,240 @@
+package com.rhw.weburlcopy.model;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 配置快照
+ * 保存时由 {@link ConfigSettings} 整体重建并替换，发布后不再修改。
+ * 后台生成请求时直接读取当前快照，不需要加锁，也不会读到保存到一半的配置。
+ * 每个环境的请求头和默认参数在发布时与全局配置合并好并解析为 {@link ValueTemplate}，生成请求时只需取当前环境；
+ * 按作用范围生效的默认参数规则在发布时编译为 {@link ParameterRuleMatcher}
+ */
+public final class SettingsSnapshot {
+
+    /**
+     * 环境配置的只读副本，请求头和默认参数为全局配置与环境配置合并后的结果，
+     * 同时保存解析好的值模板，模板中的环境变量和环境属性从这里读取
+     */
+    public static final class Environment {
+
+        private final String id;
+
+        private final String name;
+
+        private final String host;
+
+        private final String contextPath;
+
+        private final String protocol;
+
+        // 协议+主机+上下文路径
+        private final String fullUrlPrefix;
+
+        // 合并后的请求头
+        private final Map<String, String> headers;
+
+        // 合并后的默认参数
+        private final Map<String, String> defaultParameters;
+
+        // 环境变量
+        private final Map<String, String> variables;
+
+        // 请求头的值模板
+        private final Map<String, ValueTemplate> headerTemplates;
+
+        // 默认参数的值模板
+        private final Map<String, ValueTemplate> parameterTemplates;
+
+        private Environment(UrlConfig config, Map<String, String> environmentHeaders, Map<String, String> globalHeaders,
+                            Map<String, String> globalParameters) {
+            this.id = config.getId();
+            this.name = config.getName();
+            this.host = config.getHost();
+            this.contextPath = config.getContextPath();
+            this.protocol = config.getProtocol();
+            this.fullUrlPrefix = config.getFullUrlPrefix();
+            this.headers = merge(globalHeaders, environmentHeaders);
+            this.defaultParameters = merge(globalParameters, config.getDefaultParameters());
+            this.variables = Collections.unmodifiableMap(new LinkedHashMap<>(config.getVariables()));
+            this.headerTemplates = ValueTemplate.parseAll(headers);
+            this.parameterTemplates = ValueTemplate.parseAll(defaultParameters);
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        public String getContextPath() {
+            return contextPath;
+        }
+
+        public String getProtocol() {
+            return protocol;
+        }
+
+        public String getFullUrlPrefix() {
+            return fullUrlPrefix;
+        }
+
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        public Map<String, String> getDefaultParameters() {
+            return defaultParameters;
+        }
+
+        public Map<String, ValueTemplate> getHeaderTemplates() {
+            return headerTemplates;
+        }
+
+        public Map<String, ValueTemplate> getParameterTemplates() {
+            return parameterTemplates;
+        }
+
+        /**
+         * 获取环境变量
+         *
+         * @param name 变量名
+         * @return 变量值，不存在时返回null
+         */
+        @Nullable
+        public String getVariable(String name) {
+            return variables.get(name);
+        }
+
+        /**
+         * 获取环境属性，不是属性名时取同名的环境变量
+         *
+         * @param name 属性名：name、host、contextPath、protocol或baseUrl
+         * @return 属性值，不存在时返回null
+         */
+        @Nullable
+        public String getAttribute(String name) {
+            switch (name) {
+                case "name":
+                    return this.name;
+                case "host":
+                    return host;
+                case "contextPath":
+                    return contextPath;
+                case "protocol":
+                    return protocol;
+                case "baseUrl":
+                    return fullUrlPrefix;
+                default:
+                    return variables.get(name);
+            }
+        }
+    }
+
+    // 所有环境，按配置顺序排列
+    private final List<Environment> environments;
+
+    // 当前环境，找不到选中的环境时为第一个环境
+    private final Environment activeEnvironment;
+
+    // 编译后的默认参数规则
+    private final ParameterRuleMatcher parameterRules;
+
+    // 嵌套对象展开的最大深度
+    private final int maxSchemaDepth;
+
+    /**
+     * @param headers 全局请求头，值为null的密文请求头尚未读取，不输出
+     * @param environmentHeaders 环境ID到已替换密文值的环境请求头，没有密文请求头的环境直接使用配置中的请求头
+     */
+    SettingsSnapshot(List<UrlConfig> urlConfigs, String activeConfigId, Map<String, String> headers,
+                     Map<String, Map<String, String>> environmentHeaders, Map<String, String> defaultParameters,
+                     List<DefaultParameterRule> parameterRules, int maxSchemaDepth) {
+        List<Environment> environmentList = new ArrayList<>(urlConfigs.size());
+        Environment active = null;
+        for (UrlConfig config : urlConfigs) {
+            Environment environment = new Environment(config,
+                    environmentHeaders.getOrDefault(config.getId(), config.getHeaders()), headers, defaultParameters);
+            environmentList.add(environment);
+            if (active == null && environment.getId().equals(activeConfigId)) {
+                active = environment;
+            }
+        }
+        if (environmentList.isEmpty()) {
+            environmentList.add(new Environment(new UrlConfig("本地环境", "localhost", "", "http"),
+                    Map.of(), headers, defaultParameters));
+        }
+
+        this.environments = Collections.unmodifiableList(environmentList);
+        this.activeEnvironment = active != null ? active : environmentList.get(0);
+        this.parameterRules = parameterRules.isEmpty() ? ParameterRuleMatcher.EMPTY
+                : new ParameterRuleMatcher(parameterRules);
+        this.maxSchemaDepth = maxSchemaDepth;
+    }
+
+    public List<Environment> getEnvironments() {
+        return environments;
+    }
+
+    public Environment getActiveEnvironment() {
+        return activeEnvironment;
+    }
+
+    /**
+     * 获取当前环境合并后的请求头
+     *
+     * @return 只读的请求头映射
+     */
+    public Map<String, String> getHeaders() {
+        return activeEnvironment.getHeaders();
+    }
+
+    /**
+     * 获取当前环境合并后的默认参数
+     *
+     * @return 只读的默认参数映射
+     */
+    public Map<String, String> getDefaultParameters() {
+        return activeEnvironment.getDefaultParameters();
+    }
+
+    public ParameterRuleMatcher getParameterRules() {
+        return parameterRules;
+    }
+
+    public int getMaxSchemaDepth() {
+        return maxSchemaDepth;
+    }
+
+    /**
+     * 合并全局配置和环境配置，同名时环境配置优先
+     * 值为null的是尚未读取的密文请求头，不出现在结果中，环境中的null同时去掉同名的全局请求头
+     */
+    private static Map<String, String> merge(Map<String, String> global, Map<String, String> overlay) {
+        Map<String, String> result = new LinkedHashMap<>(global.size() + overlay.size());
+        for (Map.Entry<String, String> entry : global.entrySet()) {
+            if (entry.getValue() != null) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Map.Entry<String, String> entry : overlay.entrySet()) {
+            if (entry.getValue() != null) {
+                result.put(entry.getKey(), entry.getValue());
+            } else {
+                result.remove(entry.getKey());
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+}
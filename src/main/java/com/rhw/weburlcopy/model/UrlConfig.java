@@ -1,10 +1,15 @@
 package com.rhw.weburlcopy.model;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * URL配置类
- * 表示单个URL配置项，包含名称、主机、上下文路径、协议等信息
+ * 表示单个URL配置项，包含名称、主机、上下文路径、协议等信息，
+ * 以及覆盖在全局配置之上的环境请求头和默认参数，和请求头、默认参数中 {{name}} 引用的环境变量
  * 
  * @author renhao.wang
  * @since 2023-03-22
@@ -26,6 +31,18 @@ public class UrlConfig {
     // 协议 (http/https)
     private String protocol;
     
+    // 环境请求头，同名时覆盖全局请求头；密文请求头的值为空字符串
+    private Map<String, String> headers = new LinkedHashMap<>();
+    
+    // 环境密文请求头名称，值保存在IDE凭据存储中
+    private List<String> secretHeaders = new ArrayList<>();
+    
+    // 环境默认参数，同名时覆盖全局默认参数
+    private Map<String, String> defaultParameters = new LinkedHashMap<>();
+    
+    // 环境变量，供请求头和默认参数中的 {{name}} 引用
+    private Map<String, String> variables = new LinkedHashMap<>();
+    
     /**
      * 默认构造函数
      * 创建一个带有唯一ID的空配置
@@ -173,6 +190,78 @@ public class UrlConfig {
         }
     }
     
+    /**
+     * 获取环境请求头
+     * 
+     * @return 环境请求头映射
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+    
+    /**
+     * 设置环境请求头
+     * 
+     * @param headers 环境请求头映射
+     */
+    public void setHeaders(Map<String, String> headers) {
+        this.headers = headers != null ? headers : new LinkedHashMap<>();
+    }
+    
+    /**
+     * 获取环境密文请求头名称
+     * 
+     * @return 密文请求头名称列表
+     */
+    public List<String> getSecretHeaders() {
+        return secretHeaders;
+    }
+    
+    /**
+     * 设置环境密文请求头名称，请通过 {@link SecretHeaderStore#saveHeaders} 修改，以便同时更新凭据存储
+     * 
+     * @param secretHeaders 密文请求头名称列表
+     */
+    public void setSecretHeaders(List<String> secretHeaders) {
+        this.secretHeaders = secretHeaders != null ? secretHeaders : new ArrayList<>();
+    }
+    
+    /**
+     * 获取环境默认参数
+     * 
+     * @return 环境默认参数映射
+     */
+    public Map<String, String> getDefaultParameters() {
+        return defaultParameters;
+    }
+    
+    /**
+     * 设置环境默认参数
+     * 
+     * @param defaultParameters 环境默认参数映射
+     */
+    public void setDefaultParameters(Map<String, String> defaultParameters) {
+        this.defaultParameters = defaultParameters != null ? defaultParameters : new LinkedHashMap<>();
+    }
+    
+    /**
+     * 获取环境变量
+     * 
+     * @return 环境变量映射
+     */
+    public Map<String, String> getVariables() {
+        return variables;
+    }
+    
+    /**
+     * 设置环境变量
+     * 
+     * @param variables 环境变量映射
+     */
+    public void setVariables(Map<String, String> variables) {
+        this.variables = variables != null ? variables : new LinkedHashMap<>();
+    }
+    
     /**
      * 获取完整URL前缀（协议+主机+上下文路径）
      * 
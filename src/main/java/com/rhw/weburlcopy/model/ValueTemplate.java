@@ -0,0 +1,183 @@
+package com.rhw.weburlcopy.model;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 请求头和默认参数的值模板
+ * 支持以下占位符：
+ * <ul>
+ *     <li>{{name}}：当前环境的环境变量</li>
+ *     <li>{{env.name}}：当前环境的属性（name、host、contextPath、protocol、baseUrl），不是属性时取环境变量</li>
+ *     <li>{{$uuid}}、{{$timestamp}}、{{$isoTimestamp}}、{{$randomInt}}：每次生成请求时重新计算的内置值</li>
+ * </ul>
+ * 保存配置时解析为字面量片段和取值函数，生成请求时只需依次拼接，不再扫描文本。
+ * 无法解析的占位符原样输出
+ */
+public final class ValueTemplate {
+
+    /**
+     * 占位符的取值函数
+     */
+    private interface Resolver {
+        /**
+         * @param environment 当前环境，未知时为null
+         * @return 占位符的值，无法取值时返回null
+         */
+        @Nullable
+        String resolve(@Nullable SettingsSnapshot.Environment environment);
+    }
+
+    private static final String ENV_PREFIX = "env.";
+
+    private static final Map<String, Resolver> BUILTINS = Map.of(
+            "$uuid", environment -> UUID.randomUUID().toString(),
+            "$timestamp", environment -> String.valueOf(System.currentTimeMillis() / 1000),
+            "$isoTimestamp", environment -> Instant.now().toString(),
+            "$randomInt", environment -> String.valueOf(ThreadLocalRandom.current().nextInt(1000)));
+
+    // 模板文本
+    private final String text;
+
+    // 字面量片段，比占位符多一个，第i个片段位于第i个占位符之前
+    private final String[] literals;
+
+    // 占位符的取值函数
+    private final Resolver[] resolvers;
+
+    // 占位符原文，无法取值时输出
+    private final String[] placeholders;
+
+    private ValueTemplate(String text) {
+        this.text = text;
+
+        List<String> literalList = new ArrayList<>();
+        List<Resolver> resolverList = new ArrayList<>();
+        List<String> placeholderList = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            int start = text.indexOf("{{", i);
+            int end = start >= 0 ? text.indexOf("}}", start + 2) : -1;
+            if (end < 0) {
+                literal.append(text, i, text.length());
+                break;
+            }
+            literal.append(text, i, start);
+            String placeholder = text.substring(start, end + 2);
+            Resolver resolver = createResolver(text.substring(start + 2, end).trim());
+            if (resolver == null) {
+                literal.append(placeholder);
+            } else {
+                literalList.add(literal.toString());
+                literal.setLength(0);
+                resolverList.add(resolver);
+                placeholderList.add(placeholder);
+            }
+            i = end + 2;
+        }
+        literalList.add(literal.toString());
+
+        this.literals = literalList.toArray(new String[0]);
+        this.resolvers = resolverList.toArray(new Resolver[0]);
+        this.placeholders = placeholderList.toArray(new String[0]);
+    }
+
+    /**
+     * 解析模板
+     *
+     * @param text 模板文本，null视为空字符串
+     * @return 值模板
+     */
+    public static ValueTemplate parse(@Nullable String text) {
+        return new ValueTemplate(text != null ? text : "");
+    }
+
+    /**
+     * 解析映射中的所有值，保持原有顺序
+     *
+     * @param values 名称到模板文本的映射
+     * @return 名称到值模板的只读映射
+     */
+    public static Map<String, ValueTemplate> parseAll(Map<String, String> values) {
+        Map<String, ValueTemplate> result = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            result.put(entry.getKey(), parse(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * 判断映射中的值是否都不包含占位符
+     *
+     * @param templates 名称到值模板的映射
+     * @return 都是常量时返回true
+     */
+    public static boolean allConstant(Map<String, ValueTemplate> templates) {
+        for (ValueTemplate template : templates.values()) {
+            if (!template.isConstant()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nullable
+    private static Resolver createResolver(String name) {
+        if (name.isEmpty()) {
+            return null;
+        }
+        if (name.startsWith("$")) {
+            return BUILTINS.get(name);
+        }
+        if (name.startsWith(ENV_PREFIX) && name.length() > ENV_PREFIX.length()) {
+            String attribute = name.substring(ENV_PREFIX.length());
+            return environment -> environment != null ? environment.getAttribute(attribute) : null;
+        }
+        return environment -> environment != null ? environment.getVariable(name) : null;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * 是否不包含占位符，常量模板的值总是等于字面量
+     */
+    public boolean isConstant() {
+        return resolvers.length == 0;
+    }
+
+    /**
+     * 计算模板的值
+     *
+     * @param environment 当前环境，未知时只能计算内置值
+     * @return 模板的值
+     */
+    public String evaluate(@Nullable SettingsSnapshot.Environment environment) {
+        if (resolvers.length == 0) {
+            return literals[0];
+        }
+        StringBuilder result = new StringBuilder(text.length() + 32);
+        result.append(literals[0]);
+        for (int i = 0; i < resolvers.length; i++) {
+            String value = resolvers[i].resolve(environment);
+            result.append(value != null ? value : placeholders[i]);
+            result.append(literals[i + 1]);
+        }
+        return result.toString();
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
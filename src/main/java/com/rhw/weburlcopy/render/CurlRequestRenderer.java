@@ -0,0 +1,89 @@
+package com.rhw.weburlcopy.render;
+
+import com.rhw.weburlcopy.analysis.PathTemplate;
+import com.rhw.weburlcopy.analysis.RequestSpec;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Bash Curl命令渲染器
+ */
+public class CurlRequestRenderer implements RequestRenderer {
+
+    public static final String ID = "curl";
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    @Override
+    public void render(RenderContext context, RequestSpec spec, Appendable out) throws IOException {
+        String requestMethod = spec.getHttpMethod();
+        
+        // 应用默认参数，路径变量替换到路径中，其余参数作为请求参数
+        Map<String, String> values = context.applyDefaultParameters(spec);
+        PathTemplate path = spec.getPathTemplate();
+        Map<String, String> parameters = RenderContext.withoutPathVariables(values, path);
+        Map<String, String> headers = context.getHeaders();
+        
+        out.append("curl -X ").append(requestMethod).append(" ");
+        
+        // 添加headers
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            out.append("-H \"").append(entry.getKey()).append(": ").append(entry.getValue()).append("\" ");
+        }
+        
+        // 构建URL，确保双引号位置正确
+        out.append("\"");
+        context.appendFullUrl(out, path, values);
+        
+        // 处理参数
+        if (requestMethod.equals("GET") && !parameters.isEmpty() && !spec.hasBody()) {
+            out.append("?");
+            RenderContext.appendParameters(out, parameters);
+            out.append("\"");
+        } else if (spec.hasBody()) {
+            // 处理RequestBody
+            out.append("\" -H \"Content-Type: application/json\" ");
+            out.append("-d '").append(spec.getBody()).append("'");
+        } else if (!parameters.isEmpty()) {
+            // 处理POST参数
+            out.append("\" ");
+            if (!headers.containsKey("Content-Type")) {
+                // 优先使用form-urlencoded格式，除非明确要求使用JSON
+                if (spec.hasJsonParam()) {
+                    out.append("-H \"Content-Type: application/json\" ");
+                    out.append("-d '{");
+                    boolean first = true;
+                    for (Map.Entry<String, String> entry : parameters.entrySet()) {
+                        if (!first) {
+                            out.append(", ");
+                        }
+                        out.append("\"").append(entry.getKey()).append("\": ");
+                        // 尝试检测值是否已经是JSON格式
+                        String value = entry.getValue();
+                        if (value.startsWith("{") && value.endsWith("}")) {
+                            out.append(value);
+                        } else if (RenderContext.isNumber(value) || RenderContext.isBoolean(value)) {
+                            out.append(value); // 数字和布尔值不加引号
+                        } else {
+                            out.append("\"").append(value).append("\"");
+                        }
+                        first = false;
+                    }
+                    out.append("}'");
+                } else {
+                    // 使用form-urlencoded格式，适用于拆解的复杂对象和普通参数
+                    out.append("-H \"Content-Type: application/x-www-form-urlencoded\" ");
+                    out.append("-d \"");
+                    RenderContext.appendParameters(out, parameters);
+                    out.append("\"");
+                }
+            }
+        } else {
+            out.append("\"");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.rhw.weburlcopy.render;
+
+import com.rhw.weburlcopy.analysis.PathTemplate;
+import com.rhw.weburlcopy.analysis.RequestSpec;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 完整URL渲染器
+ * 输出包含协议、主机、路径的完整URL，如果是GET方法则带上参数
+ */
+public class FullUrlRenderer implements RequestRenderer {
+
+    public static final String ID = "fullUrl";
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    @Override
+    public void render(RenderContext context, RequestSpec spec, Appendable out) throws IOException {
+        Map<String, String> values = context.applyDefaultParameters(spec);
+        PathTemplate path = spec.getPathTemplate();
+        
+        context.appendFullUrl(out, path, values);
+        
+        // 路径变量已经替换到路径中，其余参数作为查询参数
+        Map<String, String> parameters = RenderContext.withoutPathVariables(values, path);
+        
+        // 如果是GET方法且有参数，则添加参数
+        if (spec.getHttpMethod().equals("GET") && !parameters.isEmpty() && !spec.hasBody()) {
+            out.append("?");
+            RenderContext.appendParameters(out, parameters);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.rhw.weburlcopy.render;
+
+import com.rhw.weburlcopy.analysis.PathTemplate;
+import com.rhw.weburlcopy.analysis.RequestSpec;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Python Request代码渲染器
+ */
+public class PythonRequestRenderer implements RequestRenderer {
+
+    public static final String ID = "python";
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    @Override
+    public void render(RenderContext context, RequestSpec spec, Appendable out) throws IOException {
+        String requestMethod = spec.getHttpMethod();
+        
+        // 应用默认参数，路径变量替换到路径中，其余参数作为请求参数
+        Map<String, String> values = context.applyDefaultParameters(spec);
+        PathTemplate path = spec.getPathTemplate();
+        Map<String, String> parameters = RenderContext.withoutPathVariables(values, path);
+        Map<String, String> headers = context.getHeaders();
+        
+        out.append("import requests\n\n");
+        
+        // 构建URL
+        out.append("url = \"");
+        context.appendFullUrl(out, path, values);
+        out.append("\"\n");
+        
+        // 添加headers
+        if (!headers.isEmpty()) {
+            out.append("headers = {\n");
+            for (Map.Entry<String, String> entry : headers.entrySet()) {
+                out.append("    \"").append(entry.getKey()).append("\": \"")
+                   .append(entry.getValue()).append("\",\n");
+            }
+            out.append("}\n");
+        } else {
+            out.append("headers = {}\n");
+        }
+        
+        // 处理参数
+        if (spec.hasBody()) {
+            out.append("payload = ").append(spec.getBody()).append("\n");
+            out.append("response = requests.").append(requestMethod.toLowerCase())
+               .append("(url, json=payload, headers=headers)\n");
+        } else if (!parameters.isEmpty()) {
+            if (spec.hasJsonParam()) {
+                // 处理JSON格式参数
+                out.append("json_data = {\n");
+                appendDict(out, parameters, true);
+                out.append("}\n");
+                out.append("response = requests.").append(requestMethod.toLowerCase())
+                   .append("(url, json=json_data, headers=headers)\n");
+            } else {
+                // 处理常规参数或拆解的复杂对象参数，统一使用表单数据
+                out.append("data = {\n");
+                appendDict(out, parameters, false);
+                out.append("}\n");
+                
+                // 无论GET还是其他方法，都使用统一的参数传递方式
+                if (requestMethod.equals("GET")) {
+                    out.append("response = requests.get(url, params=data, headers=headers)\n");
+                } else {
+                    out.append("response = requests.").append(requestMethod.toLowerCase())
+                       .append("(url, data=data, headers=headers)\n");
+                }
+            }
+        } else {
+            out.append("response = requests.").append(requestMethod.toLowerCase())
+               .append("(url, headers=headers)\n");
+        }
+        
+        out.append("\n# 打印响应\n");
+        out.append("print(response.status_code)\n");
+        out.append("print(response.text)\n");
+    }
+
+    /**
+     * 将多个请求渲染为一个Python脚本，每个方法（多路径映射的每个变体）生成一个函数
+     * 主函数中的调用注释在渲染函数时写入一个只含方法名的小缓冲区，最后追加到脚本末尾
+     */
+    @Override
+    public void renderAll(RenderContext context, Iterable<RequestSpec> specs, Appendable out) throws IOException {
+        boolean empty = true;
+        StringBuilder entry = new StringBuilder();
+        // 主函数中的调用注释
+        StringBuilder mainCalls = new StringBuilder();
+        
+        for (RequestSpec spec : RequestSpec.expand(specs)) {
+            if (empty) {
+                // 导入模块部分只需要一次
+                out.append("import requests\n\n");
+                empty = false;
+            }
+            
+            mainCalls.append("    # ").append(spec.getMethodName()).append("()\n");
+            
+            // 方法名作为注释
+            out.append("# ").append(spec.getMethodName()).append("\n");
+            
+            // 函数定义
+            out.append("def ").append(spec.getMethodName()).append("():\n");
+            
+            // 获取生成的Python代码，但跳过import部分
+            entry.setLength(0);
+            render(context, spec, entry);
+            String[] lines = entry.toString().split("\n");
+            boolean skipImport = true;
+            
+            for (String line : lines) {
+                if (skipImport && line.trim().startsWith("import")) {
+                    continue;
+                }
+                skipImport = false;
+                // 添加缩进
+                out.append("    ").append(line).append("\n");
+            }
+            
+            out.append("\n\n");
+        }
+        
+        if (empty) {
+            return;
+        }
+        
+        // 添加主函数调用
+        out.append("if __name__ == '__main__':\n");
+        out.append(mainCalls);
+    }
+
+    /**
+     * 追加Python字典内容，数字和布尔值不加引号
+     *
+     * @param out 输出
+     * @param parameters 参数
+     * @param allowJson 是否保留已经是JSON对象的值
+     */
+    private static void appendDict(Appendable out, Map<String, String> parameters, boolean allowJson) throws IOException {
+        for (Map.Entry<String, String> entry : parameters.entrySet()) {
+            String value = entry.getValue();
+            if ((allowJson && value.startsWith("{") && value.endsWith("}")) || RenderContext.isNumber(value)) {
+                // 已经是JSON格式或数字，不需要引号
+                out.append("    \"").append(entry.getKey()).append("\": ")
+                   .append(value).append(",\n");
+            } else if (RenderContext.isBoolean(value)) {
+                // 布尔值不需要引号，且Python使用首字母大写
+                out.append("    \"").append(entry.getKey()).append("\": ")
+                   .append(Character.toUpperCase(value.charAt(0))).append(value, 1, value.length()).append(",\n");
+            } else {
+                out.append("    \"").append(entry.getKey()).append("\": \"")
+                   .append(value).append("\",\n");
+            }
+        }
+    }
+}
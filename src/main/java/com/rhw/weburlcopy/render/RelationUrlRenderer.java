@@ -0,0 +1,38 @@
+package com.rhw.weburlcopy.render;
+
+import com.rhw.weburlcopy.analysis.PathTemplate;
+import com.rhw.weburlcopy.analysis.RequestSpec;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 相对URL渲染器
+ * 输出URL的地址段和参数，不包含主机
+ */
+public class RelationUrlRenderer implements RequestRenderer {
+
+    public static final String ID = "relationUrl";
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    @Override
+    public void render(RenderContext context, RequestSpec spec, Appendable out) throws IOException {
+        Map<String, String> values = context.applyDefaultParameters(spec);
+        PathTemplate path = spec.getPathTemplate();
+        
+        context.appendRelativeUrl(out, path, values);
+        
+        // 路径变量已经替换到路径中，其余参数作为查询参数
+        Map<String, String> parameters = RenderContext.withoutPathVariables(values, path);
+        
+        // 添加参数（无论什么请求方法）
+        if (!parameters.isEmpty() && !spec.hasBody()) {
+            out.append("?");
+            RenderContext.appendParameters(out, parameters);
+        }
+    }
+}
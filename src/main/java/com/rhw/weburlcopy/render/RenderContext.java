@@ -0,0 +1,204 @@
+package com.rhw.weburlcopy.render;
+
+import com.intellij.openapi.project.Project;
+import com.rhw.weburlcopy.analysis.PathTemplate;
+import com.rhw.weburlcopy.analysis.RequestSpec;
+import com.rhw.weburlcopy.model.ConfigSettings;
+import com.rhw.weburlcopy.model.ParameterRuleMatcher;
+import com.rhw.weburlcopy.model.SettingsSnapshot;
+import com.rhw.weburlcopy.model.ValueTemplate;
+import com.rhw.weburlcopy.util.UrlEncodeUtil;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 渲染上下文
+ * 保存一次渲染所需的环境配置副本，并提供各渲染器共用的路径拼接和参数处理逻辑
+ */
+public final class RenderContext {
+
+    // 数字值
+    private static final Pattern NUMBER = Pattern.compile("\\d+(\\.\\d+)?");
+
+    // 协议+主机+上下文路径
+    private final String fullUrlPrefix;
+
+    // 上下文路径
+    private final String contextPath;
+
+    // 当前环境，用于计算值模板中的环境变量，直接指定配置创建时为null
+    private final SettingsSnapshot.Environment environment;
+
+    // 请求头的值模板
+    private final Map<String, ValueTemplate> headers;
+
+    // 请求头都不包含占位符时为请求头的值，否则为null，每次生成请求时重新计算
+    private final Map<String, String> constantHeaders;
+
+    // 默认参数的值模板
+    private final Map<String, ValueTemplate> defaultParameters;
+
+    // 按作用范围生效的默认参数规则
+    private final ParameterRuleMatcher parameterRules;
+
+    public RenderContext(String fullUrlPrefix, String contextPath,
+                         Map<String, String> headers, Map<String, String> defaultParameters) {
+        this.fullUrlPrefix = fullUrlPrefix;
+        this.contextPath = contextPath;
+        this.environment = null;
+        this.headers = ValueTemplate.parseAll(headers);
+        this.constantHeaders = ValueTemplate.allConstant(this.headers)
+                ? Collections.unmodifiableMap(new LinkedHashMap<>(headers)) : null;
+        this.defaultParameters = ValueTemplate.parseAll(defaultParameters);
+        this.parameterRules = ParameterRuleMatcher.EMPTY;
+    }
+
+    private RenderContext(SettingsSnapshot.Environment environment, ParameterRuleMatcher parameterRules) {
+        // 快照中的映射已经合并、解析好且不可变，直接共享
+        this.fullUrlPrefix = environment.getFullUrlPrefix();
+        this.contextPath = environment.getContextPath();
+        this.environment = environment;
+        this.headers = environment.getHeaderTemplates();
+        this.constantHeaders = ValueTemplate.allConstant(headers) ? environment.getHeaders() : null;
+        this.defaultParameters = environment.getParameterTemplates();
+        this.parameterRules = parameterRules;
+    }
+
+    /**
+     * 根据当前项目配置创建渲染上下文，使用当前环境合并后的请求头和默认参数
+     *
+     * @param project 当前项目
+     * @return 渲染上下文
+     */
+    public static RenderContext create(Project project) {
+        SettingsSnapshot settings = ConfigSettings.getInstance(project).getSnapshot();
+        return new RenderContext(settings.getActiveEnvironment(), settings.getParameterRules());
+    }
+
+    public String getFullUrlPrefix() {
+        return fullUrlPrefix;
+    }
+
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    /**
+     * 获取请求头的值，包含 {{$uuid}} 等占位符时每次调用重新计算
+     *
+     * @return 请求头名称到值的映射
+     */
+    public Map<String, String> getHeaders() {
+        if (constantHeaders != null) {
+            return constantHeaders;
+        }
+        Map<String, String> result = new LinkedHashMap<>();
+        for (Map.Entry<String, ValueTemplate> entry : headers.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().evaluate(environment));
+        }
+        return result;
+    }
+
+    /**
+     * 应用默认参数值到请求参数，匹配接口的默认参数规则优先于全局和环境默认参数
+     *
+     * @param spec 请求描述
+     * @return 应用默认值后的参数映射
+     */
+    public Map<String, String> applyDefaultParameters(RequestSpec spec) {
+        Map<String, String> parameters = spec.getParameterValues();
+        Map<String, ValueTemplate> scoped = parameterRules.resolve(spec.getPath(), spec.getHttpMethod(),
+                spec.getClassName());
+        Map<String, String> result = new LinkedHashMap<>(parameters);
+        for (String paramName : parameters.keySet()) {
+            ValueTemplate defaultValue = scoped.get(paramName);
+            if (defaultValue == null) {
+                defaultValue = defaultParameters.get(paramName);
+            }
+            if (defaultValue != null) {
+                result.put(paramName, defaultValue.evaluate(environment));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 追加完整URL（协议、主机、上下文路径和接口路径），路径变量替换为参数值
+     */
+    public void appendFullUrl(Appendable out, PathTemplate path, Map<String, String> parameters) throws IOException {
+        out.append(fullUrlPrefix);
+        appendPath(out, path, parameters);
+    }
+
+    /**
+     * 追加相对URL（上下文路径和接口路径），路径变量替换为参数值
+     */
+    public void appendRelativeUrl(Appendable out, PathTemplate path, Map<String, String> parameters) throws IOException {
+        out.append(contextPath);
+        appendPath(out, path, parameters);
+    }
+
+    /**
+     * 追加展开后的接口路径，确保与上下文路径之间只有一个斜杠
+     */
+    private void appendPath(Appendable out, PathTemplate path, Map<String, String> parameters) throws IOException {
+        if (contextPath.endsWith("/") && path.startsWithSlash()) {
+            path.expandRelative(parameters, out);
+        } else {
+            if (!contextPath.endsWith("/") && !path.startsWithSlash()) {
+                out.append("/");
+            }
+            path.expand(parameters, out);
+        }
+    }
+
+    /**
+     * 去掉已经替换到路径中的参数
+     *
+     * @param parameters 参数映射
+     * @param path 路径模板
+     * @return 不包含路径变量的参数映射，路径没有变量时返回原映射
+     */
+    public static Map<String, String> withoutPathVariables(Map<String, String> parameters, PathTemplate path) {
+        if (!path.hasVariables()) {
+            return parameters;
+        }
+        Map<String, String> result = new LinkedHashMap<>(parameters);
+        result.keySet().removeAll(path.getVariableNames());
+        return result;
+    }
+
+    /**
+     * 以 key=value&key=value 的形式追加参数，参数名和参数值按URL规则编码
+     */
+    public static void appendParameters(Appendable out, Map<String, String> parameters) throws IOException {
+        boolean first = true;
+        for (Map.Entry<String, String> entry : parameters.entrySet()) {
+            if (!first) {
+                out.append("&");
+            }
+            UrlEncodeUtil.appendQueryComponent(out, entry.getKey());
+            out.append("=");
+            UrlEncodeUtil.appendQueryComponent(out, entry.getValue());
+            first = false;
+        }
+    }
+
+    /**
+     * 判断值是否为数字
+     */
+    public static boolean isNumber(String value) {
+        return NUMBER.matcher(value).matches();
+    }
+
+    /**
+     * 判断值是否为布尔值
+     */
+    public static boolean isBoolean(String value) {
+        return value.equals("true") || value.equals("false");
+    }
+}
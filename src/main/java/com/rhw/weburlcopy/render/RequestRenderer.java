@@ -0,0 +1,103 @@
+package com.rhw.weburlcopy.render;
+
+import com.intellij.openapi.extensions.ExtensionPointName;
+import com.rhw.weburlcopy.analysis.RequestSpec;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * 请求渲染器扩展点
+ * 将分析阶段产生的 {@link RequestSpec} 渲染为某种输出格式
+ */
+public interface RequestRenderer {
+
+    ExtensionPointName<RequestRenderer> EP_NAME = ExtensionPointName.create("com.rhw.web-url-copy.requestRenderer");
+
+    /**
+     * 渲染器ID，动作通过ID查找渲染器
+     *
+     * @return 渲染器ID
+     */
+    String getId();
+
+    /**
+     * 渲染单个请求，直接写入输出
+     *
+     * @param context 渲染上下文
+     * @param spec 请求描述
+     * @param out 输出
+     * @throws IOException 写入失败
+     */
+    void render(RenderContext context, RequestSpec spec, Appendable out) throws IOException;
+
+    /**
+     * 渲染多个请求，默认以方法名注释分隔
+     * 请求描述按需逐个读取，实现不应缓存整个列表，以便导出大量接口时内存保持恒定。
+     * 声明了多个路径或HTTP方法的请求展开为每个变体
+     *
+     * @param context 渲染上下文
+     * @param specs 请求描述
+     * @param out 输出
+     * @throws IOException 写入失败
+     */
+    default void renderAll(RenderContext context, Iterable<RequestSpec> specs, Appendable out) throws IOException {
+        for (RequestSpec spec : RequestSpec.expand(specs)) {
+            out.append("# ").append(spec.getMethodName()).append("\n");
+            render(context, spec, out);
+            out.append("\n\n");
+        }
+    }
+
+    /**
+     * 渲染单个请求为字符串
+     *
+     * @param context 渲染上下文
+     * @param spec 请求描述
+     * @return 渲染结果
+     */
+    default String render(RenderContext context, RequestSpec spec) {
+        StringBuilder result = new StringBuilder();
+        try {
+            render(context, spec, result);
+        } catch (IOException e) {
+            // StringBuilder不会抛出IOException
+            throw new IllegalStateException(e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * 渲染多个请求为字符串
+     *
+     * @param context 渲染上下文
+     * @param specs 请求描述
+     * @return 渲染结果
+     */
+    default String renderAll(RenderContext context, Iterable<RequestSpec> specs) {
+        StringBuilder result = new StringBuilder();
+        try {
+            renderAll(context, specs, result);
+        } catch (IOException e) {
+            // StringBuilder不会抛出IOException
+            throw new IllegalStateException(e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * 根据ID查找渲染器
+     *
+     * @param id 渲染器ID
+     * @return 渲染器，不存在时返回null
+     */
+    @Nullable
+    static RequestRenderer findById(String id) {
+        for (RequestRenderer renderer : EP_NAME.getExtensionList()) {
+            if (renderer.getId().equals(id)) {
+                return renderer;
+            }
+        }
+        return null;
+    }
+}
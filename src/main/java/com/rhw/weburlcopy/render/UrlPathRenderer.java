@@ -0,0 +1,26 @@
+package com.rhw.weburlcopy.render;
+
+import com.rhw.weburlcopy.analysis.RequestSpec;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * URL路径渲染器
+ * 只输出URL地址段，不包含host和参数
+ */
+public class UrlPathRenderer implements RequestRenderer {
+
+    public static final String ID = "urlPath";
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    @Override
+    public void render(RenderContext context, RequestSpec spec, Appendable out) throws IOException {
+        // 不替换路径变量，只去掉变量上的约束正则
+        spec.getPathTemplate().expand(Map.of(), out);
+    }
+}
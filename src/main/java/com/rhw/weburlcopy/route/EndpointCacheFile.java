@@ -0,0 +1,246 @@
+package com.rhw.weburlcopy.route;
+
+import com.intellij.util.io.ByteBufferUtil;
+import com.rhw.weburlcopy.index.EndpointInfo;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 接口模型的磁盘缓存
+ * 紧凑的二进制格式：所有字符串（文件URL、类名、方法名、参数类型、路径、参数名和类型）只在字符串表中出现一次，
+ * 其余位置只记录变长整数编号；每个文件附带修改时间戳和长度，文件变化后对应条目不再使用。
+ * 读取时通过内存映射直接解码，启动阶段不需要索引也能立即恢复路由
+ */
+public final class EndpointCacheFile {
+
+    // 文件头 "WUC1"
+    private static final int MAGIC = 0x57554331;
+
+    // 格式版本，修改格式时递增
+    private static final int VERSION = 5;
+
+    private static final EndpointInfo.ParamKind[] PARAM_KINDS = EndpointInfo.ParamKind.values();
+
+    /**
+     * 单个文件的缓存条目
+     */
+    public static final class Entry {
+
+        // 分析时文件的修改时间戳，内容来自未保存的文档时为-1
+        private final long timeStamp;
+
+        // 分析时文件的长度
+        private final long length;
+
+        private final List<EndpointInfo> endpoints;
+
+        public Entry(long timeStamp, long length, List<EndpointInfo> endpoints) {
+            this.timeStamp = timeStamp;
+            this.length = length;
+            this.endpoints = endpoints;
+        }
+
+        public long getTimeStamp() {
+            return timeStamp;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        /**
+         * 条目是否与文件当前的状态一致
+         *
+         * @param timeStamp 文件当前的修改时间戳
+         * @param length 文件当前的长度
+         * @return 一致时返回true
+         */
+        public boolean isUpToDate(long timeStamp, long length) {
+            return this.timeStamp >= 0 && this.timeStamp == timeStamp && this.length == length;
+        }
+
+        public List<EndpointInfo> getEndpoints() {
+            return endpoints;
+        }
+    }
+
+    /**
+     * 读取缓存文件
+     *
+     * @param path 缓存文件路径
+     * @return 文件URL到缓存条目的映射，文件不存在或格式不匹配时返回空
+     * @throws IOException 读取失败
+     */
+    public static Map<String, Entry> read(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return Map.of();
+        }
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            return decode(buffer);
+        } catch (RuntimeException e) {
+            // 文件被截断或损坏
+            throw new IOException("接口缓存文件格式错误: " + path, e);
+        } finally {
+            // 及时解除映射，避免Windows上无法覆盖文件
+            ByteBufferUtil.cleanBuffer(buffer);
+        }
+    }
+
+    private static Map<String, Entry> decode(ByteBuffer buffer) {
+        if (buffer.remaining() < 4 || buffer.getInt() != MAGIC || readVarInt(buffer) != VERSION) {
+            return Map.of();
+        }
+
+        String[] strings = new String[readVarInt(buffer)];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[readVarInt(buffer)];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int fileCount = readVarInt(buffer);
+        Map<String, Entry> result = new HashMap<>(fileCount * 2);
+        for (int i = 0; i < fileCount; i++) {
+            String url = strings[readVarInt(buffer)];
+            long timeStamp = readVarLong(buffer) - 1;
+            long length = readVarLong(buffer);
+            int endpointCount = readVarInt(buffer);
+            List<EndpointInfo> endpoints = new ArrayList<>(endpointCount);
+            for (int j = 0; j < endpointCount; j++) {
+                String classQualifiedName = strings[readVarInt(buffer)];
+                String methodName = strings[readVarInt(buffer)];
+                int parameterCount = readVarInt(buffer);
+                List<String> parameterTypes = new ArrayList<>(parameterCount);
+                for (int k = 0; k < parameterCount; k++) {
+                    parameterTypes.add(strings[readVarInt(buffer)]);
+                }
+                String httpMethod = strings[readVarInt(buffer)];
+                String routePath = strings[readVarInt(buffer)];
+                int paramCount = readVarInt(buffer);
+                List<EndpointInfo.ParamInfo> params = new ArrayList<>(paramCount);
+                for (int k = 0; k < paramCount; k++) {
+                    String name = strings[readVarInt(buffer)];
+                    EndpointInfo.ParamKind kind = PARAM_KINDS[readVarInt(buffer)];
+                    params.add(new EndpointInfo.ParamInfo(name, kind, strings[readVarInt(buffer)]));
+                }
+                boolean exact = readVarInt(buffer) != 0;
+                endpoints.add(new EndpointInfo(classQualifiedName, methodName, parameterTypes,
+                        httpMethod, routePath, params, exact));
+            }
+            result.put(url, new Entry(timeStamp, length, endpoints));
+        }
+        return result;
+    }
+
+    /**
+     * 写入缓存文件，先写临时文件再替换，写入中断不会留下不完整的缓存
+     *
+     * @param path 缓存文件路径
+     * @param entries 文件URL到缓存条目的映射
+     * @throws IOException 写入失败
+     */
+    public static void write(Path path, Map<String, Entry> entries) throws IOException {
+        // 字符串表按首次出现的顺序编号
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writeVarInt(body, entries.size());
+        for (Map.Entry<String, Entry> file : entries.entrySet()) {
+            writeVarInt(body, intern(strings, file.getKey()));
+            // 时间戳加一后写入，-1也只占一个字节
+            writeVarLong(body, file.getValue().getTimeStamp() + 1);
+            writeVarLong(body, file.getValue().getLength());
+            List<EndpointInfo> endpoints = file.getValue().getEndpoints();
+            writeVarInt(body, endpoints.size());
+            for (EndpointInfo endpoint : endpoints) {
+                writeVarInt(body, intern(strings, endpoint.getClassQualifiedName()));
+                writeVarInt(body, intern(strings, endpoint.getMethodName()));
+                writeVarInt(body, endpoint.getParameterCount());
+                for (String parameterType : endpoint.getParameterTypes()) {
+                    writeVarInt(body, intern(strings, parameterType));
+                }
+                writeVarInt(body, intern(strings, endpoint.getHttpMethod()));
+                writeVarInt(body, intern(strings, endpoint.getPath()));
+                writeVarInt(body, endpoint.getParams().size());
+                for (EndpointInfo.ParamInfo param : endpoint.getParams()) {
+                    writeVarInt(body, intern(strings, param.getName()));
+                    writeVarInt(body, param.getKind().ordinal());
+                    writeVarInt(body, intern(strings, param.getTypeText()));
+                }
+                writeVarInt(body, endpoint.isExact() ? 1 : 0);
+            }
+        }
+
+        Files.createDirectories(path.getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+            out.write(ByteBuffer.allocate(4).putInt(MAGIC).array());
+            writeVarInt(out, VERSION);
+            writeVarInt(out, strings.size());
+            for (String string : strings.keySet()) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                writeVarInt(out, bytes.length);
+                out.write(bytes);
+            }
+            body.writeTo(out);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int intern(Map<String, Integer> strings, String value) {
+        Integer index = strings.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.put(value, index);
+        }
+        return index;
+    }
+
+    private static void writeVarInt(OutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        return (int) readVarLong(buffer);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("变长整数过长");
+    }
+}
@@ -0,0 +1,577 @@
+package com.rhw.weburlcopy.route;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectUtil;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.psi.PsiCodeBlock;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiTreeChangeAdapter;
+import com.intellij.psi.PsiTreeChangeEvent;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.Alarm;
+import com.rhw.weburlcopy.analysis.SyntacticEndpointAnalyzer;
+import com.rhw.weburlcopy.export.EndpointExporter;
+import com.rhw.weburlcopy.index.EndpointIndexUtil;
+import com.rhw.weburlcopy.index.EndpointInfo;
+import com.rhw.weburlcopy.model.ConfigSettings;
+import com.rhw.weburlcopy.util.DisposerUtil;
+import com.rhw.weburlcopy.util.RequestUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 项目接口模型
+ * 首次使用时从接口索引加载全部接口，之后增量维护：PSI和文件系统变化只把涉及的Java文件标记为脏，
+ * 连续的修改经过防抖合并后，在后台只重新分析这些文件并替换它们在路由前缀树中的条目。
+ * 方法体内的编辑不影响接口，直接忽略，在控制器中输入代码不会触发任何项目级的工作。
+ * 模型保存在项目系统目录的 {@link EndpointCacheFile} 中，IDE重启后在索引完成前即可从缓存恢复路由，
+ * 索引完成后再从索引重新加载并核对
+ */
+public final class EndpointModel implements Disposable {
+
+    private static final Logger LOG = Logger.getInstance(EndpointModel.class);
+
+    // 合并连续修改的等待时间
+    private static final int UPDATE_DELAY_MS = 300;
+
+    // 缓存文件名
+    private static final String CACHE_FILE_NAME = "endpoints.bin";
+
+    private final Project project;
+
+    // 每个文件当前的接口和文件版本，只包含有接口的文件
+    private final Map<VirtualFile, EndpointCacheFile.Entry> fileEndpoints = new HashMap<>();
+
+    // 接口所在的文件，用于索引完成前定位方法
+    private final Map<EndpointInfo, VirtualFile> endpointFiles = new HashMap<>();
+
+    private final RouteTrie<EndpointInfo> trie = new RouteTrie<>();
+
+    // 保护 fileEndpoints、endpointFiles 和 trie
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 等待重新分析的文件
+    private final Set<VirtualFile> dirtyFiles = ConcurrentHashMap.newKeySet();
+
+    // 串行化加载和增量更新
+    private final Object updateLock = new Object();
+
+    private final Alarm alarm;
+
+    // 加载时的分析配置版本，配置变化后需要重新加载
+    private volatile long loadedSettingsStamp = -1;
+
+    // 是否已从磁盘缓存恢复
+    private volatile boolean restored;
+
+    // 是否有尚未写入缓存的修改
+    private volatile boolean unsaved;
+
+    public EndpointModel(Project project) {
+        this.project = project;
+        this.alarm = DisposerUtil.createAlarm(this, Alarm.ThreadToUse.POOLED_THREAD);
+
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeChangeAdapter() {
+            @Override
+            public void childAdded(@NotNull PsiTreeChangeEvent event) {
+                onPsiChanged(event);
+            }
+
+            @Override
+            public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+                onPsiChanged(event);
+            }
+
+            @Override
+            public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+                onPsiChanged(event);
+            }
+
+            @Override
+            public void childMoved(@NotNull PsiTreeChangeEvent event) {
+                onPsiChanged(event);
+            }
+
+            @Override
+            public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+                onPsiChanged(event);
+            }
+        }, this);
+
+        project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                for (VFileEvent event : events) {
+                    VirtualFile file = event.getFile();
+                    // 删除目录时目录下的文件不会单独产生事件
+                    if (file != null && (file.isDirectory() || "java".equals(file.getExtension()))) {
+                        markDirty(file);
+                    }
+                }
+            }
+        });
+    }
+
+    public static EndpointModel getInstance(Project project) {
+        return project.getService(EndpointModel.class);
+    }
+
+    /**
+     * 是否已加载且与当前分析配置一致
+     */
+    public boolean isLoaded() {
+        return loadedSettingsStamp == ConfigSettings.getInstance(project).getAnalysisTracker().getModificationCount();
+    }
+
+    /**
+     * 是否可以查询：已加载，或已从磁盘缓存恢复
+     */
+    public boolean isAvailable() {
+        return restored || isLoaded();
+    }
+
+    /**
+     * 从磁盘缓存恢复接口模型，不需要索引，在后台线程中调用
+     * 修改时间戳或长度与当前文件不一致的条目被丢弃，由索引完成后的重新加载补全
+     */
+    public void restoreFromCache() {
+        Map<String, EndpointCacheFile.Entry> cached;
+        try {
+            cached = EndpointCacheFile.read(getCachePath());
+        } catch (IOException e) {
+            LOG.info("读取接口缓存失败，等待索引完成后重新加载", e);
+            return;
+        }
+
+        Map<VirtualFile, EndpointCacheFile.Entry> valid = new HashMap<>();
+        VirtualFileManager fileManager = VirtualFileManager.getInstance();
+        for (Map.Entry<String, EndpointCacheFile.Entry> entry : cached.entrySet()) {
+            VirtualFile file = fileManager.findFileByUrl(entry.getKey());
+            if (file != null && file.isValid() && entry.getValue().isUpToDate(file.getTimeStamp(), file.getLength())) {
+                valid.put(file, entry.getValue());
+            }
+        }
+
+        synchronized (updateLock) {
+            if (isLoaded()) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                for (Map.Entry<VirtualFile, EndpointCacheFile.Entry> entry : valid.entrySet()) {
+                    replace(entry.getKey(), entry.getValue());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            restored = true;
+        }
+    }
+
+    /**
+     * 获取接口所在的文件
+     *
+     * @param endpoint 接口
+     * @return 文件，不在模型中时返回null
+     */
+    @Nullable
+    public VirtualFile getFile(EndpointInfo endpoint) {
+        lock.readLock().lock();
+        try {
+            return endpointFiles.get(endpoint);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 在后台加载接口模型，已加载时不做任何事
+     */
+    public void loadInBackground() {
+        if (!isLoaded()) {
+            alarm.addRequest(this::loadIfNeeded, 0);
+        }
+    }
+
+    /**
+     * 匹配请求路径
+     * 不在调用线程中加载：尚未加载时在后台开始加载，本次只使用已有的结果（包括从磁盘缓存恢复的结果）。
+     * 调用方通常在读操作中，在这里等待加载会阻塞写操作
+     *
+     * @param path 请求路径
+     * @return 匹配的接口，尚未加载或没有匹配时为空
+     */
+    public List<EndpointInfo> match(String path) {
+        loadInBackground();
+        return matchLoaded(path);
+    }
+
+    /**
+     * 匹配请求路径，不触发加载
+     *
+     * @param path 请求路径
+     * @return 匹配的接口，尚未加载或没有匹配时为空
+     */
+    public List<EndpointInfo> matchLoaded(String path) {
+        lock.readLock().lock();
+        try {
+            return trie.match(path);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void onPsiChanged(PsiTreeChangeEvent event) {
+        PsiFile file = event.getFile();
+        if (!(file instanceof PsiJavaFile)) {
+            return;
+        }
+        // 方法体和初始化块内的修改不影响接口
+        PsiElement parent = event.getParent();
+        if (parent != null && !(parent instanceof PsiFile)
+                && PsiTreeUtil.getParentOfType(parent, PsiCodeBlock.class, false) != null) {
+            return;
+        }
+        VirtualFile virtualFile = file.getViewProvider().getVirtualFile();
+        markDirty(virtualFile);
+    }
+
+    private void markDirty(VirtualFile file) {
+        // 尚未加载时没有需要更新的内容，加载时会读取最新状态
+        if (loadedSettingsStamp < 0) {
+            return;
+        }
+        dirtyFiles.add(file);
+        alarm.cancelAllRequests();
+        alarm.addRequest(this::flush, UPDATE_DELAY_MS);
+    }
+
+    /**
+     * 在后台线程中加载
+     * 读操作中只读取索引，不持有 updateLock；读操作结束后再加锁替换模型，写操作不会等待锁
+     */
+    private void loadIfNeeded() {
+        if (isLoaded()) {
+            return;
+        }
+        LoadResult result;
+        try {
+            result = ReadAction.nonBlocking(this::load)
+                    .inSmartMode(project)
+                    .expireWith(this)
+                    .executeSynchronously();
+        } catch (ProcessCanceledException e) {
+            // 项目关闭时取消
+            return;
+        }
+        synchronized (updateLock) {
+            if (!isLoaded()) {
+                applyLoaded(result);
+            }
+        }
+        save();
+    }
+
+    /**
+     * 加载结果
+     */
+    private static final class LoadResult {
+        // 开始加载时的分析配置版本
+        final long settingsStamp;
+        final Map<VirtualFile, EndpointCacheFile.Entry> entries;
+
+        LoadResult(long settingsStamp, Map<VirtualFile, EndpointCacheFile.Entry> entries) {
+            this.settingsStamp = settingsStamp;
+            this.entries = entries;
+        }
+    }
+
+    /**
+     * 从接口索引读取全部接口，需要在智能模式的读操作中调用，不修改模型
+     */
+    private LoadResult load() {
+        long stamp = ConfigSettings.getInstance(project).getAnalysisTracker().getModificationCount();
+        // 加载期间的修改已包含在索引中
+        dirtyFiles.clear();
+
+        Map<VirtualFile, EndpointCacheFile.Entry> loaded = new HashMap<>();
+        for (VirtualFile file : EndpointExporter.findControllerFiles(project, GlobalSearchScope.projectScope(project))) {
+            ProgressManager.checkCanceled();
+            List<EndpointInfo> endpoints = EndpointIndexUtil.getFileEndpoints(project, file);
+            if (endpoints != null && !endpoints.isEmpty()) {
+                loaded.put(file, createEntry(file, resolveInexact(file, endpoints)));
+            }
+        }
+        return new LoadResult(stamp, loaded);
+    }
+
+    /**
+     * 用加载结果替换模型，需要持有 updateLock
+     */
+    private void applyLoaded(LoadResult result) {
+        Map<VirtualFile, EndpointCacheFile.Entry> loaded = result.entries;
+        lock.writeLock().lock();
+        try {
+            // 替换从缓存恢复或旧配置下加载的全部内容
+            for (VirtualFile file : new ArrayList<>(fileEndpoints.keySet())) {
+                if (!loaded.containsKey(file)) {
+                    replace(file, null);
+                }
+            }
+            for (Map.Entry<VirtualFile, EndpointCacheFile.Entry> entry : loaded.entrySet()) {
+                replace(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        loadedSettingsStamp = result.settingsStamp;
+        unsaved = true;
+    }
+
+    /**
+     * 将当前模型写入磁盘缓存
+     */
+    private void save() {
+        if (!unsaved) {
+            return;
+        }
+        unsaved = false;
+
+        Map<String, EndpointCacheFile.Entry> snapshot = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<VirtualFile, EndpointCacheFile.Entry> entry : fileEndpoints.entrySet()) {
+                snapshot.put(entry.getKey().getUrl(), entry.getValue());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        try {
+            EndpointCacheFile.write(getCachePath(), snapshot);
+        } catch (IOException e) {
+            LOG.info("写入接口缓存失败", e);
+        }
+    }
+
+    private Path getCachePath() {
+        return ProjectUtil.getProjectCachePath(project, "web-url-copy").resolve(CACHE_FILE_NAME);
+    }
+
+    /**
+     * 创建缓存条目，记录文件的修改时间戳和长度，不读取文件内容
+     * 接口来自未保存的文档时，磁盘上的文件与接口不一致，时间戳记为-1，这样的条目不会从缓存恢复
+     */
+    private static EndpointCacheFile.Entry createEntry(VirtualFile file, List<EndpointInfo> endpoints) {
+        long timeStamp = FileDocumentManager.getInstance().isFileModified(file) ? -1 : file.getTimeStamp();
+        return new EndpointCacheFile.Entry(timeStamp, file.getLength(), endpoints);
+    }
+
+    /**
+     * 重新分析脏文件，分析配置变化时改为整体重新加载
+     */
+    private void flush() {
+        if (!isLoaded()) {
+            dirtyFiles.clear();
+            loadIfNeeded();
+            return;
+        }
+
+        List<VirtualFile> files = new ArrayList<>(dirtyFiles);
+        dirtyFiles.removeAll(files);
+        if (files.isEmpty()) {
+            return;
+        }
+
+        try {
+            Map<VirtualFile, EndpointCacheFile.Entry> updates = ReadAction.nonBlocking(() -> analyze(files))
+                    .expireWith(this)
+                    .executeSynchronously();
+            synchronized (updateLock) {
+                apply(updates);
+            }
+        } catch (ProcessCanceledException e) {
+            // 被写操作打断，稍后重试
+            dirtyFiles.addAll(files);
+            alarm.addRequest(this::flush, UPDATE_DELAY_MS);
+        } catch (RuntimeException e) {
+            // 这些文件已从脏文件中取出，路由可能已经过期，改为从索引整体重新加载
+            LOG.warn("增量更新接口模型失败，重新加载", e);
+            synchronized (updateLock) {
+                loadedSettingsStamp = -1;
+            }
+            alarm.addRequest(this::loadIfNeeded, UPDATE_DELAY_MS);
+        }
+    }
+
+    /**
+     * 语法分析脏文件，不依赖索引，索引中也可以更新
+     *
+     * @return 文件对应的新条目，文件已删除、不在项目中或没有接口时为null
+     */
+    private Map<VirtualFile, EndpointCacheFile.Entry> analyze(List<VirtualFile> files) {
+        Map<VirtualFile, EndpointCacheFile.Entry> result = new HashMap<>();
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        PsiManager psiManager = PsiManager.getInstance(project);
+        for (VirtualFile file : files) {
+            ProgressManager.checkCanceled();
+            if (!file.isValid() || file.isDirectory()) {
+                result.put(file, null);
+                continue;
+            }
+            PsiFile psiFile = fileIndex.isInContent(file) ? psiManager.findFile(file) : null;
+            List<EndpointInfo> endpoints = psiFile instanceof PsiJavaFile
+                    ? SyntacticEndpointAnalyzer.analyze((PsiJavaFile) psiFile) : List.of();
+            if (!DumbService.isDumb(project)) {
+                endpoints = resolveInexact(file, endpoints);
+            }
+            result.put(file, endpoints.isEmpty() ? null : createEntry(file, endpoints));
+        }
+        return result;
+    }
+
+    /**
+     * 重新计算常量表达式路径和组合注解的接口，需要在智能模式的读操作中调用
+     * 只处理语法上无法确定的少数接口，其余接口原样返回。
+     * 同一方法的多条近似条目替换为解析后所有路径和HTTP方法的组合
+     */
+    private List<EndpointInfo> resolveInexact(VirtualFile file, List<EndpointInfo> endpoints) {
+        List<EndpointInfo> result = null;
+        Set<PsiMethod> resolved = null;
+        PsiFile psiFile = null;
+        for (int i = 0; i < endpoints.size(); i++) {
+            EndpointInfo endpoint = endpoints.get(i);
+            if (endpoint.isExact()) {
+                if (result != null) {
+                    result.add(endpoint);
+                }
+                continue;
+            }
+            if (psiFile == null) {
+                psiFile = PsiManager.getInstance(project).findFile(file);
+            }
+            PsiMethod method = psiFile != null ? RouteUtil.findMethod(psiFile, endpoint) : null;
+            if (result == null) {
+                result = new ArrayList<>(endpoints.subList(0, i));
+                resolved = new HashSet<>();
+            }
+            if (method == null) {
+                result.add(endpoint);
+                continue;
+            }
+            if (!resolved.add(method)) {
+                // 同一方法的其他组合已经展开
+                continue;
+            }
+
+            boolean hasBody = false;
+            boolean hasObject = false;
+            for (EndpointInfo.ParamInfo param : endpoint.getParams()) {
+                hasBody |= param.getKind() == EndpointInfo.ParamKind.BODY;
+                hasObject |= param.getKind() == EndpointInfo.ParamKind.OBJECT;
+            }
+            List<String> httpMethods = RequestUtil.getHttpMethods(method, hasBody, hasObject);
+            for (String path : RequestUtil.getRequestPaths(method)) {
+                for (String httpMethod : httpMethods) {
+                    result.add(new EndpointInfo(endpoint.getClassQualifiedName(), endpoint.getMethodName(),
+                            endpoint.getParameterTypes(), httpMethod, path, endpoint.getParams(), true));
+                }
+            }
+        }
+        return result != null ? result : endpoints;
+    }
+
+    private void apply(Map<VirtualFile, EndpointCacheFile.Entry> updates) {
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<VirtualFile, EndpointCacheFile.Entry> entry : updates.entrySet()) {
+                VirtualFile file = entry.getKey();
+                if (!file.isValid()) {
+                    // 删除的文件或目录，清理所有已失效的文件
+                    List<VirtualFile> invalid = new ArrayList<>();
+                    for (VirtualFile known : fileEndpoints.keySet()) {
+                        if (!known.isValid()) {
+                            invalid.add(known);
+                        }
+                    }
+                    for (VirtualFile known : invalid) {
+                        replace(known, null);
+                    }
+                }
+                if (!file.isDirectory()) {
+                    replace(file, entry.getValue());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 替换文件的接口，需要持有写锁
+     *
+     * @param entry 新条目，为null时删除文件的接口
+     */
+    private void replace(VirtualFile file, @Nullable EndpointCacheFile.Entry entry) {
+        EndpointCacheFile.Entry old = fileEndpoints.get(file);
+        if (old == null && entry == null) {
+            return;
+        }
+        unsaved = true;
+        if (old != null && entry != null && old.getEndpoints().equals(entry.getEndpoints())) {
+            fileEndpoints.put(file, entry);
+            return;
+        }
+        if (old != null) {
+            for (EndpointInfo endpoint : old.getEndpoints()) {
+                trie.remove(endpoint.getPath(), endpoint);
+                endpointFiles.remove(endpoint);
+            }
+        }
+        if (entry == null) {
+            fileEndpoints.remove(file);
+            return;
+        }
+        fileEndpoints.put(file, entry);
+        for (EndpointInfo endpoint : entry.getEndpoints()) {
+            trie.insert(endpoint.getPath(), endpoint);
+            endpointFiles.put(endpoint, file);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        // 保存最近的增量修改，下次启动时直接使用
+        if (isLoaded()) {
+            save();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.rhw.weburlcopy.route;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.startup.StartupActivity;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 项目打开后恢复接口模型
+ * 先从磁盘缓存恢复，索引期间即可根据URL查找接口；索引完成后在后台从索引重新加载并更新缓存
+ */
+public class EndpointModelStartupActivity implements StartupActivity.Background {
+
+    @Override
+    public void runActivity(@NotNull Project project) {
+        EndpointModel model = EndpointModel.getInstance(project);
+        model.restoreFromCache();
+        model.loadInBackground();
+    }
+}
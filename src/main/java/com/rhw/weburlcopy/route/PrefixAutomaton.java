@@ -0,0 +1,177 @@
+package com.rhw.weburlcopy.route;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 多前缀匹配自动机
+ * 基于Aho-Corasick构建的确定性自动机，失败转移已折叠进转移表，扫描文本时每个字符只查一次表、不分配对象，
+ * 一遍扫描即可找出所有前缀出现的位置
+ */
+public final class PrefixAutomaton {
+
+    // 前缀列表
+    private final String[] patterns;
+
+    // ASCII字符到字母表下标的映射，不在字母表中为-1
+    private final int[] asciiIndex = new int[128];
+
+    // 非ASCII字符到字母表下标的映射
+    private final Map<Character, Integer> otherIndex = new HashMap<>();
+
+    // 状态转移表 delta[状态][字母表下标]
+    private final int[][] delta;
+
+    // 每个状态结束的最长前缀下标，没有时为-1
+    private final int[] output;
+
+    /**
+     * 构建自动机
+     *
+     * @param patterns 前缀列表，忽略空字符串
+     */
+    public PrefixAutomaton(List<String> patterns) {
+        List<String> nonEmpty = new ArrayList<>();
+        for (String pattern : patterns) {
+            if (pattern != null && !pattern.isEmpty() && !nonEmpty.contains(pattern)) {
+                nonEmpty.add(pattern);
+            }
+        }
+        this.patterns = nonEmpty.toArray(new String[0]);
+
+        // 字母表只包含前缀中出现的字符
+        Arrays.fill(asciiIndex, -1);
+        int alphabetSize = 0;
+        for (String pattern : this.patterns) {
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (indexOf(c) < 0) {
+                    if (c < 128) {
+                        asciiIndex[c] = alphabetSize++;
+                    } else {
+                        otherIndex.put(c, alphabetSize++);
+                    }
+                }
+            }
+        }
+
+        // 构建前缀树
+        List<int[]> gotoTable = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        gotoTable.add(newRow(alphabetSize));
+        outputs.add(-1);
+        for (int p = 0; p < this.patterns.length; p++) {
+            int state = 0;
+            String pattern = this.patterns[p];
+            for (int i = 0; i < pattern.length(); i++) {
+                int symbol = indexOf(pattern.charAt(i));
+                if (gotoTable.get(state)[symbol] < 0) {
+                    gotoTable.get(state)[symbol] = gotoTable.size();
+                    gotoTable.add(newRow(alphabetSize));
+                    outputs.add(-1);
+                }
+                state = gotoTable.get(state)[symbol];
+            }
+            outputs.set(state, p);
+        }
+
+        // 按层计算失败转移并折叠进转移表
+        int stateCount = gotoTable.size();
+        delta = gotoTable.toArray(new int[0][]);
+        output = new int[stateCount];
+        for (int i = 0; i < stateCount; i++) {
+            output[i] = outputs.get(i);
+        }
+        int[] fail = new int[stateCount];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            int next = delta[0][symbol];
+            if (next < 0) {
+                delta[0][symbol] = 0;
+            } else {
+                fail[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int next = delta[state][symbol];
+                if (next < 0) {
+                    delta[state][symbol] = delta[fail[state]][symbol];
+                } else {
+                    fail[next] = delta[fail[state]][symbol];
+                    if (output[next] < 0) {
+                        output[next] = output[fail[next]];
+                    }
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    /**
+     * 初始状态
+     */
+    public int initialState() {
+        return 0;
+    }
+
+    /**
+     * 读入一个字符
+     *
+     * @param state 当前状态
+     * @param c 字符
+     * @return 下一个状态
+     */
+    public int step(int state, char c) {
+        int symbol = indexOf(c);
+        return symbol < 0 ? 0 : delta[state][symbol];
+    }
+
+    /**
+     * 获取在当前位置结束的最长前缀
+     *
+     * @param state 当前状态
+     * @return 前缀下标，没有时返回-1
+     */
+    public int getMatch(int state) {
+        return output[state];
+    }
+
+    /**
+     * 获取前缀长度
+     */
+    public int getPatternLength(int pattern) {
+        return patterns[pattern].length();
+    }
+
+    /**
+     * 是否没有任何前缀
+     */
+    public boolean isEmpty() {
+        return patterns.length == 0;
+    }
+
+    private int indexOf(char c) {
+        if (c < 128) {
+            return asciiIndex[c];
+        }
+        if (otherIndex.isEmpty()) {
+            return -1;
+        }
+        Integer index = otherIndex.get(c);
+        return index != null ? index : -1;
+    }
+
+    private static int[] newRow(int size) {
+        int[] row = new int[size];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
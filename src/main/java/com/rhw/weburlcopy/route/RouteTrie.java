@@ -0,0 +1,276 @@
+package com.rhw.weburlcopy.route;
+
+import com.intellij.openapi.util.text.StringUtil;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 路由前缀树
+ * 按路径段组织请求映射，支持字面量段、{var}、{var:regex}、段内混合模式（如 {name}.{ext}）、* 和 **。
+ * 匹配时逐段下行，优先级为 字面量 > 正则段 > {var} > * > **，命中第一个最具体的路由即返回，
+ * 没有歧义的路由只需按路径长度走一遍，不会线性扫描所有映射。
+ * 支持按路由增删，单个文件变化时只需替换该文件的路由；本身不做同步，并发修改和匹配需要由调用方加锁
+ *
+ * @param <T> 路由对应的值
+ */
+public final class RouteTrie<T> {
+
+    private static final class Node<T> {
+        // 字面量子节点
+        Map<String, Node<T>> literals;
+        // 正则段子节点
+        List<PatternChild<T>> patterns;
+        // {var} 子节点
+        Node<T> variable;
+        // * 子节点
+        Node<T> wildcard;
+        // 以 ** 结尾的路由，匹配剩余的任意段
+        List<T> doubleWildcard;
+        // 在此结束的路由
+        List<T> values;
+    }
+
+    private static final class PatternChild<T> {
+        final String regex;
+        final Pattern pattern;
+        final Node<T> node = new Node<>();
+
+        PatternChild(String regex, Pattern pattern) {
+            this.regex = regex;
+            this.pattern = pattern;
+        }
+    }
+
+    private final Node<T> root = new Node<>();
+
+    private int size;
+
+    /**
+     * 添加路由
+     *
+     * @param path 路径模板
+     * @param value 路由对应的值
+     */
+    public void insert(String path, T value) {
+        Node<T> node = root;
+        for (String segment : StringUtil.split(path, "/")) {
+            if ("**".equals(segment) || (segment.startsWith("{*") && segment.endsWith("}"))) {
+                // ** 和 {*var} 匹配剩余所有段，之后的段不再参与匹配
+                if (node.doubleWildcard == null) {
+                    node.doubleWildcard = new ArrayList<>(1);
+                }
+                node.doubleWildcard.add(value);
+                size++;
+                return;
+            }
+            node = child(node, segment, true);
+        }
+        if (node.values == null) {
+            node.values = new ArrayList<>(1);
+        }
+        node.values.add(value);
+        size++;
+    }
+
+    /**
+     * 删除路由，路由不存在时不做任何事
+     *
+     * @param path 添加时使用的路径模板
+     * @param value 路由对应的值
+     */
+    public void remove(String path, T value) {
+        Node<T> node = root;
+        for (String segment : StringUtil.split(path, "/")) {
+            if ("**".equals(segment) || (segment.startsWith("{*") && segment.endsWith("}"))) {
+                if (node.doubleWildcard != null && node.doubleWildcard.remove(value)) {
+                    size--;
+                }
+                return;
+            }
+            node = child(node, segment, false);
+            if (node == null) {
+                return;
+            }
+        }
+        if (node.values != null && node.values.remove(value)) {
+            size--;
+        }
+    }
+
+    /**
+     * 匹配请求路径
+     *
+     * @param path 请求路径，不含协议、主机和查询参数
+     * @return 最具体的路由对应的值（同一路径的多个HTTP方法都会返回），没有匹配时为空
+     */
+    public List<T> match(String path) {
+        List<String> segments = StringUtil.split(path, "/");
+        List<T> result = new ArrayList<>(2);
+        collect(root, segments, 0, result);
+        return result;
+    }
+
+    /**
+     * 路由数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 获取段对应的子节点
+     *
+     * @param create 不存在时是否创建
+     * @return 子节点，不创建且不存在时返回null
+     */
+    private static <T> Node<T> child(Node<T> node, String segment, boolean create) {
+        if ("*".equals(segment)) {
+            if (node.wildcard == null && create) {
+                node.wildcard = new Node<>();
+            }
+            return node.wildcard;
+        }
+
+        if (isVariable(segment)) {
+            if (node.variable == null && create) {
+                node.variable = new Node<>();
+            }
+            return node.variable;
+        }
+
+        if (segment.indexOf('{') >= 0 || segment.indexOf('*') >= 0) {
+            String regex = toRegex(segment);
+            if (regex != null) {
+                if (node.patterns != null) {
+                    for (PatternChild<T> existing : node.patterns) {
+                        if (existing.regex.equals(regex)) {
+                            return existing.node;
+                        }
+                    }
+                }
+                if (!create) {
+                    return node.literals != null ? node.literals.get(segment) : null;
+                }
+                if (node.patterns == null) {
+                    node.patterns = new ArrayList<>(1);
+                }
+                try {
+                    PatternChild<T> patternChild = new PatternChild<>(regex, Pattern.compile(regex));
+                    node.patterns.add(patternChild);
+                    return patternChild.node;
+                } catch (PatternSyntaxException e) {
+                    // 无法编译的正则按字面量处理
+                }
+            }
+        }
+
+        if (!create) {
+            return node.literals != null ? node.literals.get(segment) : null;
+        }
+        if (node.literals == null) {
+            node.literals = new HashMap<>();
+        }
+        return node.literals.computeIfAbsent(segment, key -> new Node<>());
+    }
+
+    private static <T> boolean collect(Node<T> node, List<String> segments, int index, List<T> result) {
+        if (index == segments.size()) {
+            if (node.values != null) {
+                result.addAll(node.values);
+                return true;
+            }
+        } else {
+            String segment = segments.get(index);
+
+            Node<T> literal = node.literals != null ? node.literals.get(segment) : null;
+            if (literal != null && collect(literal, segments, index + 1, result)) {
+                return true;
+            }
+            if (node.patterns != null) {
+                for (PatternChild<T> patternChild : node.patterns) {
+                    if (patternChild.pattern.matcher(segment).matches()
+                            && collect(patternChild.node, segments, index + 1, result)) {
+                        return true;
+                    }
+                }
+            }
+            if (node.variable != null && collect(node.variable, segments, index + 1, result)) {
+                return true;
+            }
+            if (node.wildcard != null && collect(node.wildcard, segments, index + 1, result)) {
+                return true;
+            }
+        }
+
+        if (node.doubleWildcard != null) {
+            result.addAll(node.doubleWildcard);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 是否为整段的 {var}
+     */
+    private static boolean isVariable(String segment) {
+        return segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}'
+                && segment.indexOf('{', 1) < 0 && segment.indexOf(':') < 0;
+    }
+
+    /**
+     * 将包含变量或通配符的段转换为正则，括号不匹配时返回null
+     */
+    private static String toRegex(String segment) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < segment.length()) {
+            char c = segment.charAt(i);
+            if (c == '{') {
+                int end = findClosingBrace(segment, i);
+                if (end < 0) {
+                    return null;
+                }
+                appendLiteral(regex, literal);
+                String variable = segment.substring(i + 1, end);
+                int colon = variable.indexOf(':');
+                regex.append('(').append(colon >= 0 ? variable.substring(colon + 1) : "[^/]+").append(')');
+                i = end + 1;
+            } else if (c == '*') {
+                appendLiteral(regex, literal);
+                regex.append("[^/]*");
+                i++;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        appendLiteral(regex, literal);
+        return regex.toString();
+    }
+
+    private static int findClosingBrace(String segment, int start) {
+        int depth = 0;
+        for (int i = start; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void appendLiteral(StringBuilder regex, StringBuilder literal) {
+        if (literal.length() > 0) {
+            regex.append(Pattern.quote(literal.toString()));
+            literal.setLength(0);
+        }
+    }
+}
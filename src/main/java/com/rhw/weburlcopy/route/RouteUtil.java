@@ -0,0 +1,193 @@
+package com.rhw.weburlcopy.route;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.rhw.weburlcopy.index.EndpointIndexUtil;
+import com.rhw.weburlcopy.index.EndpointInfo;
+import com.rhw.weburlcopy.model.ConfigSettings;
+import com.rhw.weburlcopy.model.SettingsSnapshot;
+import com.rhw.weburlcopy.util.UrlEncodeUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 路由查询工具类
+ * 通过增量维护的 {@link EndpointModel} 根据URL反查请求处理方法，需要在读操作中调用。
+ * 索引中使用磁盘缓存恢复的接口，并直接在记录的文件中定位方法
+ */
+public class RouteUtil {
+
+    /**
+     * 根据URL查找接口
+     *
+     * @param project 当前项目
+     * @param url 完整URL或路径
+     * @return 匹配的接口，没有匹配时为空
+     */
+    public static List<EndpointInfo> findEndpoints(Project project, String url) {
+        return EndpointModel.getInstance(project).match(extractPath(project, url));
+    }
+
+    /**
+     * 根据URL查找请求处理方法
+     *
+     * @param project 当前项目
+     * @param url 完整URL或路径
+     * @return 匹配的方法，没有匹配时为空
+     */
+    public static List<PsiMethod> findMethods(Project project, String url) {
+        Set<PsiMethod> result = new LinkedHashSet<>();
+        for (EndpointInfo endpoint : findEndpoints(project, url)) {
+            PsiMethod method = findMethod(project, endpoint);
+            if (method != null) {
+                result.add(method);
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * 查找接口对应的方法
+     * 优先在接口模型记录的文件中查找，不依赖索引；索引可用时再按类名全局查找
+     *
+     * @param project 当前项目
+     * @param endpoint 接口
+     * @return 方法，类或方法已不存在时返回null
+     */
+    public static PsiMethod findMethod(Project project, EndpointInfo endpoint) {
+        VirtualFile file = EndpointModel.getInstance(project).getFile(endpoint);
+        PsiFile psiFile = file != null && file.isValid() ? PsiManager.getInstance(project).findFile(file) : null;
+        PsiMethod method = psiFile != null ? findMethod(psiFile, endpoint) : null;
+        if (method != null || DumbService.isDumb(project)) {
+            return method;
+        }
+        PsiClass psiClass = JavaPsiFacade.getInstance(project)
+                .findClass(endpoint.getClassQualifiedName(), GlobalSearchScope.projectScope(project));
+        return psiClass != null ? findMethod(psiClass, endpoint) : null;
+    }
+
+    /**
+     * 在文件中查找接口对应的方法，不依赖索引
+     *
+     * @param psiFile 接口所在的文件
+     * @param endpoint 接口
+     * @return 方法，不存在时返回null
+     */
+    public static PsiMethod findMethod(PsiFile psiFile, EndpointInfo endpoint) {
+        if (!(psiFile instanceof PsiJavaFile)) {
+            return null;
+        }
+        PsiClass psiClass = findClass(((PsiJavaFile) psiFile).getClasses(), endpoint.getClassQualifiedName());
+        return psiClass != null ? findMethod(psiClass, endpoint) : null;
+    }
+
+    private static PsiMethod findMethod(PsiClass psiClass, EndpointInfo endpoint) {
+        for (PsiMethod method : psiClass.findMethodsByName(endpoint.getMethodName(), false)) {
+            if (EndpointIndexUtil.matches(endpoint, method)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 在类及其内部类中按全限定名查找
+     */
+    private static PsiClass findClass(PsiClass[] classes, String qualifiedName) {
+        for (PsiClass psiClass : classes) {
+            if (qualifiedName.equals(psiClass.getQualifiedName())) {
+                return psiClass;
+            }
+            PsiClass inner = findClass(psiClass.getInnerClasses(), qualifiedName);
+            if (inner != null) {
+                return inner;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 从URL中提取请求路径
+     * 去掉已配置环境的协议、主机和上下文路径；其他主机的URL去掉协议和主机，再尝试去掉已配置的上下文路径。
+     * 查询参数和锚点一并去掉，路径按UTF-8百分号解码（与 {@link UrlEncodeUtil} 的编码相反），以便与接口的路径模板比较
+     *
+     * @param project 当前项目
+     * @param url 完整URL或路径
+     * @return 以斜杠开头的请求路径
+     */
+    public static String extractPath(Project project, String url) {
+        String path = url.trim();
+        int end = indexOfAny(path, '?', '#');
+        if (end >= 0) {
+            path = path.substring(0, end);
+        }
+        // 先去掉查询参数再解码，%3F、%23 解码后不会被误当作分隔符
+        path = UrlEncodeUtil.decodePath(path);
+
+        // 按前缀长度从长到短匹配已配置的环境
+        List<SettingsSnapshot.Environment> configs = new ArrayList<>(
+                ConfigSettings.getInstance(project).getSnapshot().getEnvironments());
+        configs.sort(Comparator.comparingInt((SettingsSnapshot.Environment config) -> config.getFullUrlPrefix().length())
+                .reversed());
+        for (SettingsSnapshot.Environment config : configs) {
+            String prefix = trimTrailingSlash(config.getFullUrlPrefix());
+            if (isPathPrefix(path, prefix)) {
+                return ensureLeadingSlash(path.substring(prefix.length()));
+            }
+        }
+
+        // 其他主机：去掉协议和主机
+        int scheme = path.indexOf("://");
+        if (scheme >= 0) {
+            int slash = path.indexOf('/', scheme + 3);
+            path = slash >= 0 ? path.substring(slash) : "/";
+        }
+        path = ensureLeadingSlash(path);
+
+        for (SettingsSnapshot.Environment config : configs) {
+            String contextPath = trimTrailingSlash(ensureLeadingSlash(config.getContextPath()));
+            if (contextPath.length() > 1 && isPathPrefix(path, contextPath)) {
+                return ensureLeadingSlash(path.substring(contextPath.length()));
+            }
+        }
+        return path;
+    }
+
+    /**
+     * prefix是否为path的前缀，且在路径段边界结束
+     */
+    private static boolean isPathPrefix(String path, String prefix) {
+        return path.startsWith(prefix)
+                && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/');
+    }
+
+    private static int indexOfAny(String text, char first, char second) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == first || c == second) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String trimTrailingSlash(String path) {
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private static String ensureLeadingSlash(String path) {
+        return path.startsWith("/") ? path : "/" + path;
+    }
+}
@@ -0,0 +1,24 @@
+package com.rhw.weburlcopy.util;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.psi.util.PsiModificationTracker;
+
+/**
+ * PSI缓存工具类
+ * 统一提供分析结果缓存所依赖的修改追踪器
+ */
+public class PsiCacheUtil {
+
+    /**
+     * 获取Java结构修改追踪器
+     * 使用代码块外修改追踪器：类、方法签名、字段和注解的修改都会递增，方法体和初始化块内的编辑不会使缓存失效。
+     * 按语言区分的追踪器在任何Java PSI修改时都会递增，不能用于这里
+     *
+     * @param project 当前项目
+     * @return 修改追踪器
+     */
+    public static ModificationTracker getJavaStructureTracker(Project project) {
+        return PsiModificationTracker.getInstance(project).getOutOfCodeBlockModificationTracker();
+    }
+}
@@ -1,25 +1,36 @@
 package com.rhw.weburlcopy.util;
 
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiAnnotation;
-import com.intellij.psi.PsiAnnotationMemberValue;
-import com.intellij.psi.PsiArrayInitializerMemberValue;
 import com.intellij.psi.PsiClass;
-import com.intellij.psi.PsiClassType;
-import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiField;
-import com.intellij.psi.PsiLiteralExpression;
 import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiModifier;
-import com.intellij.psi.PsiNameValuePair;
 import com.intellij.psi.PsiParameter;
 import com.intellij.psi.PsiType;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.rhw.weburlcopy.analysis.DtoSchema;
+import com.rhw.weburlcopy.analysis.DtoSchemaCache;
+import com.rhw.weburlcopy.analysis.FrameworkAnnotation;
+import com.rhw.weburlcopy.analysis.FrameworkAnnotations;
+import com.rhw.weburlcopy.analysis.JsonSampleGenerator;
+import com.rhw.weburlcopy.analysis.MappingHierarchy;
+import com.rhw.weburlcopy.analysis.MappingResolver;
+import com.rhw.weburlcopy.analysis.PathSet;
+import com.rhw.weburlcopy.analysis.RequestSpec;
+import com.rhw.weburlcopy.index.EndpointIndexUtil;
+import com.rhw.weburlcopy.index.EndpointInfo;
 import com.rhw.weburlcopy.model.ConfigSettings;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 请求工具类
@@ -37,16 +48,19 @@ public class RequestUtil {
             return false;
         }
         
+        // 优先读取接口索引
+        List<EndpointInfo> indexed = EndpointIndexUtil.getClassEndpoints(psiClass);
+        if (indexed != null) {
+            return !indexed.isEmpty();
+        }
+        
         try {
-            // 检查注解
+            // 检查注解：控制器注解或声明了类路径的映射注解
+            FrameworkAnnotations frameworkAnnotations = FrameworkAnnotations.getInstance(psiClass.getProject());
             PsiAnnotation[] annotations = psiClass.getAnnotations();
             for (PsiAnnotation annotation : annotations) {
-                String qualifiedName = annotation.getQualifiedName();
-                if (qualifiedName != null && (
-                        qualifiedName.contains("Controller") || // 更宽松的匹配，包括各种Controller注解
-                        qualifiedName.contains("RestController") || 
-                        qualifiedName.contains("Path") // 支持JAX-RS的Path注解
-                )) {
+                FrameworkAnnotation descriptor = MappingResolver.findDescriptor(annotation, frameworkAnnotations);
+                if (descriptor != null && descriptor.isClassMarker()) {
                     return true;
                 }
             }
@@ -93,6 +107,13 @@ public class RequestUtil {
             return false;
         }
         
+        // 优先读取接口索引
+        PsiClass indexedClass = psiMethod.getContainingClass();
+        List<EndpointInfo> indexed = indexedClass != null ? EndpointIndexUtil.getClassEndpoints(indexedClass) : null;
+        if (indexed != null) {
+            return EndpointIndexUtil.findEndpoint(indexed, psiMethod) != null;
+        }
+        
         try {
             // 首先检查所在类是否为控制器
             PsiClass containingClass = psiMethod.getContainingClass();
@@ -104,22 +125,19 @@ public class RequestUtil {
                     return true;
                 }
                 
+                FrameworkAnnotations frameworkAnnotations = FrameworkAnnotations.getInstance(psiMethod.getProject());
                 for (PsiAnnotation annotation : annotations) {
-                    String qualifiedName = annotation.getQualifiedName();
-                    if (qualifiedName != null && (
-                            qualifiedName.contains("Mapping") || // 匹配各种Mapping注解
-                            qualifiedName.contains("GetMapping") || // 明确支持GetMapping
-                            qualifiedName.contains("GET") ||
-                            qualifiedName.contains("POST") ||
-                            qualifiedName.contains("PUT") ||
-                            qualifiedName.contains("DELETE") ||
-                            qualifiedName.contains("PATCH") ||
-                            qualifiedName.contains("Path") // JAX-RS Path注解
-                    )) {
+                    FrameworkAnnotation descriptor = MappingResolver.findDescriptor(annotation, frameworkAnnotations);
+                    if (descriptor != null && descriptor.getKind() == FrameworkAnnotation.Kind.MAPPING) {
                         return true;
                     }
                 }
                 
+                // 映射声明在接口或父类的方法上
+                if (MappingHierarchy.getMappingMethod(psiMethod) != psiMethod) {
+                    return true;
+                }
+                
                 // 没有特定的注解，但方法是公开的，也视为API
                 if (psiMethod.hasModifierProperty(PsiModifier.PUBLIC)) {
                     return true;
@@ -134,187 +152,197 @@ public class RequestUtil {
     }
 
     /**
-     * 获取请求路径
+     * 获取控制器类中的所有请求处理方法
+     * 结果缓存在类上，右键菜单的可见性判断可以反复调用
+     * 
+     * @param psiClass 控制器类
+     * @return 只读的请求处理方法列表
      */
-    public static String getRequestPath(PsiMethod method) {
-        if (method == null) {
-            return "";
+    public static List<PsiMethod> getRequestMethods(PsiClass psiClass) {
+        if (psiClass == null) {
+            return Collections.emptyList();
         }
         
+        Project project = psiClass.getProject();
+        return CachedValuesManager.getCachedValue(psiClass, () -> CachedValueProvider.Result.create(
+                Collections.unmodifiableList(findRequestMethods(psiClass)),
+                PsiCacheUtil.getJavaStructureTracker(project),
+                ConfigSettings.getInstance(project).getAnalysisTracker(),
+                DumbService.getInstance(project).getModificationTracker()));
+    }
+
+    /**
+     * 判断方法是否为接口方法，基于缓存的请求处理方法列表
+     * 
+     * @param method 方法
+     * @return 是接口方法时返回true
+     */
+    public static boolean isEndpoint(PsiMethod method) {
         PsiClass containingClass = method.getContainingClass();
-        String classPath = "";
-        if (containingClass != null) {
-            classPath = getRequestPathFromAnnotation(containingClass.getAnnotations());
-        }
+        return containingClass != null && getRequestMethods(containingClass).contains(method);
+    }
+
+    private static List<PsiMethod> findRequestMethods(PsiClass psiClass) {
+        List<PsiMethod> result = new ArrayList<>();
         
-        String methodPath = getRequestPathFromAnnotation(method.getAnnotations());
+        // 优先读取接口索引，只保留索引中记录的方法
+        List<EndpointInfo> indexed = EndpointIndexUtil.getClassEndpoints(psiClass);
+        if (indexed != null) {
+            if (!indexed.isEmpty()) {
+                for (PsiMethod method : psiClass.getMethods()) {
+                    if (EndpointIndexUtil.findEndpoint(indexed, method) != null) {
+                        result.add(method);
+                    }
+                }
+            }
+            return result;
+        }
         
-        // 拼接并清理路径
-        String path = classPath + methodPath;
-        if (path.isEmpty()) {
-            return "/";
+        if (isControllerClass(psiClass)) {
+            for (PsiMethod method : psiClass.getMethods()) {
+                if (isRequestMethod(method)) {
+                    result.add(method);
+                }
+            }
         }
+        return result;
+    }
+
+    /**
+     * 获取请求路径，映射声明了多个路径时取第一个
+     * 索引中的路径只在能由字面量确定时直接使用，常量表达式、组合注解和继承的映射需要解析。
+     * 方法和类没有声明映射时，使用接口或父类上声明的映射
+     */
+    public static String getRequestPath(PsiMethod method) {
+        if (method == null) {
+            return "";
+        }
+        
+        PsiClass containingClass = method.getContainingClass();
         
-        // 规范化路径格式
-        path = path.replaceAll("//", "/");
-        if (!path.startsWith("/")) {
-            path = "/" + path;
+        // 优先读取接口索引
+        List<EndpointInfo> indexed = containingClass != null ? EndpointIndexUtil.getClassEndpoints(containingClass) : null;
+        EndpointInfo endpoint = indexed != null ? EndpointIndexUtil.findEndpoint(indexed, method) : null;
+        if (endpoint != null && endpoint.isExact()) {
+            return endpoint.getPath();
         }
         
-        return path;
+        return getRequestPaths(method).first();
     }
 
     /**
-     * 从注解中获取请求路径
+     * 获取映射声明的所有请求路径，类路径和方法路径都声明了多个值时为两者的笛卡尔积
+     * 
+     * @param method 请求处理方法
+     * @return 路径集合
      */
-    private static String getRequestPathFromAnnotation(PsiAnnotation[] annotations) {
-        for (PsiAnnotation annotation : annotations) {
-            String qualifiedName = annotation.getQualifiedName();
-            if (qualifiedName == null) continue;
-
-            // Spring MVC注解 - 处理 GetMapping 和其他 Mapping 注解
-            if (qualifiedName.contains("Mapping")) {
-                PsiNameValuePair[] attributes = annotation.getParameterList().getAttributes();
-                for (PsiNameValuePair attribute : attributes) {
-                    String name = attribute.getName();
-                    if (name == null || name.equals("value") || name.equals("path")) {
-                        // 处理数组形式的值，例如 @RequestMapping(value = {"/path1", "/path2"})
-                        PsiElement valueElement = attribute.getValue();
-                        if (valueElement instanceof PsiArrayInitializerMemberValue) {
-                            // 处理数组形式，获取第一个值
-                            PsiArrayInitializerMemberValue arrayValue = (PsiArrayInitializerMemberValue) valueElement;
-                            PsiAnnotationMemberValue[] initializers = arrayValue.getInitializers();
-                            if (initializers.length > 0) {
-                                // 获取第一个元素并提取字符串值
-                                String arrayFirstValue = extractStringFromMemberValue(initializers[0]);
-                                if (arrayFirstValue != null) {
-                                    return arrayFirstValue;
-                                }
-                            }
-                        } else {
-                            // 处理单个值形式
-                            String literalValue = attribute.getLiteralValue();
-                            if (literalValue != null) {
-                                return literalValue;
-                            }
-                        }
-                    }
-                }
-            }
-            
-            // JAX-RS注解
-            if (qualifiedName.equals("javax.ws.rs.Path")) {
-                PsiNameValuePair[] attributes = annotation.getParameterList().getAttributes();
-                for (PsiNameValuePair attribute : attributes) {
-                    String value = attribute.getLiteralValue();
-                    if (value != null) {
-                        return value;
-                    }
-                }
-            }
+    public static PathSet getRequestPaths(PsiMethod method) {
+        FrameworkAnnotations frameworkAnnotations = FrameworkAnnotations.getInstance(method.getProject());
+        PsiClass containingClass = method.getContainingClass();
+        List<String> classPaths = List.of();
+        if (containingClass != null) {
+            PsiClass mappingClass = MappingHierarchy.getMappingClass(containingClass);
+            classPaths = getRequestPathsFromAnnotation(mappingClass.getAnnotations(), frameworkAnnotations);
         }
-        return "";
+        
+        PsiMethod mappingMethod = MappingHierarchy.getMappingMethod(method);
+        List<String> methodPaths = getRequestPathsFromAnnotation(mappingMethod.getAnnotations(), frameworkAnnotations);
+        
+        return PathSet.of(classPaths, methodPaths);
     }
-    
+
     /**
-     * 从PsiAnnotationMemberValue中提取字符串值
+     * 从注解中获取所有请求路径，支持常量表达式和组合注解
      */
-    private static String extractStringFromMemberValue(PsiAnnotationMemberValue memberValue) {
-        if (memberValue instanceof PsiLiteralExpression) {
-            Object value = ((PsiLiteralExpression) memberValue).getValue();
-            return value != null ? value.toString() : null;
-        } else {
-            // 尝试获取文本并清理引号
-            String text = memberValue.getText();
-            if (text != null && text.startsWith("\"") && text.endsWith("\"") && text.length() >= 2) {
-                return text.substring(1, text.length() - 1);
+    private static List<String> getRequestPathsFromAnnotation(PsiAnnotation[] annotations, FrameworkAnnotations frameworkAnnotations) {
+        for (PsiAnnotation annotation : annotations) {
+            // 数组形式如 @RequestMapping(value = {"/path1", "/path2"}) 保留所有值
+            List<String> paths = MappingResolver.resolvePaths(annotation, frameworkAnnotations);
+            if (!paths.isEmpty()) {
+                return paths;
             }
-            return text;
         }
+        return List.of();
     }
 
     /**
-     * 判断请求方法类型
+     * 判断请求方法类型，映射声明了多个HTTP方法时取第一个
      */
     public static String getRequestMethod(PsiMethod method, boolean hasJsonParam, boolean hasComplexObjectParam) {
-        if (method == null) {
-            if (hasJsonParam || hasComplexObjectParam) {
-                return "POST";
-            }
+        return getHttpMethods(method, hasJsonParam, hasComplexObjectParam).get(0);
+    }
 
-            return "GET";
-        }
-        
-        PsiAnnotation[] annotations = method.getAnnotations();
-        for (PsiAnnotation annotation : annotations) {
-            String qualifiedName = annotation.getQualifiedName();
-            if (qualifiedName == null) continue;
-            
-            // Spring MVC
-            if (qualifiedName.contains("GetMapping")) {
-                return "GET";
-            } else if (qualifiedName.contains("PostMapping")) {
-                return "POST";
-            } else if (qualifiedName.contains("PutMapping")) {
-                return "PUT";
-            } else if (qualifiedName.contains("DeleteMapping")) {
-                return "DELETE";
-            } else if (qualifiedName.contains("PatchMapping")) {
-                return "PATCH";
-            } else if (qualifiedName.contains("RequestMapping")) {
-                PsiNameValuePair[] attributes = annotation.getParameterList().getAttributes();
-                for (PsiNameValuePair attribute : attributes) {
-                    String name = attribute.getName();
-                    if ("method".equals(name)) {
-                        String value = attribute.getValue().getText();
-                        if (value.contains("GET")) {
-                            return "GET";
-                        } else if (value.contains("POST")) {
-                            return "POST";
-                        } else if (value.contains("PUT")) {
-                            return "PUT";
-                        } else if (value.contains("DELETE")) {
-                            return "DELETE";
-                        } else if (value.contains("PATCH")) {
-                            return "PATCH";
-                        }
-                    }
+    /**
+     * 获取映射声明的所有HTTP方法，没有声明时按参数推断一个
+     * 
+     * @param method 请求处理方法
+     * @param hasJsonParam 是否有JSON请求体参数
+     * @param hasComplexObjectParam 是否有复杂对象参数
+     * @return HTTP方法列表，至少包含一个
+     */
+    public static List<String> getHttpMethods(PsiMethod method, boolean hasJsonParam, boolean hasComplexObjectParam) {
+        if (method != null) {
+            FrameworkAnnotations frameworkAnnotations = FrameworkAnnotations.getInstance(method.getProject());
+            PsiAnnotation[] annotations = MappingHierarchy.getMappingMethod(method).getAnnotations();
+            for (PsiAnnotation annotation : annotations) {
+                // 固定方法的映射注解（@GetMapping、@GET等）、@RequestMapping(method = ...) 或组合注解
+                List<String> httpMethods = MappingResolver.resolveHttpMethods(annotation, frameworkAnnotations);
+                if (!httpMethods.isEmpty()) {
+                    return httpMethods;
                 }
             }
-            
-            // JAX-RS
-            if (qualifiedName.equals("javax.ws.rs.GET")) {
-                return "GET";
-            } else if (qualifiedName.equals("javax.ws.rs.POST")) {
-                return "POST";
-            } else if (qualifiedName.equals("javax.ws.rs.PUT")) {
-                return "PUT";
-            } else if (qualifiedName.equals("javax.ws.rs.DELETE")) {
-                return "DELETE";
-            }
         }
 
         if (hasJsonParam || hasComplexObjectParam) {
-            return "POST";
+            return List.of("POST");
         }
         
         // 默认为GET
-        return "GET";
+        return List.of("GET");
     }
 
     /**
-     * 获取参数Map
+     * 获取方法的请求描述
+     * 结果缓存在方法上，只有Java结构发生变化时才会重新分析
+     * 
+     * @param method 请求处理方法
+     * @return 请求描述
      */
-    public static Map<String, String> getParameters(PsiMethod method) {
-        Map<String, String> parameters = new HashMap<>();
-        if (method == null) {
-            return parameters;
+    public static RequestSpec getRequestSpec(PsiMethod method) {
+        Project project = method.getProject();
+        return CachedValuesManager.getCachedValue(method, () -> CachedValueProvider.Result.create(
+                analyzeRequest(method), PsiCacheUtil.getJavaStructureTracker(project),
+                ConfigSettings.getInstance(project).getAnalysisTracker()));
+    }
+
+    /**
+     * 获取控制器类中所有请求处理方法的请求描述
+     * 
+     * @param psiClass 控制器类
+     * @return 请求描述列表
+     */
+    public static List<RequestSpec> getRequestSpecs(PsiClass psiClass) {
+        List<RequestSpec> specs = new ArrayList<>();
+        for (PsiMethod method : getRequestMethods(psiClass)) {
+            specs.add(getRequestSpec(method));
         }
+        return specs;
+    }
+
+    /**
+     * 分析方法，生成请求描述
+     */
+    private static RequestSpec analyzeRequest(PsiMethod method) {
+        Project project = method.getProject();
+        int maxDepth = ConfigSettings.getInstance(project).getSnapshot().getMaxSchemaDepth();
+        PathSet paths = getRequestPaths(method);
+        Map<String, RequestSpec.Param> parameters = new LinkedHashMap<>();
         
-        // 首先处理路径变量
-        extractPathVariables(method, parameters);
+        // 首先处理路径变量，包括所有路径中出现的变量
+        extractPathVariables(method, paths.getPathVariableNames(), parameters);
         
         PsiParameter[] params = method.getParameterList().getParameters();
+        String body = null;
         boolean hasJsonParam = false;
         boolean hasComplexObjectParam = false;
         
@@ -324,48 +352,45 @@ public class RequestUtil {
             // 检查是否是JSON参数（复杂对象且不是基本类型或String）
             if (!isPrimitiveOrString(type)) {
                 if (isRequestBody(param)) {
-                    // 对于@RequestBody, 尝试解析对象属性
-                    parameters.put("body", generateJsonForType(type));
+                    // 对于@RequestBody, 生成完整的示例JSON
+                    body = JsonSampleGenerator.generate(project, type, maxDepth);
                     hasJsonParam = true;
                 } else {
                     // 对于未标记为@RequestBody但也不是基本类型的参数，视为复杂对象
                     String complexTypeName = type.getPresentableText();
                     if (!complexTypeName.startsWith("java.") && !type.equals(PsiType.VOID)) {
                         // 默认将复杂对象拆分为多个参数，除非明确标记为RequestBody
-                        Map<String, String> objectParams = extractObjectParameters(type);
-                        // 为对象参数添加前缀（参数名）
-                        Map<String, String> prefixedParams = new HashMap<>(objectParams);
-                        parameters.putAll(prefixedParams);
+                        for (Map.Entry<String, String> entry : extractObjectParameters(project, type, maxDepth).entrySet()) {
+                            parameters.put(entry.getKey(), new RequestSpec.Param(
+                                    entry.getKey(), EndpointInfo.ParamKind.OBJECT, entry.getValue()));
+                        }
                         hasComplexObjectParam = true;
                     }
                 }
             } else {
                 // 处理基本类型和String
-                // 首先尝试从@RequestParam注解中获取参数名
-                String paramName = getRequestParamValue(param);
                 // 检查是否是路径变量，如果是则跳过（已经在extractPathVariables中处理过）
                 if (isPathVariable(param)) {
                     continue;
                 }
+                // 首先尝试从@RequestParam注解中获取参数名
+                String paramName = getRequestParamValue(param);
                 if (paramName == null) {
                     paramName = param.getName(); // 如果没有注解或注解没有value值，使用参数原名
                 }
-                String defaultValue = getDefaultValueForType(type);
-                parameters.put(paramName, defaultValue);
+                // 按名称匹配到的路径变量保留路径变量类型
+                RequestSpec.Param existing = parameters.get(paramName);
+                EndpointInfo.ParamKind kind = existing != null && existing.getKind() == EndpointInfo.ParamKind.PATH
+                        ? EndpointInfo.ParamKind.PATH : EndpointInfo.ParamKind.QUERY;
+                parameters.put(paramName, new RequestSpec.Param(paramName, kind, getDefaultValueForType(type)));
             }
         }
         
-        // 设置标记，表示包含JSON参数
-        if (hasJsonParam) {
-            parameters.put("_hasJsonParam", "true");
-        }
-        
-        // 设置标记，表示包含复杂对象参数但不是JSON
-        if (hasComplexObjectParam && !hasJsonParam) {
-            parameters.put("_hasComplexObjectParam", "true");
-        }
-        
-        return parameters;
+        List<String> httpMethods = getHttpMethods(method, hasJsonParam, hasComplexObjectParam);
+        PsiClass containingClass = method.getContainingClass();
+        String className = containingClass != null ? containingClass.getQualifiedName() : null;
+        return new RequestSpec(className, method.getName(), httpMethods, paths, new ArrayList<>(parameters.values()),
+                body, hasJsonParam, hasComplexObjectParam && !hasJsonParam, false);
     }
 
     /**
@@ -375,31 +400,38 @@ public class RequestUtil {
      * @return 注解中指定的参数名，如果没有则返回null
      */
     private static String getRequestParamValue(PsiParameter param) {
-        PsiAnnotation[] annotations = param.getAnnotations();
-        for (PsiAnnotation annotation : annotations) {
-            String name = annotation.getQualifiedName();
-            if (name != null && name.endsWith("RequestParam")) {
-                // 从注解中获取value属性或name属性
-                PsiNameValuePair[] attributes = annotation.getParameterList().getAttributes();
-                for (PsiNameValuePair attribute : attributes) {
-                    String attrName = attribute.getName();
-                    // value和name属性都可以指定参数名
-                    if ("value".equals(attrName) || "name".equals(attrName) || attrName == null) {
-                        String literalValue = attribute.getLiteralValue();
-                        if (literalValue != null && !literalValue.isEmpty()) {
-                            return literalValue;
-                        }
-                        
-                        // 处理可能的复杂表达式
-                        PsiElement valueElement = attribute.getValue();
-                        if (valueElement != null) {
-                            String text = valueElement.getText();
-                            if (text != null && text.startsWith("\"") && text.endsWith("\"") && text.length() >= 2) {
-                                return text.substring(1, text.length() - 1);
-                            }
-                        }
-                    }
-                }
+        PsiAnnotation annotation = findParameterAnnotation(param, FrameworkAnnotation.Kind.QUERY_PARAM);
+        return annotation != null ? FrameworkAnnotations.readName(annotation) : null;
+    }
+
+    /**
+     * 查找参数上指定作用的框架注解
+     * 参数自身没有时，查找声明映射的父方法中相同位置的参数
+     */
+    private static PsiAnnotation findParameterAnnotation(PsiParameter param, FrameworkAnnotation.Kind kind) {
+        FrameworkAnnotations frameworkAnnotations = FrameworkAnnotations.getInstance(param.getProject());
+        PsiAnnotation annotation = findParameterAnnotation(param, kind, frameworkAnnotations);
+        if (annotation != null || !(param.getDeclarationScope() instanceof PsiMethod)) {
+            return annotation;
+        }
+
+        PsiMethod method = (PsiMethod) param.getDeclarationScope();
+        PsiMethod mappingMethod = MappingHierarchy.getMappingMethod(method);
+        if (mappingMethod == method) {
+            return null;
+        }
+        int index = method.getParameterList().getParameterIndex(param);
+        PsiParameter[] superParams = mappingMethod.getParameterList().getParameters();
+        return index >= 0 && index < superParams.length
+                ? findParameterAnnotation(superParams[index], kind, frameworkAnnotations) : null;
+    }
+
+    private static PsiAnnotation findParameterAnnotation(PsiParameter param, FrameworkAnnotation.Kind kind,
+                                                         FrameworkAnnotations frameworkAnnotations) {
+        for (PsiAnnotation annotation : param.getAnnotations()) {
+            FrameworkAnnotation descriptor = frameworkAnnotations.find(annotation);
+            if (descriptor != null && descriptor.getKind() == kind) {
+                return annotation;
             }
         }
         return null;
@@ -408,7 +440,7 @@ public class RequestUtil {
     /**
      * 判断是否是基本类型或String
      */
-    private static boolean isPrimitiveOrString(PsiType type) {
+    public static boolean isPrimitiveOrString(PsiType type) {
         String canonicalText = type.getCanonicalText();
         return PsiType.BOOLEAN.equals(type) || 
                PsiType.BYTE.equals(type) || 
@@ -430,20 +462,13 @@ public class RequestUtil {
      * 判断参数是否是@RequestBody
      */
     private static boolean isRequestBody(PsiParameter param) {
-        PsiAnnotation[] annotations = param.getAnnotations();
-        for (PsiAnnotation annotation : annotations) {
-            String name = annotation.getQualifiedName();
-            if (name != null && name.endsWith("RequestBody")) {
-                return true;
-            }
-        }
-        return false;
+        return findParameterAnnotation(param, FrameworkAnnotation.Kind.REQUEST_BODY) != null;
     }
 
     /**
      * 根据类型生成默认值
      */
-    private static String getDefaultValueForType(PsiType type) {
+    public static String getDefaultValueForType(PsiType type) {
         if (PsiType.BOOLEAN.equals(type) || type.getCanonicalText().equals("java.lang.Boolean")) {
             return "false";
         } else if (PsiType.INT.equals(type) || type.getCanonicalText().equals("java.lang.Integer") || 
@@ -462,144 +487,64 @@ public class RequestUtil {
     }
 
     /**
-     * 为复杂类型生成JSON
-     */
-    private static String generateJsonForType(PsiType type) {
-        if (!(type instanceof PsiClassType)) {
-            return "{}";
-        }
-        
-        PsiClass psiClass = ((PsiClassType) type).resolve();
-        if (psiClass == null) {
-            return "{}";
-        }
-        
-        StringBuilder json = new StringBuilder();
-        json.append("{");
-        
-        PsiField[] fields = psiClass.getAllFields();
-        boolean first = true;
-        
-        for (PsiField field : fields) {
-            if (field.hasModifierProperty(PsiModifier.STATIC) || 
-                field.hasModifierProperty(PsiModifier.TRANSIENT)) {
-                continue;
-            }
-            
-            if (!first) {
-                json.append(", ");
-            }
-            
-            String fieldName = field.getName();
-            PsiType fieldType = field.getType();
-            
-            json.append("\"").append(fieldName).append("\": ");
-            
-            if (isPrimitiveOrString(fieldType)) {
-                if (fieldType.getCanonicalText().equals("java.lang.String")) {
-                    json.append("\"").append(getDefaultValueForType(fieldType)).append("\"");
-                } else {
-                    json.append(getDefaultValueForType(fieldType));
-                }
-            } else {
-                json.append("{}");
-            }
-            
-            first = false;
-        }
-        
-        json.append("}");
-        return json.toString();
-    }
-
-    /**
-     * 检查参数是否有@RequestParam注解
+     * 从复杂对象提取参数
+     * 嵌套对象递归展开，超过最大深度或遇到自引用（如 Category parent）时停止
      */
-    private static boolean hasRequestParamAnnotation(PsiParameter param) {
-        PsiAnnotation[] annotations = param.getAnnotations();
-        for (PsiAnnotation annotation : annotations) {
-            String name = annotation.getQualifiedName();
-            if (name != null && name.endsWith("RequestParam")) {
-                return true;
-            }
-        }
-        return false;
+    private static Map<String, String> extractObjectParameters(Project project, PsiType type, int maxDepth) {
+        Map<String, String> result = new LinkedHashMap<>();
+        collectObjectParameters(project, DtoSchemaCache.getSchema(project, type), maxDepth, new HashSet<>(), result);
+        return result;
     }
 
-    /**
-     * 从复杂对象提取参数
-     */
-    private static Map<String, String> extractObjectParameters(PsiType type) {
-        Map<String, String> result = new HashMap<>();
-        if (!(type instanceof PsiClassType)) {
-            return result;
-        }
-        
-        PsiClass psiClass = ((PsiClassType) type).resolve();
-        if (psiClass == null) {
-            return result;
+    private static void collectObjectParameters(Project project, DtoSchema schema, int depth,
+                                                Set<String> visiting, Map<String, String> result) {
+        if (schema == null || depth <= 0 || !visiting.add(schema.getTypeKey())) {
+            return;
         }
         
-        // 获取所有字段并创建参数
-        PsiField[] fields = psiClass.getAllFields();
-        for (PsiField field : fields) {
-            if (field.hasModifierProperty(PsiModifier.STATIC) || 
-                field.hasModifierProperty(PsiModifier.TRANSIENT)) {
-                continue;
-            }
-            
-            String fieldName = field.getName();
-            PsiType fieldType = field.getType();
-            
-            if (isPrimitiveOrString(fieldType)) {
-                result.put(fieldName, getDefaultValueForType(fieldType));
+        for (DtoSchema.Field field : schema.getFields()) {
+            // 支持在后台生成时取消
+            ProgressManager.checkCanceled();
+            if (field.isSimple()) {
+                result.put(field.getName(), field.getDefaultValue());
             } else {
                 // 如果是嵌套对象，递归处理
-                Map<String, String> nestedParams = extractObjectParameters(fieldType);
-                result.putAll(nestedParams);
+                collectObjectParameters(project, DtoSchemaCache.getSchema(project, field.getType()), depth - 1,
+                        visiting, result);
             }
         }
         
-        return result;
+        visiting.remove(schema.getTypeKey());
     }
 
     /**
      * 从请求路径中提取路径变量并添加到参数Map中
      * 
      * @param method 方法对象
+     * @param pathVars 请求路径中的变量名
      * @param parameters 用于存储路径变量的Map
      */
-    private static void extractPathVariables(PsiMethod method, Map<String, String> parameters) {
-        if (method == null) {
-            return;
-        }
-        
-        // 获取请求路径
-        String path = getRequestPath(method);
-        
-        // 解析路径中的变量 {varName}
-        List<String> pathVars = extractPathVariableNames(path);
-        
+    private static void extractPathVariables(PsiMethod method, List<String> pathVars, Map<String, RequestSpec.Param> parameters) {
         // 尝试从方法参数中匹配路径变量注解
         for (PsiParameter param : method.getParameterList().getParameters()) {
+            String pathVarName = null;
             if (isPathVariable(param)) {
-                String pathVarName = getPathVariableName(param);
-                if (pathVarName != null) {
-                    parameters.put(pathVarName, getDefaultValueForType(param.getType()));
-                }
-            } else {
+                pathVarName = getPathVariableName(param);
+            } else if (pathVars.contains(param.getName())) {
                 // 检查参数名是否与路径变量匹配
-                String paramName = param.getName();
-                if (pathVars.contains(paramName)) {
-                    parameters.put(paramName, getDefaultValueForType(param.getType()));
-                }
+                pathVarName = param.getName();
+            }
+            if (pathVarName != null) {
+                parameters.put(pathVarName, new RequestSpec.Param(
+                        pathVarName, EndpointInfo.ParamKind.PATH, getDefaultValueForType(param.getType())));
             }
         }
         
         // 对于没有匹配到的路径变量，添加默认值
         for (String pathVar : pathVars) {
             if (!parameters.containsKey(pathVar)) {
-                parameters.put(pathVar, "1");  // 默认使用数字1作为路径变量的值
+                // 默认使用数字1作为路径变量的值
+                parameters.put(pathVar, new RequestSpec.Param(pathVar, EndpointInfo.ParamKind.PATH, "1"));
             }
         }
     }
@@ -608,458 +553,20 @@ public class RequestUtil {
      * 检查参数是否是@PathVariable注解
      */
     private static boolean isPathVariable(PsiParameter param) {
-        PsiAnnotation[] annotations = param.getAnnotations();
-        for (PsiAnnotation annotation : annotations) {
-            String name = annotation.getQualifiedName();
-            if (name != null && (name.endsWith("PathVariable") || name.contains("javax.ws.rs.PathParam"))) {
-                return true;
-            }
-        }
-        return false;
+        return findParameterAnnotation(param, FrameworkAnnotation.Kind.PATH_VARIABLE) != null;
     }
     
     /**
      * 从@PathVariable注解中获取变量名
      */
     private static String getPathVariableName(PsiParameter param) {
-        PsiAnnotation[] annotations = param.getAnnotations();
-        for (PsiAnnotation annotation : annotations) {
-            String qualifiedName = annotation.getQualifiedName();
-            if (qualifiedName != null && (qualifiedName.endsWith("PathVariable") || qualifiedName.contains("javax.ws.rs.PathParam"))) {
-                // 从注解中获取value属性或name属性
-                PsiNameValuePair[] attributes = annotation.getParameterList().getAttributes();
-                for (PsiNameValuePair attribute : attributes) {
-                    String attrName = attribute.getName();
-                    // value和name属性都可以指定参数名
-                    if ("value".equals(attrName) || "name".equals(attrName) || attrName == null) {
-                        String literalValue = attribute.getLiteralValue();
-                        if (literalValue != null && !literalValue.isEmpty()) {
-                            return literalValue;
-                        }
-                        
-                        // 处理可能的复杂表达式
-                        PsiElement valueElement = attribute.getValue();
-                        if (valueElement != null) {
-                            String text = valueElement.getText();
-                            if (text != null && text.startsWith("\"") && text.endsWith("\"") && text.length() >= 2) {
-                                return text.substring(1, text.length() - 1);
-                            }
-                        }
-                    }
-                }
-                
-                // 如果没有明确指定名称，则使用参数名
-                return param.getName();
-            }
-        }
-        return null;
-    }
-    
-    /**
-     * 从请求路径中提取所有的路径变量名
-     * 
-     * @param path 请求路径
-     * @return 路径变量名列表
-     */
-    private static List<String> extractPathVariableNames(String path) {
-        List<String> vars = new ArrayList<>();
-        if (path == null || path.isEmpty()) {
-            return vars;
-        }
-        
-        // 使用简单的正则表达式查找形如 {varName} 的路径变量
-        int startIndex = 0;
-        while (true) {
-            int openBrace = path.indexOf('{', startIndex);
-            if (openBrace == -1) break;
-            
-            int closeBrace = path.indexOf('}', openBrace);
-            if (closeBrace == -1) break;
-            
-            // 提取变量名
-            String varName = path.substring(openBrace + 1, closeBrace);
-            if (!varName.isEmpty()) {
-                vars.add(varName);
-            }
-            
-            startIndex = closeBrace + 1;
-        }
-        
-        return vars;
-    }
-
-    /**
-     * 生成curl命令
-     */
-    public static String generateCurlCommand(Project project, PsiMethod method) {
-        if (method == null) {
-            return "";
-        }
-
-        Map<String, String> parameters = getParameters(method);
-        boolean hasJsonParam = parameters.containsKey("_hasJsonParam");
-        boolean hasComplexObjectParam = parameters.containsKey("_hasComplexObjectParam");
-
-        String requestMethod = getRequestMethod(method, hasJsonParam, hasComplexObjectParam);
-        String path = getRequestPath(method);
-
-        parameters.remove("_hasJsonParam"); // 移除标记
-        parameters.remove("_hasComplexObjectParam"); // 移除标记
-        
-        ConfigSettings settings = ConfigSettings.getInstance(project);
-        
-        // 应用默认参数
-        parameters = settings.applyDefaultParameters(parameters);
-        
-        Map<String, String> headers = settings.getHeaders();
-        
-        StringBuilder curl = new StringBuilder();
-        curl.append("curl -X ").append(requestMethod).append(" ");
-        
-        // 添加headers
-        for (Map.Entry<String, String> entry : headers.entrySet()) {
-            curl.append("-H \"").append(entry.getKey()).append(": ").append(entry.getValue()).append("\" ");
-        }
-        
-        // 构建URL，确保双引号位置正确
-        curl.append("\"");
-        // 使用完整URL前缀，包含协议、主机和上下文路径
-        curl.append(settings.getFullUrlPrefix());
-        
-        // 添加API路径，确保路径之间只有一个斜杠
-        if (settings.getContextPath().endsWith("/") && path.startsWith("/")) {
-            curl.append(path.substring(1));
-        } else if (!settings.getContextPath().endsWith("/") && !path.startsWith("/")) {
-            curl.append("/").append(path);
-        } else {
-            curl.append(path);
-        }
-        
-        // 处理参数
-        if (requestMethod.equals("GET") && !parameters.isEmpty() && !parameters.containsKey("body")) {
-            curl.append("?");
-            boolean first = true;
-            for (Map.Entry<String, String> entry : parameters.entrySet()) {
-                if (!first) {
-                    curl.append("&");
-                }
-                curl.append(entry.getKey()).append("=").append(entry.getValue());
-                first = false;
-            }
-            curl.append("\"");
-        } else if (parameters.containsKey("body")) {
-            // 处理RequestBody
-            curl.append("\" -H \"Content-Type: application/json\" ");
-            curl.append("-d '").append(parameters.get("body")).append("'");
-        } else if (!parameters.isEmpty()) {
-            // 处理POST参数
-            curl.append("\" ");
-            if (!headers.containsKey("Content-Type")) {
-                // 优先使用form-urlencoded格式，除非明确要求使用JSON
-                if (hasJsonParam) {
-                    curl.append("-H \"Content-Type: application/json\" ");
-                    curl.append("-d '{");
-                    boolean first = true;
-                    for (Map.Entry<String, String> entry : parameters.entrySet()) {
-                        if (!first) {
-                            curl.append(", ");
-                        }
-                        curl.append("\"").append(entry.getKey()).append("\": ");
-                        // 尝试检测值是否已经是JSON格式
-                        String value = entry.getValue();
-                        if (value.startsWith("{") && value.endsWith("}")) {
-                            curl.append(value);
-                        } else if (value.matches("\\d+(\\.\\d+)?")) {
-                            curl.append(value); // 数字不加引号
-                        } else if (value.equals("true") || value.equals("false")) {
-                            curl.append(value); // 布尔值不加引号
-                        } else {
-                            curl.append("\"").append(value).append("\"");
-                        }
-                        first = false;
-                    }
-                    curl.append("}'");
-                } else {
-                    // 使用form-urlencoded格式，适用于拆解的复杂对象和普通参数
-                    curl.append("-H \"Content-Type: application/x-www-form-urlencoded\" ");
-                    curl.append("-d \"");
-                    boolean first = true;
-                    for (Map.Entry<String, String> entry : parameters.entrySet()) {
-                        if (!first) {
-                            curl.append("&");
-                        }
-                        curl.append(entry.getKey()).append("=").append(entry.getValue());
-                        first = false;
-                    }
-                    curl.append("\"");
-                }
-            }
-        } else {
-            curl.append("\"");
-        }
-        
-        return curl.toString();
-    }
-
-    /**
-     * 生成Python请求代码
-     */
-    public static String generatePythonRequest(Project project, PsiMethod method) {
-        if (method == null) {
-            return "";
-        }
-        Map<String, String> parameters = getParameters(method);
-        boolean hasJsonParam = parameters.containsKey("_hasJsonParam");
-        boolean hasComplexObjectParam = parameters.containsKey("_hasComplexObjectParam");
-
-        String requestMethod = getRequestMethod(method, hasJsonParam, hasComplexObjectParam);
-        String path = getRequestPath(method);
-
-        parameters.remove("_hasJsonParam"); // 移除标记
-        parameters.remove("_hasComplexObjectParam"); // 移除标记
-        
-        ConfigSettings settings = ConfigSettings.getInstance(project);
-        
-        // 应用默认参数
-        parameters = settings.applyDefaultParameters(parameters);
-        
-        Map<String, String> headers = settings.getHeaders();
-        
-        StringBuilder python = new StringBuilder();
-        python.append("import requests\n\n");
-        
-        // 构建URL
-        python.append("url = \"");
-        // 使用完整URL前缀，包含协议、主机和上下文路径
-        python.append(settings.getFullUrlPrefix());
-        
-        // 添加API路径，确保路径之间只有一个斜杠
-        if (settings.getContextPath().endsWith("/") && path.startsWith("/")) {
-            python.append(path.substring(1));
-        } else if (!settings.getContextPath().endsWith("/") && !path.startsWith("/")) {
-            python.append("/").append(path);
-        } else {
-            python.append(path);
-        }
-        python.append("\"\n");
-        
-        // 添加headers
-        if (!headers.isEmpty()) {
-            python.append("headers = {\n");
-            for (Map.Entry<String, String> entry : headers.entrySet()) {
-                python.append("    \"").append(entry.getKey()).append("\": \"")
-                      .append(entry.getValue()).append("\",\n");
-            }
-            python.append("}\n");
-        } else {
-            python.append("headers = {}\n");
-        }
-        
-        // 处理参数
-        if (parameters.containsKey("body")) {
-            python.append("payload = ").append(parameters.get("body")).append("\n");
-            python.append("response = requests.").append(requestMethod.toLowerCase())
-                  .append("(url, json=payload, headers=headers)\n");
-        } else if (!parameters.isEmpty()) {
-            if (hasJsonParam) {
-                // 处理JSON格式参数
-                python.append("json_data = {\n");
-                for (Map.Entry<String, String> entry : parameters.entrySet()) {
-                    String value = entry.getValue();
-                    if (value.startsWith("{") && value.endsWith("}")) {
-                        // 已经是JSON格式
-                        python.append("    \"").append(entry.getKey()).append("\": ")
-                              .append(value).append(",\n");
-                    } else if (value.matches("\\d+(\\.\\d+)?")) {
-                        // 数字不需要引号
-                        python.append("    \"").append(entry.getKey()).append("\": ")
-                              .append(value).append(",\n");
-                    } else if (value.equals("true") || value.equals("false")) {
-                        // 布尔值不需要引号，且Python使用首字母大写
-                        python.append("    \"").append(entry.getKey()).append("\": ")
-                              .append(value.substring(0, 1).toUpperCase() + value.substring(1)).append(",\n");
-                    } else {
-                        python.append("    \"").append(entry.getKey()).append("\": \"")
-                              .append(value).append("\",\n");
-                    }
-                }
-                python.append("}\n");
-                python.append("response = requests.").append(requestMethod.toLowerCase())
-                      .append("(url, json=json_data, headers=headers)\n");
-            } else {
-                // 处理常规参数或拆解的复杂对象参数，统一使用表单数据
-                python.append("data = {\n");
-                for (Map.Entry<String, String> entry : parameters.entrySet()) {
-                    String value = entry.getValue();
-                    if (value.matches("\\d+(\\.\\d+)?")) {
-                        // 数字不需要引号
-                        python.append("    \"").append(entry.getKey()).append("\": ")
-                              .append(value).append(",\n");
-                    } else if (value.equals("true") || value.equals("false")) {
-                        // 布尔值不需要引号，且Python使用首字母大写
-                        python.append("    \"").append(entry.getKey()).append("\": ")
-                              .append(value.substring(0, 1).toUpperCase() + value.substring(1)).append(",\n");
-                    } else {
-                        python.append("    \"").append(entry.getKey()).append("\": \"")
-                              .append(value).append("\",\n");
-                    }
-                }
-                python.append("}\n");
-                
-                // 无论GET还是其他方法，都使用统一的参数传递方式
-                if (requestMethod.equals("GET")) {
-                    python.append("response = requests.get(url, params=data, headers=headers)\n");
-                } else {
-                    python.append("response = requests.").append(requestMethod.toLowerCase())
-                          .append("(url, data=data, headers=headers)\n");
-                }
-            }
-        } else {
-            python.append("response = requests.").append(requestMethod.toLowerCase())
-                  .append("(url, headers=headers)\n");
-        }
-        
-        python.append("\n# 打印响应\n");
-        python.append("print(response.status_code)\n");
-        python.append("print(response.text)\n");
-        
-        return python.toString();
-    }
-
-    /**
-     * 复制URL路径
-     * 只复制URL地址段，不包含host和参数
-     *
-     * @param project 当前项目
-     * @param method 目标方法
-     * @return URL路径
-     */
-    public static String copyUrlPath(Project project, PsiMethod method) {
-        if (method == null) {
-            return "";
-        }
-        
-        // 获取请求路径
-        String path = getRequestPath(method);
-        
-        // 确保路径不以斜杠开头，以适应拼接
-//        if (path.startsWith("/") && path.length() > 1) {
-//            path = path.substring(1);
-//        }
-        
-        return path;
-    }
-    
-    /**
-     * 复制完整URL
-     * 复制包含协议、主机、路径的完整URL，如果是GET方法则带上参数
-     *
-     * @param project 当前项目
-     * @param method 目标方法
-     * @return 完整URL
-     */
-    public static String copyFullUrl(Project project, PsiMethod method) {
-        if (method == null) {
-            return "";
-        }
-
-        Map<String, String> parameters = getParameters(method);
-        boolean hasJsonParam = parameters.containsKey("_hasJsonParam");
-        boolean hasComplexObjectParam = parameters.containsKey("_hasComplexObjectParam");
-
-        String requestMethod = getRequestMethod(method, hasJsonParam, hasComplexObjectParam);
-        String path = getRequestPath(method);
-
-        // 移除内部标记
-        parameters.remove("_hasJsonParam");
-        parameters.remove("_hasComplexObjectParam");
-        
-        ConfigSettings settings = ConfigSettings.getInstance(project);
-        
-        // 应用默认参数
-        parameters = settings.applyDefaultParameters(parameters);
-        
-        StringBuilder urlBuilder = new StringBuilder();
-        // 添加协议、主机和上下文路径
-        urlBuilder.append(settings.getFullUrlPrefix());
-        
-        // 添加API路径，确保路径之间只有一个斜杠
-        if (settings.getContextPath().endsWith("/") && path.startsWith("/")) {
-            urlBuilder.append(path.substring(1));
-        } else if (!settings.getContextPath().endsWith("/") && !path.startsWith("/")) {
-            urlBuilder.append("/").append(path);
-        } else {
-            urlBuilder.append(path);
-        }
-        
-        // 如果是GET方法且有参数，则添加参数
-        if (requestMethod.equals("GET") && !parameters.isEmpty() && !parameters.containsKey("body")) {
-            urlBuilder.append("?");
-            boolean first = true;
-            for (Map.Entry<String, String> entry : parameters.entrySet()) {
-                if (!first) {
-                    urlBuilder.append("&");
-                }
-                urlBuilder.append(entry.getKey()).append("=").append(entry.getValue());
-                first = false;
-            }
-        }
-        
-        return urlBuilder.toString();
-    }
-    
-    /**
-     * 复制相对URL
-     * 复制URL的地址段和参数，不包含主机
-     *
-     * @param project 当前项目
-     * @param method 目标方法
-     * @return 相对URL
-     */
-    public static String copyRelationUrl(Project project, PsiMethod method) {
-        if (method == null) {
-            return "";
-        }
-        
-        String path = getRequestPath(method);
-        Map<String, String> parameters = getParameters(method);
-
-        // 移除内部标记
-        parameters.remove("_hasJsonParam");
-        parameters.remove("_hasComplexObjectParam");
-        
-        ConfigSettings settings = ConfigSettings.getInstance(project);
-        
-        // 应用默认参数
-        parameters = settings.applyDefaultParameters(parameters);
-        
-        StringBuilder urlBuilder = new StringBuilder();
-        
-        // 添加上下文路径
-        urlBuilder.append(settings.getContextPath());
-        
-        // 添加API路径，确保路径之间只有一个斜杠
-        if (settings.getContextPath().endsWith("/") && path.startsWith("/")) {
-            urlBuilder.append(path.substring(1));
-        } else if (!settings.getContextPath().endsWith("/") && !path.startsWith("/")) {
-            urlBuilder.append("/").append(path);
-        } else {
-            urlBuilder.append(path);
-        }
-        
-        // 添加参数（无论什么请求方法）
-        if (!parameters.isEmpty() && !parameters.containsKey("body")) {
-            urlBuilder.append("?");
-            boolean first = true;
-            for (Map.Entry<String, String> entry : parameters.entrySet()) {
-                if (!first) {
-                    urlBuilder.append("&");
-                }
-                urlBuilder.append(entry.getKey()).append("=").append(entry.getValue());
-                first = false;
-            }
+        PsiAnnotation annotation = findParameterAnnotation(param, FrameworkAnnotation.Kind.PATH_VARIABLE);
+        if (annotation == null) {
+            return null;
         }
         
-        return urlBuilder.toString();
+        // 如果没有明确指定名称，则使用参数名
+        String name = FrameworkAnnotations.readName(annotation);
+        return name != null ? name : param.getName();
     }
 }
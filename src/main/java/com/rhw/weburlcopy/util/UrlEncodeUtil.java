@@ -0,0 +1,216 @@
+package com.rhw.weburlcopy.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * URL编码工具类
+ * 按RFC 3986对路径和参数做百分号编码，直接写入输出，不创建中间字符串；非ASCII字符按UTF-8编码。
+ * 解码是编码的逆过程，用于把URL中的路径还原为接口路径
+ */
+public class UrlEncodeUtil {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    // 路径段中不需要编码的ASCII字符：非保留字符、子分隔符、':' 和 '@'
+    private static final boolean[] PATH_SEGMENT_SAFE = createTable("!$&'()*+,;=:@");
+
+    // 参数名和参数值中不需要编码的ASCII字符，'&'、'='、'+' 和 '#' 需要编码
+    private static final boolean[] QUERY_SAFE = createTable("!$'()*,;:@/?");
+
+    private static boolean[] createTable(String extra) {
+        boolean[] table = new boolean[128];
+        for (char c = 'a'; c <= 'z'; c++) {
+            table[c] = true;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            table[c] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            table[c] = true;
+        }
+        for (char c : "-._~".toCharArray()) {
+            table[c] = true;
+        }
+        for (char c : extra.toCharArray()) {
+            table[c] = true;
+        }
+        return table;
+    }
+
+    /**
+     * 追加编码后的单个路径段，值中的 '/' 也会被编码
+     *
+     * @param out 输出
+     * @param value 路径段的值
+     * @throws IOException 写入失败
+     */
+    public static void appendPathSegment(Appendable out, CharSequence value) throws IOException {
+        append(out, value, PATH_SEGMENT_SAFE, false, false);
+    }
+
+    /**
+     * 追加编码后的路径，保留 '/' 和已经编码的 %XX
+     *
+     * @param out 输出
+     * @param value 路径
+     * @throws IOException 写入失败
+     */
+    public static void appendPath(Appendable out, CharSequence value) throws IOException {
+        append(out, value, PATH_SEGMENT_SAFE, true, true);
+    }
+
+    /**
+     * 编码路径，保留 '/' 和已经编码的 %XX
+     *
+     * @param value 路径
+     * @return 编码后的路径，不需要编码时返回原字符串
+     */
+    public static String encodePath(String value) {
+        if (!needsEncoding(value, PATH_SEGMENT_SAFE, true, true)) {
+            return value;
+        }
+        StringBuilder result = new StringBuilder(value.length() + 16);
+        try {
+            appendPath(result, value);
+        } catch (IOException e) {
+            // StringBuilder不会抛出IOException
+            throw new IllegalStateException(e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * 追加编码后的参数名或参数值
+     *
+     * @param out 输出
+     * @param value 参数名或参数值
+     * @throws IOException 写入失败
+     */
+    public static void appendQueryComponent(Appendable out, CharSequence value) throws IOException {
+        append(out, value, QUERY_SAFE, false, false);
+    }
+
+    /**
+     * 按UTF-8解码路径中的 %XX，'/' 的编码 %2F 保持原样，不改变路径段的划分
+     * 格式不正确的 % 原样保留，不是合法UTF-8的字节序列解码为替换字符
+     *
+     * @param value 编码后的路径
+     * @return 解码后的路径，没有 %XX 时返回原字符串
+     */
+    public static String decodePath(String value) {
+        if (value.indexOf('%') < 0) {
+            return value;
+        }
+        StringBuilder result = new StringBuilder(value.length());
+        byte[] bytes = new byte[value.length() / 3];
+        int i = 0;
+        while (i < value.length()) {
+            // 连续的 %XX 作为一段字节序列一起解码，多字节字符可以跨越多个 %XX
+            int count = 0;
+            while (isEscape(value, i) && !isEncodedSlash(value, i)) {
+                bytes[count++] = (byte) ((Character.digit(value.charAt(i + 1), 16) << 4)
+                        | Character.digit(value.charAt(i + 2), 16));
+                i += 3;
+            }
+            if (count > 0) {
+                result.append(new String(bytes, 0, count, StandardCharsets.UTF_8));
+                continue;
+            }
+            if (isEscape(value, i)) {
+                // %2F 原样保留
+                result.append(value, i, i + 3);
+                i += 3;
+            } else {
+                result.append(value.charAt(i));
+                i++;
+            }
+        }
+        return result.toString();
+    }
+
+    private static boolean isEscape(CharSequence value, int index) {
+        return index + 2 < value.length() && value.charAt(index) == '%'
+                && isHex(value.charAt(index + 1)) && isHex(value.charAt(index + 2));
+    }
+
+    private static boolean isEncodedSlash(CharSequence value, int index) {
+        return value.charAt(index + 1) == '2' && (value.charAt(index + 2) == 'F' || value.charAt(index + 2) == 'f');
+    }
+
+    private static boolean needsEncoding(CharSequence value, boolean[] safe, boolean keepSlash, boolean keepEscapes) {
+        for (int i = 0; i < value.length(); i++) {
+            if (!isSafe(value, i, value.charAt(i), safe, keepSlash, keepEscapes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void append(Appendable out, CharSequence value, boolean[] safe,
+                               boolean keepSlash, boolean keepEscapes) throws IOException {
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            // 连续的安全字符整段写入
+            int start = i;
+            while (i < length && isSafe(value, i, value.charAt(i), safe, keepSlash, keepEscapes)) {
+                i++;
+            }
+            if (i > start) {
+                out.append(value, start, i);
+                continue;
+            }
+
+            char c = value.charAt(i);
+            int codePoint;
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                codePoint = Character.toCodePoint(c, value.charAt(i + 1));
+                i += 2;
+            } else {
+                // 不成对的代理字符按替换字符编码
+                codePoint = Character.isSurrogate(c) ? 0xFFFD : c;
+                i++;
+            }
+            appendUtf8(out, codePoint);
+        }
+    }
+
+    private static boolean isSafe(CharSequence value, int index, char c, boolean[] safe,
+                                  boolean keepSlash, boolean keepEscapes) {
+        if (c < 128 && safe[c]) {
+            return true;
+        }
+        if (c == '/') {
+            return keepSlash;
+        }
+        return c == '%' && keepEscapes && index + 2 < value.length()
+                && isHex(value.charAt(index + 1)) && isHex(value.charAt(index + 2));
+    }
+
+    private static boolean isHex(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'A' && c <= 'F') || (c >= 'a' && c <= 'f');
+    }
+
+    private static void appendUtf8(Appendable out, int codePoint) throws IOException {
+        if (codePoint < 0x80) {
+            appendByte(out, codePoint);
+        } else if (codePoint < 0x800) {
+            appendByte(out, 0xC0 | (codePoint >> 6));
+            appendByte(out, 0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            appendByte(out, 0xE0 | (codePoint >> 12));
+            appendByte(out, 0x80 | ((codePoint >> 6) & 0x3F));
+            appendByte(out, 0x80 | (codePoint & 0x3F));
+        } else {
+            appendByte(out, 0xF0 | (codePoint >> 18));
+            appendByte(out, 0x80 | ((codePoint >> 12) & 0x3F));
+            appendByte(out, 0x80 | ((codePoint >> 6) & 0x3F));
+            appendByte(out, 0x80 | (codePoint & 0x3F));
+        }
+    }
+
+    private static void appendByte(Appendable out, int b) throws IOException {
+        out.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+    }
+}
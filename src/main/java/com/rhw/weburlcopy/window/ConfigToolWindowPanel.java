@@ -13,7 +13,10 @@ import com.intellij.ui.table.JBTable;
 import com.intellij.util.ui.FormBuilder;
 import com.intellij.util.ui.JBUI;
 import com.intellij.util.ui.UIUtil;
+import com.rhw.weburlcopy.analysis.FrameworkAnnotations;
 import com.rhw.weburlcopy.model.ConfigSettings;
+import com.rhw.weburlcopy.model.DefaultParameterRule;
+import com.rhw.weburlcopy.model.SecretHeaderStore;
 import com.rhw.weburlcopy.model.UrlConfig;
 import com.rhw.weburlcopy.util.DisposerUtil;
 
@@ -30,6 +33,7 @@ import java.awt.Window;
 import java.awt.Frame;
 import java.awt.Dialog;
 import java.util.Map;
+import java.util.LinkedHashMap;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -57,6 +61,17 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
     // 默认参数表格
     private DefaultTableModel paramsTableModel;
     private JTable paramsTable;
+    
+    // 对象展开深度
+    private JSpinner schemaDepthSpinner;
+    
+    // 默认参数规则表格
+    private DefaultTableModel rulesTableModel;
+    private JBTable rulesTable;
+    
+    // 自定义注解表格
+    private DefaultTableModel annotationsTableModel;
+    private JTable annotationsTable;
 
     /**
      * 构造函数
@@ -130,6 +145,14 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
         JPanel paramsPanel = createDefaultParamsPanel();
         tabbedPane.addTab("默认参数", AllIcons.Nodes.Parameter, paramsPanel, "配置请求参数的默认值");
         
+        // 默认参数规则选项卡
+        JPanel rulesPanel = createParameterRulesPanel();
+        tabbedPane.addTab("参数规则", AllIcons.General.Filter, rulesPanel, "按路径、HTTP方法和控制器包配置默认参数");
+        
+        // 自定义注解选项卡
+        JPanel annotationsPanel = createCustomAnnotationsPanel();
+        tabbedPane.addTab("自定义注解", AllIcons.Nodes.Annotationtype, annotationsPanel, "配置项目内自定义的映射注解");
+        
         // 将标题和选项卡面板添加到下半部分
         bottomPanel.add(reqTitleLabel, BorderLayout.NORTH);
         bottomPanel.add(tabbedPane, BorderLayout.CENTER);
@@ -340,7 +363,7 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
             dialog = new JDialog(new JFrame(), "环境配置", true);
         }
         
-        dialog.setSize(550, 350);
+        dialog.setSize(550, 700);
         dialog.setLocationRelativeTo(this);
         dialog.setLayout(new BorderLayout());
         
@@ -477,12 +500,58 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
         previewPanel.add(previewLabelPanel, BorderLayout.CENTER);
         formPanel.add(previewPanel, c);
         
+        // 环境请求头和环境默认参数，覆盖同名的全局配置
+        DefaultTableModel envHeadersModel = new DefaultTableModel(new String[]{"Header", "Value", "密文", "原名称"}, 0) {
+            @Override
+            public Class<?> getColumnClass(int columnIndex) {
+                return columnIndex == 2 ? Boolean.class : String.class;
+            }
+        };
+        DefaultTableModel envParamsModel = new DefaultTableModel(new String[]{"参数名", "默认值"}, 0);
+        DefaultTableModel envVariablesModel = new DefaultTableModel(new String[]{"变量名", "值"}, 0);
+        JBTable envHeadersTable = new JBTable(envHeadersModel);
+        JBTable envParamsTable = new JBTable(envParamsModel);
+        JBTable envVariablesTable = new JBTable(envVariablesModel);
+        envHeadersTable.getColumnModel().getColumn(2).setMaxWidth(60);
+        // 原名称列不显示，用于重命名密文请求头时沿用原值
+        envHeadersTable.removeColumn(envHeadersTable.getColumnModel().getColumn(3));
+        envHeadersTable.setToolTipText("勾选密文的请求头保存在IDE凭据存储中，留空保持原值");
+        // 密文请求头的值不在界面上显示
+        envHeadersTable.getColumnModel().getColumn(1).setCellRenderer(new javax.swing.table.DefaultTableCellRenderer() {
+            @Override
+            public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+                JLabel label = (JLabel) super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+                if (Boolean.TRUE.equals(table.getValueAt(row, 2))) {
+                    label.setText("******");
+                }
+                return label;
+            }
+        });
+        
+        c.gridy = 6;
+        c.fill = GridBagConstraints.BOTH;
+        c.weighty = 0.5;
+        c.insets = JBUI.insets(10, 0, 0, 0);
+        formPanel.add(createOverlayTablePanel("环境请求头（覆盖全局请求头）", envHeadersTable), c);
+        
+        c.gridy = 7;
+        formPanel.add(createOverlayTablePanel("环境默认参数（覆盖全局默认参数）", envParamsTable), c);
+        
+        c.gridy = 8;
+        formPanel.add(createOverlayTablePanel("环境变量（在请求头和默认参数中以 {{变量名}} 引用）", envVariablesTable), c);
+        
         // 初始化表单数据
         if (config != null) {
             configNameField.setText(config.getName());
             hostField.setText(config.getHost());
             contextPathField.setText(config.getContextPath());
             protocolComboBox.setSelectedItem(config.getProtocol());
+            config.getHeaders().forEach((key, value) -> {
+                boolean secret = config.getSecretHeaders().contains(key);
+                envHeadersModel.addRow(new Object[]{key, secret ? "" : value, secret, key});
+            });
+            config.getDefaultParameters().forEach((key, value) -> envParamsModel.addRow(new Object[]{key, value}));
+            config.getVariables().forEach((key, value) -> envVariablesModel.addRow(new Object[]{key, value}));
             updateUrlPreviewLabel(urlPreviewLabel, protocolComboBox.getSelectedItem().toString(), 
                                  hostField.getText(), contextPathField.getText());
         }
@@ -538,12 +607,35 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
             
             String protocol = protocolComboBox.getSelectedItem().toString();
             String contextPath = contextPathField.getText();
+            Map<String, String> envHeaders = readOverlayTable(envHeadersTable);
+            Map<String, String> envParams = readOverlayTable(envParamsTable);
+            Map<String, String> envVariables = readOverlayTable(envVariablesTable);
+            List<String> envSecretHeaders = new ArrayList<>();
+            Map<String, String> envOriginalNames = new LinkedHashMap<>();
+            for (int i = 0; i < envHeadersModel.getRowCount(); i++) {
+                Object key = envHeadersModel.getValueAt(i, 0);
+                if (key == null || key.toString().trim().isEmpty()) {
+                    continue;
+                }
+                if (Boolean.TRUE.equals(envHeadersModel.getValueAt(i, 2))) {
+                    envSecretHeaders.add(key.toString().trim());
+                }
+                Object originalName = envHeadersModel.getValueAt(i, 3);
+                if (originalName != null && !originalName.toString().isEmpty()) {
+                    envOriginalNames.put(key.toString().trim(), originalName.toString());
+                }
+            }
+            SecretHeaderStore secretHeaderStore = SecretHeaderStore.getInstance(project);
             
             if (isNew) {
                 // 创建新配置
                 UrlConfig newConfig = new UrlConfig(name, host, contextPath, protocol);
+                newConfig.setDefaultParameters(envParams);
+                newConfig.setVariables(envVariables);
                 ConfigSettings settings = ConfigSettings.getInstance(project);
                 settings.addUrlConfig(newConfig);
+                // 环境请求头的密文值在后台写入凭据存储
+                secretHeaderStore.saveHeaders(newConfig.getId(), envHeaders, envSecretHeaders, envOriginalNames);
                 
                 // 更新UI并选中新创建的配置
                 refreshEnvironmentTable();
@@ -558,9 +650,12 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
                 config.setHost(host);
                 config.setContextPath(contextPath);
                 config.setProtocol(protocol);
+                config.setDefaultParameters(envParams);
+                config.setVariables(envVariables);
                 
                 ConfigSettings settings = ConfigSettings.getInstance(project);
                 settings.updateUrlConfig(config);
+                secretHeaderStore.saveHeaders(config.getId(), envHeaders, envSecretHeaders, envOriginalNames);
                 
                 // 更新UI
                 refreshEnvironmentTable();
@@ -588,6 +683,69 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
         dialog.setVisible(true);
     }
     
+    /**
+     * 创建环境配置对话框中的键值表格面板，带添加和删除按钮
+     */
+    private JPanel createOverlayTablePanel(String title, JBTable table) {
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.getTableHeader().setReorderingAllowed(false);
+        
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createTitledBorder(title));
+        panel.add(new JBScrollPane(table), BorderLayout.CENTER);
+        
+        JButton addButton = new JButton(AllIcons.General.Add);
+        addButton.setToolTipText("添加");
+        addButton.addActionListener(e -> {
+            DefaultTableModel model = (DefaultTableModel) table.getModel();
+            Object[] row = new Object[model.getColumnCount()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = model.getColumnClass(i) == Boolean.class ? Boolean.FALSE : "";
+            }
+            model.addRow(row);
+            int row = model.getRowCount() - 1;
+            table.setRowSelectionInterval(row, row);
+            table.editCellAt(row, 0);
+        });
+        
+        JButton removeButton = new JButton(AllIcons.General.Remove);
+        removeButton.setToolTipText("删除");
+        removeButton.addActionListener(e -> {
+            int selectedRow = table.getSelectedRow();
+            if (selectedRow != -1) {
+                if (table.isEditing()) {
+                    table.getCellEditor().cancelCellEditing();
+                }
+                ((DefaultTableModel) table.getModel()).removeRow(selectedRow);
+            }
+        });
+        
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT, 2, 0));
+        toolbar.add(addButton);
+        toolbar.add(removeButton);
+        panel.add(toolbar, BorderLayout.NORTH);
+        return panel;
+    }
+    
+    /**
+     * 读取键值表格，忽略键为空的行
+     */
+    private Map<String, String> readOverlayTable(JBTable table) {
+        if (table.isEditing()) {
+            table.getCellEditor().stopCellEditing();
+        }
+        Map<String, String> result = new LinkedHashMap<>();
+        DefaultTableModel model = (DefaultTableModel) table.getModel();
+        for (int i = 0; i < model.getRowCount(); i++) {
+            Object key = model.getValueAt(i, 0);
+            Object value = model.getValueAt(i, 1);
+            if (key != null && !key.toString().trim().isEmpty()) {
+                result.put(key.toString().trim(), value != null ? value.toString() : "");
+            }
+        }
+        return result;
+    }
+    
     /**
      * 更新URL预览标签
      */
@@ -619,16 +777,25 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
         panel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
         
         // 创建表格模型
-        String[] columnNames = {"Header", "Value"};
+        // 原名称列不显示，用于重命名密文请求头时沿用原值
+        String[] columnNames = {"Header", "Value", "密文", "原名称"};
         headersTableModel = new DefaultTableModel(columnNames, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
                 return true;
             }
+            
+            @Override
+            public Class<?> getColumnClass(int columnIndex) {
+                return columnIndex == 2 ? Boolean.class : String.class;
+            }
         };
         
         // 创建表格
         headersTable = new JBTable(headersTableModel);
+        headersTable.getColumnModel().getColumn(2).setMaxWidth(60);
+        headersTable.removeColumn(headersTable.getColumnModel().getColumn(3));
+        headersTable.setToolTipText("勾选密文的请求头保存在IDE凭据存储中，留空保持原值；值支持 {{变量名}}、{{env.host}}、{{$uuid}}、{{$timestamp}} 等占位符");
         headersTable.setRowHeight(30);
         headersTable.setIntercellSpacing(new Dimension(0, 0));
         headersTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -682,6 +849,11 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
                     }
                 }
                 
+                // 密文请求头的值不在界面上显示
+                if (column == 1 && Boolean.TRUE.equals(table.getValueAt(row, 2))) {
+                    label.setText("******");
+                }
+                
                 return label;
             }
         });
@@ -747,6 +919,7 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
         
         // 创建表格
         paramsTable = new JBTable(paramsTableModel);
+        paramsTable.setToolTipText("值支持 {{变量名}}、{{env.host}}、{{$uuid}}、{{$timestamp}} 等占位符");
         paramsTable.setRowHeight(30);
         paramsTable.setIntercellSpacing(new Dimension(0, 0));
         paramsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -831,9 +1004,146 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
         saveParamsButton.setFocusPainted(false);
         saveParamsButton.addActionListener(e -> saveDefaultParams());
         
+        // 嵌套对象展开深度，随默认参数一起保存
+        schemaDepthSpinner = new JSpinner(new SpinnerNumberModel(5, 1, 20, 1));
+        schemaDepthSpinner.setToolTipText("复杂对象参数和请求体嵌套对象的最大展开层数");
+        
         buttonPanel.add(addParamButton);
         buttonPanel.add(removeParamButton);
         buttonPanel.add(saveParamsButton);
+        buttonPanel.add(new JBLabel("对象展开深度:"));
+        buttonPanel.add(schemaDepthSpinner);
+        
+        // 组合布局
+        JPanel contentPanel = new JPanel(new BorderLayout());
+        contentPanel.add(scrollPane, BorderLayout.CENTER);
+        contentPanel.add(buttonPanel, BorderLayout.SOUTH);
+        
+        panel.add(contentPanel, BorderLayout.CENTER);
+        
+        return panel;
+    }
+    
+    /**
+     * 创建默认参数规则面板
+     * 
+     * @return 默认参数规则面板
+     */
+    private JPanel createParameterRulesPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        
+        String[] columnNames = {"路径模式", "HTTP方法", "控制器包", "参数名", "默认值"};
+        rulesTableModel = new DefaultTableModel(columnNames, 0);
+        rulesTable = new JBTable(rulesTableModel);
+        rulesTable.setRowHeight(30);
+        rulesTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        rulesTable.getTableHeader().setReorderingAllowed(false);
+        rulesTable.setToolTipText("路径模式如 /admin/**，HTTP方法和控制器包为空时不限制；同名参数以最具体的规则为准");
+        
+        JBScrollPane scrollPane = new JBScrollPane(rulesTable);
+        
+        // 操作按钮面板
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        buttonPanel.setBorder(BorderFactory.createEmptyBorder(10, 0, 0, 0));
+        
+        JButton addRuleButton = new JButton("添加", AllIcons.General.Add);
+        addRuleButton.setFocusPainted(false);
+        addRuleButton.addActionListener(e -> {
+            rulesTableModel.addRow(new Object[]{"/**", "", "", "", ""});
+            int row = rulesTableModel.getRowCount() - 1;
+            rulesTable.setRowSelectionInterval(row, row);
+            rulesTable.scrollRectToVisible(rulesTable.getCellRect(row, 0, true));
+            rulesTable.editCellAt(row, 0);
+        });
+        
+        JButton removeRuleButton = new JButton("删除", AllIcons.General.Remove);
+        removeRuleButton.setFocusPainted(false);
+        removeRuleButton.addActionListener(e -> {
+            int selectedRow = rulesTable.getSelectedRow();
+            if (selectedRow != -1) {
+                if (rulesTable.isEditing()) {
+                    rulesTable.getCellEditor().cancelCellEditing();
+                }
+                rulesTableModel.removeRow(selectedRow);
+            }
+        });
+        
+        JButton saveRulesButton = new JButton("保存", AllIcons.Actions.Commit);
+        saveRulesButton.setFocusPainted(false);
+        saveRulesButton.addActionListener(e -> saveParameterRules());
+        
+        buttonPanel.add(addRuleButton);
+        buttonPanel.add(removeRuleButton);
+        buttonPanel.add(saveRulesButton);
+        
+        panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+        
+        return panel;
+    }
+    
+    /**
+     * 创建自定义注解面板
+     * 
+     * @return 自定义注解面板
+     */
+    private JPanel createCustomAnnotationsPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        
+        // 创建表格模型
+        String[] columnNames = {"注解全限定名", "类型"};
+        annotationsTableModel = new DefaultTableModel(columnNames, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return true;
+            }
+        };
+        
+        // 创建表格，类型列使用下拉框
+        annotationsTable = new JBTable(annotationsTableModel);
+        annotationsTable.setRowHeight(30);
+        annotationsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        annotationsTable.getTableHeader().setReorderingAllowed(false);
+        
+        List<String> types = new ArrayList<>(FrameworkAnnotations.CUSTOM_TYPES);
+        types.addAll(List.of("GET", "POST", "PUT", "DELETE", "PATCH"));
+        annotationsTable.getColumnModel().getColumn(1).setCellEditor(
+                new DefaultCellEditor(new JComboBox<>(types.toArray(new String[0]))));
+        annotationsTable.getColumnModel().getColumn(1).setMaxWidth(150);
+        
+        JBScrollPane scrollPane = new JBScrollPane(annotationsTable);
+        
+        // 操作按钮面板
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        buttonPanel.setBorder(BorderFactory.createEmptyBorder(10, 0, 0, 0));
+        
+        JButton addAnnotationButton = new JButton("添加", AllIcons.General.Add);
+        addAnnotationButton.setFocusPainted(false);
+        addAnnotationButton.addActionListener(e -> {
+            annotationsTableModel.addRow(new Object[]{"", "MAPPING"});
+            int newRowIndex = annotationsTableModel.getRowCount() - 1;
+            annotationsTable.setRowSelectionInterval(newRowIndex, newRowIndex);
+            annotationsTable.editCellAt(newRowIndex, 0);
+        });
+        
+        JButton removeAnnotationButton = new JButton("删除", AllIcons.General.Remove);
+        removeAnnotationButton.setFocusPainted(false);
+        removeAnnotationButton.addActionListener(e -> {
+            int selectedRow = annotationsTable.getSelectedRow();
+            if (selectedRow != -1) {
+                annotationsTableModel.removeRow(selectedRow);
+            }
+        });
+        
+        JButton saveAnnotationsButton = new JButton("保存", AllIcons.Actions.Commit);
+        saveAnnotationsButton.setFocusPainted(false);
+        saveAnnotationsButton.addActionListener(e -> saveCustomAnnotations());
+        
+        buttonPanel.add(addAnnotationButton);
+        buttonPanel.add(removeAnnotationButton);
+        buttonPanel.add(saveAnnotationsButton);
         
         // 组合布局
         JPanel contentPanel = new JPanel(new BorderLayout());
@@ -891,6 +1201,7 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
                 );
                 return;
             }
+            SecretHeaderStore.getInstance(project).removeEnvironment(selectedConfig);
             
             // 更新UI
             refreshEnvironmentTable();
@@ -951,7 +1262,7 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
      * 添加请求头
      */
     private void addHeader() {
-        headersTableModel.addRow(new Object[]{"", ""});
+        headersTableModel.addRow(new Object[]{"", "", false});
         
         // 滚动到新行并设置选中
         int newRowIndex = headersTableModel.getRowCount() - 1;
@@ -1004,15 +1315,39 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
      * 保存请求头
      */
     private void saveHeaders() {
-        ConfigSettings settings = ConfigSettings.getInstance(project);
-        Map<String, String> headers = settings.getHeaders();
-        headers.clear();
+        if (headersTable.isEditing()) {
+            headersTable.getCellEditor().stopCellEditing();
+        }
         
+        // 构建新的映射后整体替换，后台读取的快照不会看到保存到一半的请求头
+        Map<String, String> headers = new LinkedHashMap<>();
+        List<String> secretNames = new ArrayList<>();
+        Map<String, String> originalNames = new LinkedHashMap<>();
         for (int i = 0; i < headersTableModel.getRowCount(); i++) {
             String key = (String) headersTableModel.getValueAt(i, 0);
             String value = (String) headersTableModel.getValueAt(i, 1);
             if (key != null && !key.trim().isEmpty()) {
                 headers.put(key, value);
+                if (Boolean.TRUE.equals(headersTableModel.getValueAt(i, 2))) {
+                    secretNames.add(key);
+                }
+                Object originalName = headersTableModel.getValueAt(i, 3);
+                if (originalName != null) {
+                    originalNames.put(key, originalName.toString());
+                }
+            }
+        }
+        // 密文请求头的值在后台写入凭据存储
+        Map<String, String> savedHeaders = SecretHeaderStore.getInstance(project)
+                .saveHeaders(null, headers, secretNames, originalNames);
+        
+        // 界面上不保留密文请求头的明文，留空表示保持原值；取消密文的请求头显示原值
+        for (int i = 0; i < headersTableModel.getRowCount(); i++) {
+            Object key = headersTableModel.getValueAt(i, 0);
+            String savedValue = savedHeaders.get(key);
+            if (savedValue != null) {
+                headersTableModel.setValueAt(savedValue, i, 1);
+                headersTableModel.setValueAt(key, i, 3);
             }
         }
         
@@ -1076,10 +1411,7 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
      * 保存默认参数
      */
     private void saveDefaultParams() {
-        ConfigSettings settings = ConfigSettings.getInstance(project);
-        Map<String, String> params = settings.getDefaultParameters();
-        params.clear();
-        
+        Map<String, String> params = new LinkedHashMap<>();
         for (int i = 0; i < paramsTableModel.getRowCount(); i++) {
             String key = (String) paramsTableModel.getValueAt(i, 0);
             String value = (String) paramsTableModel.getValueAt(i, 1);
@@ -1087,10 +1419,66 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
                 params.put(key, value);
             }
         }
+        ConfigSettings settings = ConfigSettings.getInstance(project);
+        settings.setDefaultParameters(params);
+        settings.setMaxSchemaDepth((Integer) schemaDepthSpinner.getValue());
         
         Messages.showInfoMessage(project, "默认参数保存成功", "保存成功");
     }
     
+    /**
+     * 保存自定义注解
+     * 索引只依赖文件内容，不需要重建；保存后分析配置版本变化，查询时按新的注解表重新分析
+     */
+    private void saveCustomAnnotations() {
+        if (annotationsTable.isEditing()) {
+            annotationsTable.getCellEditor().stopCellEditing();
+        }
+        
+        Map<String, String> annotations = new LinkedHashMap<>();
+        for (int i = 0; i < annotationsTableModel.getRowCount(); i++) {
+            String qualifiedName = (String) annotationsTableModel.getValueAt(i, 0);
+            String type = (String) annotationsTableModel.getValueAt(i, 1);
+            if (qualifiedName == null || qualifiedName.trim().isEmpty()) {
+                continue;
+            }
+            if (FrameworkAnnotations.parseCustom(qualifiedName, type) == null) {
+                Messages.showErrorDialog(project, "无效的注解配置: " + qualifiedName, "错误");
+                return;
+            }
+            annotations.put(qualifiedName.trim(), type);
+        }
+        
+        ConfigSettings.getInstance(project).setCustomAnnotations(annotations);
+        
+        Messages.showInfoMessage(project, "自定义注解保存成功", "保存成功");
+    }
+    
+    /**
+     * 保存默认参数规则
+     */
+    private void saveParameterRules() {
+        if (rulesTable.isEditing()) {
+            rulesTable.getCellEditor().stopCellEditing();
+        }
+        List<DefaultParameterRule> rules = new ArrayList<>();
+        for (int i = 0; i < rulesTableModel.getRowCount(); i++) {
+            String name = cellText(rulesTableModel, i, 3);
+            if (!name.isEmpty()) {
+                rules.add(new DefaultParameterRule(cellText(rulesTableModel, i, 0), cellText(rulesTableModel, i, 1),
+                        cellText(rulesTableModel, i, 2), name, cellText(rulesTableModel, i, 4)));
+            }
+        }
+        ConfigSettings.getInstance(project).setDefaultParameterRules(rules);
+        
+        Messages.showInfoMessage(project, "默认参数规则保存成功", "保存成功");
+    }
+    
+    private static String cellText(DefaultTableModel model, int row, int column) {
+        Object value = model.getValueAt(row, column);
+        return value != null ? value.toString().trim() : "";
+    }
+    
     /**
      * 加载配置设置
      */
@@ -1118,6 +1506,23 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
         
         // 加载默认参数
         loadDefaultParams(settings);
+        
+        // 加载默认参数规则
+        while (rulesTableModel.getRowCount() > 0) {
+            rulesTableModel.removeRow(0);
+        }
+        for (DefaultParameterRule rule : settings.getDefaultParameterRules()) {
+            rulesTableModel.addRow(new Object[]{rule.getPathPattern(), rule.getHttpMethod(),
+                    rule.getPackageName(), rule.getName(), rule.getValue()});
+        }
+        
+        // 加载自定义注解
+        while (annotationsTableModel.getRowCount() > 0) {
+            annotationsTableModel.removeRow(0);
+        }
+        for (Map.Entry<String, String> entry : settings.getCustomAnnotations().entrySet()) {
+            annotationsTableModel.addRow(new Object[]{entry.getKey(), entry.getValue()});
+        }
     }
     
     /**
@@ -1131,9 +1536,11 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
             headersTableModel.removeRow(0);
         }
         
-        // 添加请求头
+        // 添加请求头，密文请求头的值不显示
+        List<String> secretHeaders = settings.getSecretHeaders();
         for (Map.Entry<String, String> entry : settings.getHeaders().entrySet()) {
-            headersTableModel.addRow(new Object[]{entry.getKey(), entry.getValue()});
+            boolean secret = secretHeaders.contains(entry.getKey());
+            headersTableModel.addRow(new Object[]{entry.getKey(), secret ? "" : entry.getValue(), secret, entry.getKey()});
         }
     }
     
@@ -1152,6 +1559,8 @@ public class ConfigToolWindowPanel extends JBPanel<ConfigToolWindowPanel> implem
         for (Map.Entry<String, String> entry : settings.getDefaultParameters().entrySet()) {
             paramsTableModel.addRow(new Object[]{entry.getKey(), entry.getValue()});
         }
+        
+        schemaDepthSpinner.setValue(settings.getMaxSchemaDepth());
     }
     
     /**
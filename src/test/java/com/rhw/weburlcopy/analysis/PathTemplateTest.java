@@ -0,0 +1,122 @@
+package com.rhw.weburlcopy.analysis;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 路径模板解析和展开
+ */
+public class PathTemplateTest {
+
+    @Test
+    public void parsesVariablesAndConstraints() {
+        PathTemplate template = PathTemplate.parse("/orders/{id:\\d+}/items/{name}");
+
+        List<PathTemplate.Variable> variables = template.getVariables();
+        assertEquals(2, variables.size());
+        assertEquals("id", variables.get(0).getName());
+        assertEquals("\\d+", variables.get(0).getConstraint());
+        assertEquals("name", variables.get(1).getName());
+        assertNull(variables.get(1).getConstraint());
+        assertEquals(List.of("id", "name"), template.getVariableNames());
+        assertTrue(template.hasVariables());
+        assertTrue(template.startsWithSlash());
+    }
+
+    @Test
+    public void constraintMayContainBraces() {
+        PathTemplate template = PathTemplate.parse("/codes/{code:[a-z]{2,3}}/detail");
+
+        PathTemplate.Variable code = template.getVariables().get(0);
+        assertEquals("[a-z]{2,3}", code.getConstraint());
+        assertTrue(code.matches("abc"));
+        assertFalse(code.matches("abcd"));
+        assertEquals("/codes/ab/detail", expand(template, Map.of("code", "ab")));
+    }
+
+    @Test
+    public void invalidConstraintMatchesAnything() {
+        PathTemplate.Variable variable = PathTemplate.parse("/{x:[}").getVariables().get(0);
+
+        assertTrue(variable.matches("anything"));
+    }
+
+    @Test
+    public void duplicateVariableNamesAreListedOnce() {
+        PathTemplate template = PathTemplate.parse("/{a}/{b}/{a}");
+
+        assertEquals(3, template.getVariables().size());
+        assertEquals(List.of("a", "b"), template.getVariableNames());
+    }
+
+    @Test
+    public void expandsWithEncodedValues() {
+        PathTemplate template = PathTemplate.parse("/orders/{id}/items/{name}");
+
+        assertEquals("/orders/1/items/a%20b%2Fc", expand(template, Map.of("id", "1", "name", "a b/c")));
+    }
+
+    @Test
+    public void keepsPlaceholderForMissingValue() {
+        PathTemplate template = PathTemplate.parse("/orders/{id:\\d+}");
+
+        assertEquals("/orders/{id}", expand(template, Map.of()));
+    }
+
+    @Test
+    public void encodesLiteralsOnce() {
+        PathTemplate template = PathTemplate.parse("/中文/a%20b/{id}");
+
+        assertEquals("/%E4%B8%AD%E6%96%87/a%20b/1", expand(template, Map.of("id", "1")));
+    }
+
+    @Test
+    public void treatsUnclosedAndEmptyBracesAsLiterals() {
+        assertFalse(PathTemplate.parse("/a/{b").hasVariables());
+        assertEquals("/a/%7Bb", expand(PathTemplate.parse("/a/{b"), Map.of()));
+        assertFalse(PathTemplate.parse("/a/{}").hasVariables());
+        assertEquals("/a/%7B%7D", expand(PathTemplate.parse("/a/{}"), Map.of()));
+    }
+
+    @Test
+    public void expandRelativeOmitsLeadingSlash() throws IOException {
+        PathTemplate template = PathTemplate.parse("/users/{id}");
+        StringBuilder out = new StringBuilder("http://localhost/api/");
+
+        template.expandRelative(Map.of("id", "7"), out);
+
+        assertEquals("http://localhost/api/users/7", out.toString());
+    }
+
+    @Test
+    public void normalizePathJoinsAndCollapsesSlashes() {
+        assertEquals("/users/{id}", PathTemplate.normalizePath("users/", "/{id}"));
+        assertEquals("/a/b", PathTemplate.normalizePath("//a", "//b"));
+        assertEquals("/", PathTemplate.normalizePath("", ""));
+    }
+
+    @Test
+    public void extractVariableNamesHandlesEmptyPath() {
+        assertEquals(List.of(), PathTemplate.extractVariableNames(null));
+        assertEquals(List.of(), PathTemplate.extractVariableNames(""));
+        assertEquals(List.of("id"), PathTemplate.extractVariableNames("/users/{id:\\d+}"));
+    }
+
+    private static String expand(PathTemplate template, Map<String, String> values) {
+        StringBuilder out = new StringBuilder();
+        try {
+            template.expand(values, out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,124 @@
+package com.rhw.weburlcopy.model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 默认参数规则的匹配和优先级
+ */
+public class ParameterRuleMatcherTest {
+
+    @Test
+    public void moreLiteralSegmentsWin() {
+        ParameterRuleMatcher matcher = new ParameterRuleMatcher(List.of(
+                rule("/admin/users", "", "", "page", "3"),
+                rule("/admin/**", "", "", "page", "2"),
+                rule("", "", "", "page", "1")));
+
+        assertEquals("3", value(matcher, "/admin/users", "GET", null, "page"));
+        assertEquals("2", value(matcher, "/admin/roles", "GET", null, "page"));
+        assertEquals("1", value(matcher, "/public", "GET", null, "page"));
+    }
+
+    @Test
+    public void closedPatternWinsOverOpenEnded() {
+        ParameterRuleMatcher matcher = new ParameterRuleMatcher(List.of(
+                rule("/a/*", "", "", "size", "closed"),
+                rule("/a/**", "", "", "size", "open")));
+
+        assertEquals("closed", value(matcher, "/a/b", null, null, "size"));
+        assertEquals("open", value(matcher, "/a/b/c", null, null, "size"));
+    }
+
+    @Test
+    public void laterRuleWinsOnEqualSpecificity() {
+        ParameterRuleMatcher matcher = new ParameterRuleMatcher(List.of(
+                rule("/a/{id}", "", "", "x", "first"),
+                rule("/a/*", "", "", "x", "second")));
+
+        assertEquals("second", value(matcher, "/a/1", null, null, "x"));
+    }
+
+    @Test
+    public void methodRestrictedRuleWins() {
+        ParameterRuleMatcher matcher = new ParameterRuleMatcher(List.of(
+                rule("/orders", "get, put", "", "status", "restricted"),
+                rule("/orders", "", "", "status", "any")));
+
+        assertEquals("restricted", value(matcher, "/orders", "GET", null, "status"));
+        assertEquals("restricted", value(matcher, "/orders", "put", null, "status"));
+        assertEquals("any", value(matcher, "/orders", "POST", null, "status"));
+        assertEquals("any", value(matcher, "/orders", null, null, "status"));
+    }
+
+    @Test
+    public void longerPackageWins() {
+        ParameterRuleMatcher matcher = new ParameterRuleMatcher(List.of(
+                rule("", "", "com.example.admin.**", "tenant", "admin"),
+                rule("", "", "com.example", "tenant", "example")));
+
+        assertEquals("admin", value(matcher, "/a", "GET", "com.example.admin.UserController", "tenant"));
+        assertEquals("example", value(matcher, "/a", "GET", "com.example.OrderController", "tenant"));
+        assertTrue(matcher.resolve("/a", "GET", "com.examples.OrderController").isEmpty());
+        assertTrue(matcher.resolve("/a", "GET", null).isEmpty());
+    }
+
+    @Test
+    public void matchesGlobSegments() {
+        ParameterRuleMatcher matcher = new ParameterRuleMatcher(List.of(
+                rule("/user?/*-list", "", "", "sort", "name")));
+
+        assertEquals("name", value(matcher, "/users/order-list", null, null, "sort"));
+        assertTrue(matcher.resolve("/user/order-list", null, null).isEmpty());
+    }
+
+    @Test
+    public void ignoresSegmentsAfterDoubleWildcard() {
+        ParameterRuleMatcher matcher = new ParameterRuleMatcher(List.of(
+                rule("/a/**/b", "", "", "x", "1")));
+
+        assertEquals("1", value(matcher, "/a/c", null, null, "x"));
+    }
+
+    @Test
+    public void combinesParametersOfAllMatchingRules() {
+        ParameterRuleMatcher matcher = new ParameterRuleMatcher(List.of(
+                rule("/**", "", "", "page", "1"),
+                rule("/orders/**", "", "", "size", "20")));
+
+        Map<String, ValueTemplate> values = matcher.resolve("/orders/list", "GET", null);
+
+        assertEquals(2, values.size());
+        assertEquals("1", values.get("page").getText());
+        assertEquals("20", values.get("size").getText());
+    }
+
+    @Test
+    public void skipsRulesWithoutName() {
+        List<DefaultParameterRule> rules = new ArrayList<>();
+        rules.add(null);
+        rules.add(rule("/**", "", "", " ", "1"));
+        ParameterRuleMatcher matcher = new ParameterRuleMatcher(rules);
+
+        assertTrue(matcher.isEmpty());
+        assertTrue(matcher.resolve("/a", "GET", null).isEmpty());
+        assertTrue(ParameterRuleMatcher.EMPTY.resolve("/a", "GET", null).isEmpty());
+    }
+
+    private static DefaultParameterRule rule(String pathPattern, String httpMethod, String packageName,
+                                             String name, String value) {
+        return new DefaultParameterRule(pathPattern, httpMethod, packageName, name, value);
+    }
+
+    private static String value(ParameterRuleMatcher matcher, String path, String httpMethod,
+                                String className, String name) {
+        ValueTemplate template = matcher.resolve(path, httpMethod, className).get(name);
+        return template != null ? template.getText() : null;
+    }
+}
@@ -0,0 +1,159 @@
+package com.rhw.weburlcopy.route;
+
+import com.rhw.weburlcopy.index.EndpointInfo;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 接口缓存文件的读写和损坏文件的处理
+ */
+public class EndpointCacheFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTripsEntries() throws IOException {
+        EndpointInfo get = new EndpointInfo("com.example.UserController", "get", List.of("Long"),
+                "GET", "/users/{id}", List.of(new EndpointInfo.ParamInfo("id", EndpointInfo.ParamKind.PATH, "Long")));
+        EndpointInfo update = new EndpointInfo("com.example.UserController", "update", List.of("Long", "UserDTO"),
+                "PUT", "/users/{id}", List.of(
+                        new EndpointInfo.ParamInfo("id", EndpointInfo.ParamKind.PATH, "Long"),
+                        new EndpointInfo.ParamInfo("user", EndpointInfo.ParamKind.BODY, "UserDTO")), false);
+        EndpointInfo list = new EndpointInfo("com.example.OrderController", "list", List.of(),
+                "GET", "/orders", List.of());
+        Map<String, EndpointCacheFile.Entry> entries = new LinkedHashMap<>();
+        entries.put("file:///src/UserController.java", new EndpointCacheFile.Entry(1700000000000L, 2048, List.of(get, update)));
+        entries.put("file:///src/OrderController.java", new EndpointCacheFile.Entry(-1, 0, List.of(list)));
+        Path path = cachePath();
+
+        EndpointCacheFile.write(path, entries);
+        Map<String, EndpointCacheFile.Entry> read = EndpointCacheFile.read(path);
+
+        assertEquals(entries.keySet(), read.keySet());
+        EndpointCacheFile.Entry user = read.get("file:///src/UserController.java");
+        assertEquals(1700000000000L, user.getTimeStamp());
+        assertEquals(2048, user.getLength());
+        assertEquals(List.of(get, update), user.getEndpoints());
+        assertTrue(user.getEndpoints().get(0).isExact());
+        assertFalse(user.getEndpoints().get(1).isExact());
+        EndpointCacheFile.Entry order = read.get("file:///src/OrderController.java");
+        assertEquals(-1, order.getTimeStamp());
+        assertEquals(List.of(list), order.getEndpoints());
+        assertFalse(Files.exists(path.resolveSibling(path.getFileName() + ".tmp")));
+    }
+
+    @Test
+    public void roundTripsMultiByteVarIntsAndUtf8() throws IOException {
+        // 超过127个字符串时编号需要多个字节
+        List<EndpointInfo> endpoints = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            endpoints.add(new EndpointInfo("com.example.中文Controller", "method" + i, List.of("String[]"),
+                    "POST", "/路径/" + i, List.of()));
+        }
+        Map<String, EndpointCacheFile.Entry> entries = Map.of(
+                "file:///src/中文Controller.java", new EndpointCacheFile.Entry(Long.MAX_VALUE - 1, Long.MAX_VALUE, endpoints));
+        Path path = cachePath();
+
+        EndpointCacheFile.write(path, entries);
+        EndpointCacheFile.Entry entry = EndpointCacheFile.read(path).get("file:///src/中文Controller.java");
+
+        assertEquals(Long.MAX_VALUE - 1, entry.getTimeStamp());
+        assertEquals(Long.MAX_VALUE, entry.getLength());
+        assertEquals(endpoints, entry.getEndpoints());
+    }
+
+    @Test
+    public void entryIsUpToDateOnlyForSameTimeStampAndLength() {
+        EndpointCacheFile.Entry entry = new EndpointCacheFile.Entry(100, 10, List.of());
+
+        assertTrue(entry.isUpToDate(100, 10));
+        assertFalse(entry.isUpToDate(101, 10));
+        assertFalse(entry.isUpToDate(100, 11));
+        // 来自未保存文档的条目总是需要重新分析
+        assertFalse(new EndpointCacheFile.Entry(-1, 10, List.of()).isUpToDate(-1, 10));
+    }
+
+    @Test
+    public void missingFileReadsAsEmpty() throws IOException {
+        assertTrue(EndpointCacheFile.read(cachePath()).isEmpty());
+    }
+
+    @Test
+    public void unknownMagicOrVersionReadsAsEmpty() throws IOException {
+        Path path = cachePath();
+        Files.write(path, new byte[]{'J', 'U', 'N', 'K', 0, 0, 0});
+        assertTrue(EndpointCacheFile.read(path).isEmpty());
+
+        Files.write(path, ByteBuffer.allocate(5).putInt(0x57554331).put((byte) 1).array());
+        assertTrue(EndpointCacheFile.read(path).isEmpty());
+
+        Files.write(path, new byte[]{'W', 'U'});
+        assertTrue(EndpointCacheFile.read(path).isEmpty());
+    }
+
+    @Test
+    public void truncatedFileFailsWithIOException() throws IOException {
+        Map<String, EndpointCacheFile.Entry> entries = Map.of("file:///src/A.java", new EndpointCacheFile.Entry(1, 2,
+                List.of(new EndpointInfo("A", "a", List.of(), "GET", "/a", List.of()))));
+        Path path = cachePath();
+        EndpointCacheFile.write(path, entries);
+        byte[] bytes = Files.readAllBytes(path);
+
+        for (int length = 5; length < bytes.length; length++) {
+            Files.write(path, Arrays.copyOf(bytes, length));
+            try {
+                EndpointCacheFile.read(path);
+                fail("截断到 " + length + " 字节的文件应读取失败");
+            } catch (IOException expected) {
+                // 预期的异常
+            }
+        }
+    }
+
+    @Test
+    public void overlongVarIntFailsWithIOException() throws IOException {
+        byte[] bytes = new byte[14];
+        ByteBuffer.wrap(bytes).putInt(0x57554331);
+        Arrays.fill(bytes, 4, bytes.length, (byte) 0xFF);
+        Path path = cachePath();
+        Files.write(path, bytes);
+
+        try {
+            EndpointCacheFile.read(path);
+            fail("变长整数过长的文件应读取失败");
+        } catch (IOException expected) {
+            // 预期的异常
+        }
+    }
+
+    @Test
+    public void writeReplacesExistingFile() throws IOException {
+        Path path = cachePath();
+        EndpointCacheFile.write(path, Map.of("file:///src/A.java", new EndpointCacheFile.Entry(1, 1, List.of())));
+
+        EndpointCacheFile.write(path, Map.of("file:///src/B.java", new EndpointCacheFile.Entry(2, 2, List.of())));
+
+        assertEquals(List.of("file:///src/B.java"), new ArrayList<>(EndpointCacheFile.read(path).keySet()));
+    }
+
+    private Path cachePath() {
+        return folder.getRoot().toPath().resolve("endpoints.bin");
+    }
+}
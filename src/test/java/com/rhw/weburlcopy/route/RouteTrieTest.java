@@ -0,0 +1,97 @@
+package com.rhw.weburlcopy.route;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 路由前缀树的匹配优先级和增删
+ */
+public class RouteTrieTest {
+
+    @Test
+    public void prefersMostSpecificSegment() {
+        RouteTrie<String> trie = new RouteTrie<>();
+        trie.insert("/users/**", "doubleWildcard");
+        trie.insert("/users/*", "wildcard");
+        trie.insert("/users/{id}", "variable");
+        trie.insert("/users/{id:\\d+}", "regex");
+        trie.insert("/users/me", "literal");
+
+        assertEquals(List.of("literal"), trie.match("/users/me"));
+        assertEquals(List.of("regex"), trie.match("/users/42"));
+        assertEquals(List.of("variable"), trie.match("/users/abc"));
+        assertEquals(List.of("doubleWildcard"), trie.match("/users/a/b"));
+    }
+
+    @Test
+    public void wildcardComesAfterVariable() {
+        RouteTrie<String> trie = new RouteTrie<>();
+        trie.insert("/files/*", "wildcard");
+        trie.insert("/files/{name}", "variable");
+
+        assertEquals(List.of("variable"), trie.match("/files/a"));
+    }
+
+    @Test
+    public void doubleWildcardMatchesNoRemainingSegments() {
+        RouteTrie<String> trie = new RouteTrie<>();
+        trie.insert("/static/**", "static");
+        trie.insert("/assets/{*path}", "assets");
+
+        assertEquals(List.of("static"), trie.match("/static"));
+        assertEquals(List.of("assets"), trie.match("/assets/css/site.css"));
+    }
+
+    @Test
+    public void backtracksWhenSpecificBranchFails() {
+        RouteTrie<String> trie = new RouteTrie<>();
+        trie.insert("/a/b/d", "literal");
+        trie.insert("/a/{x}/c", "variable");
+
+        assertEquals(List.of("variable"), trie.match("/a/b/c"));
+        assertEquals(List.of("literal"), trie.match("/a/b/d"));
+    }
+
+    @Test
+    public void matchesMixedSegments() {
+        RouteTrie<String> trie = new RouteTrie<>();
+        trie.insert("/files/{name}.{ext}", "file");
+        trie.insert("/codes/{code:[a-z]{2}}", "code");
+
+        assertEquals(List.of("file"), trie.match("/files/report.pdf"));
+        assertTrue(trie.match("/files/report").isEmpty());
+        assertEquals(List.of("code"), trie.match("/codes/ab"));
+        assertTrue(trie.match("/codes/abc").isEmpty());
+    }
+
+    @Test
+    public void returnsAllValuesOfSamePath() {
+        RouteTrie<String> trie = new RouteTrie<>();
+        trie.insert("/orders", "GET");
+        trie.insert("/orders/", "POST");
+
+        assertEquals(List.of("GET", "POST"), trie.match("orders/"));
+    }
+
+    @Test
+    public void removesRoutes() {
+        RouteTrie<String> trie = new RouteTrie<>();
+        trie.insert("/users/{id}", "get");
+        trie.insert("/users/{id}", "delete");
+        trie.insert("/static/**", "static");
+        assertEquals(3, trie.size());
+
+        trie.remove("/users/{id}", "delete");
+        trie.remove("/static/**", "static");
+        trie.remove("/missing/path", "get");
+        trie.remove("/users/{id}", "missing");
+
+        assertEquals(1, trie.size());
+        assertEquals(List.of("get"), trie.match("/users/1"));
+        assertTrue(trie.match("/static/a").isEmpty());
+    }
+}
@@ -0,0 +1,105 @@
+package com.rhw.weburlcopy.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * URL编码和解码
+ */
+public class UrlEncodeUtilTest {
+
+    @Test
+    public void returnsSameStringWhenNothingToEncode() {
+        String path = "/orders/1/items;v=2:a@b";
+
+        assertSame(path, UrlEncodeUtil.encodePath(path));
+    }
+
+    @Test
+    public void encodesReservedAndNonAsciiCharacters() {
+        assertEquals("/a%20b", UrlEncodeUtil.encodePath("/a b"));
+        assertEquals("/caf%C3%A9", UrlEncodeUtil.encodePath("/café"));
+        assertEquals("/%E4%B8%AD", UrlEncodeUtil.encodePath("/中"));
+        assertEquals("/%7Bid%7D%3F%23", UrlEncodeUtil.encodePath("/{id}?#"));
+    }
+
+    @Test
+    public void encodesSurrogatePairsAsOneCodePoint() {
+        assertEquals("/%F0%9F%98%80", UrlEncodeUtil.encodePath("/😀"));
+    }
+
+    @Test
+    public void encodesUnpairedSurrogatesAsReplacementCharacter() {
+        assertEquals("%EF%BF%BDa", UrlEncodeUtil.encodePath("\uD83Da"));
+        assertEquals("a%EF%BF%BD", UrlEncodeUtil.encodePath("a\uDE00"));
+    }
+
+    @Test
+    public void pathKeepsExistingEscapes() {
+        assertEquals("/a%20b%2F", UrlEncodeUtil.encodePath("/a%20b%2F"));
+        assertEquals("/100%25", UrlEncodeUtil.encodePath("/100%"));
+        assertEquals("/%252", UrlEncodeUtil.encodePath("/%2"));
+        assertEquals("/%25zz", UrlEncodeUtil.encodePath("/%zz"));
+    }
+
+    @Test
+    public void pathSegmentEncodesSlashAndPercent() throws IOException {
+        StringBuilder out = new StringBuilder();
+
+        UrlEncodeUtil.appendPathSegment(out, "a/b%20");
+
+        assertEquals("a%2Fb%2520", out.toString());
+    }
+
+    @Test
+    public void queryComponentEncodesDelimiters() throws IOException {
+        StringBuilder out = new StringBuilder();
+
+        UrlEncodeUtil.appendQueryComponent(out, "a&b=c+d #x/y?z");
+
+        assertEquals("a%26b%3Dc%2Bd%20%23x/y?z", out.toString());
+    }
+
+    @Test
+    public void decodeReturnsSameStringWithoutEscapes() {
+        String path = "/orders/1";
+
+        assertSame(path, UrlEncodeUtil.decodePath(path));
+    }
+
+    @Test
+    public void decodesMultiByteSequences() {
+        assertEquals("/a b", UrlEncodeUtil.decodePath("/a%20b"));
+        assertEquals("/中文", UrlEncodeUtil.decodePath("/%E4%B8%AD%e6%96%87"));
+        assertEquals("/😀", UrlEncodeUtil.decodePath("/%F0%9F%98%80"));
+    }
+
+    @Test
+    public void decodeKeepsEncodedSlash() {
+        assertEquals("/a%2Fb%2f", UrlEncodeUtil.decodePath("/a%2Fb%2f"));
+        assertEquals("中%2F文", UrlEncodeUtil.decodePath("%E4%B8%AD%2F%E6%96%87"));
+    }
+
+    @Test
+    public void decodeKeepsMalformedEscapes() {
+        assertEquals("/100%", UrlEncodeUtil.decodePath("/100%"));
+        assertEquals("/%2", UrlEncodeUtil.decodePath("/%2"));
+        assertEquals("/%zz/a b", UrlEncodeUtil.decodePath("/%zz/a%20b"));
+    }
+
+    @Test
+    public void decodesInvalidUtf8AsReplacementCharacter() {
+        assertEquals("/\uFFFD", UrlEncodeUtil.decodePath("/%FF"));
+    }
+
+    @Test
+    public void decodeReversesEncode() {
+        String path = "/用户/a b/😀/{x}";
+
+        assertEquals(path, UrlEncodeUtil.decodePath(UrlEncodeUtil.encodePath(path)));
+    }
+}